@@ -0,0 +1,26 @@
+-- Table structure for table `id_generator`
+--
+-- Holds the next block of primary keys handed out to the application for
+-- `user`, `contact` and `tombstone`. Keys are allocated 50 at a time so inserts
+-- can be batched; each row must stay at least 50 above the table's highest id.
+--
+
+DROP TABLE IF EXISTS `id_generator`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `id_generator` (
+  `entity` varchar(45) NOT NULL,
+  `next_id` int(11) NOT NULL,
+  PRIMARY KEY (`entity`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `id_generator`
+--
+
+LOCK TABLES `id_generator` WRITE;
+/*!40000 ALTER TABLE `id_generator` DISABLE KEYS */;
+INSERT INTO `id_generator` VALUES ('contact',55),('tombstone',50),('user',55);
+/*!40000 ALTER TABLE `id_generator` ENABLE KEYS */;
+UNLOCK TABLES;
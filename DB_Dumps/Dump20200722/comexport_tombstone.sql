@@ -0,0 +1,19 @@
+-- Table structure for table `tombstone`
+--
+-- One row per deleted user or contact, read by GET /comexport/changes and
+-- kept for comexport.changes.retention-days. Written in the same transaction
+-- as every delete, so it must exist before any user or contact is deleted.
+--
+
+DROP TABLE IF EXISTS `tombstone`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `tombstone` (
+  `id` int(11) NOT NULL,
+  `type` varchar(45) NOT NULL,
+  `entity_id` int(11) NOT NULL,
+  `deleted_at` timestamp(1) NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `tombstone_deleted_at_idx` (`deleted_at`,`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
@@ -0,0 +1,4 @@
+-- Indexes backing the name and email filters of GET /comexport/users.
+ALTER TABLE `user`
+  ADD KEY `user_email_idx` (`email`),
+  ADD KEY `user_name_idx` (`name`);
@@ -0,0 +1,13 @@
+-- Block allocation of primary keys, letting Hibernate batch user and contact inserts.
+-- Each row must stay at least 50 (the allocation size) above the table's highest id.
+CREATE TABLE `id_generator` (
+  `entity` varchar(45) NOT NULL,
+  `next_id` int(11) NOT NULL,
+  PRIMARY KEY (`entity`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `id_generator` (`entity`, `next_id`)
+SELECT 'user', COALESCE(MAX(`id`), 0) + 50 FROM `user`;
+
+INSERT INTO `id_generator` (`entity`, `next_id`)
+SELECT 'contact', COALESCE(MAX(`id`), 0) + 50 FROM `contact`;
@@ -0,0 +1,3 @@
+-- Index backing the incremental refresh of the user search index, which reads the users updated since a date.
+ALTER TABLE `user`
+  ADD KEY `user_last_update_idx` (`last_update`, `id`);
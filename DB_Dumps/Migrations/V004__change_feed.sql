@@ -0,0 +1,24 @@
+-- Backs GET /comexport/changes, which reads the users, contacts and deletions since a date.
+-- Creations stamp last_update too, so the last_update indexes cover both creations and updates.
+ALTER TABLE `contact`
+  ADD KEY `contact_last_update_idx` (`last_update`, `id`);
+
+-- The application stamps creation_date and last_update itself, on the same clock as the tombstones' deleted_at.
+-- The triggers overwrote them with the database's clock, in whole seconds, so a clock skew beyond
+-- comexport.changes.settle-time lost changes and creations were served as updates.
+DROP TRIGGER IF EXISTS `product_BEFORE_INSERT`;
+DROP TRIGGER IF EXISTS `product_BEFORE_UPDATE`;
+DROP TRIGGER IF EXISTS `contact_BEFORE_INSERT`;
+DROP TRIGGER IF EXISTS `contact_BEFORE_UPDATE`;
+
+-- One row per deleted user or contact, kept for comexport.changes.retention-days.
+CREATE TABLE `tombstone` (
+  `id` int(11) NOT NULL,
+  `type` varchar(45) NOT NULL,
+  `entity_id` int(11) NOT NULL,
+  `deleted_at` timestamp(1) NOT NULL,
+  PRIMARY KEY (`id`),
+  KEY `tombstone_deleted_at_idx` (`deleted_at`, `id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `id_generator` (`entity`, `next_id`) VALUES ('tombstone', 50);
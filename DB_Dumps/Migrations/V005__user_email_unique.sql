@@ -0,0 +1,7 @@
+-- Backs the duplicate email guard of POST and PUT /comexport/users and HEAD /comexport/users?email=.
+-- The utf8mb4_0900_ai_ci collation compares ignoring case, so emails differing only in case are duplicates.
+-- Duplicated emails must be resolved before running it; they are listed by:
+--   SELECT `email`, COUNT(*) FROM `user` GROUP BY `email` HAVING COUNT(*) > 1;
+ALTER TABLE `user`
+  DROP KEY `user_email_idx`,
+  ADD UNIQUE KEY `user_email_idx` (`email`);
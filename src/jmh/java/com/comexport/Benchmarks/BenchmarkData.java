@@ -0,0 +1,215 @@
+package com.comexport.Benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+
+import com.comexport.DTOs.OwnedContactDTO;
+import com.comexport.Models.Contact;
+import com.comexport.Models.User;
+import com.comexport.Transformations.ContactTransformation;
+import com.comexport.Transformations.UserTransformation;
+import com.comexport.Utils.ContactUtils;
+import com.comexport.Utils.UserUtils;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Deterministic users and contacts shared by the benchmarks, along with
+ * the transformation beans wired the same way Spring would wire them.
+ */
+final class BenchmarkData {
+
+    /** The seed of every generated data set, so runs are comparable. */
+    private static final long SEED = 20200722L;
+
+    /** The average number of contacts of a user. */
+    static final int CONTACTS_PER_USER = 3;
+
+    /** The contact types spread across the generated contacts. */
+    private static final String[] CONTACT_TYPES = {"phone", "email", "whatsapp", "address"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Generates the given number of users, with ids starting at 1.
+     *
+     * @param size          - the number of users.
+     * @return List<User>   - the users.
+     */
+    static List<User> users(int size) {
+        Random random = new Random(SEED);
+        long now = System.currentTimeMillis();
+        List<User> users = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            users.add(User
+                .builder()
+                .id(id)
+                .name("User " + id)
+                .email("user" + id + "@comexport.com")
+                .dateOfBirth(new Date(now - (long) (random.nextDouble() * 80 * 365.25 * 24 * 3600 * 1000)))
+                .address(id + " Paulista Avenue")
+                .creationDate(new Date(now))
+                .lastUpdate(new Date(now))
+                .build());
+        }
+        return users;
+    }
+
+    /**
+     * Generates CONTACTS_PER_USER contacts on average for each of the given number of users,
+     * shuffled across owners the way the contact table is laid out.
+     *
+     * @param users             - the number of users owning the contacts.
+     * @return List<Contact>    - the contacts.
+     */
+    static List<Contact> contacts(int users) {
+        Random random = new Random(SEED + 1);
+        long now = System.currentTimeMillis();
+        int size = users * CONTACTS_PER_USER;
+        List<Contact> contacts = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            String type = CONTACT_TYPES[random.nextInt(CONTACT_TYPES.length)];
+            contacts.add(Contact
+                .builder()
+                .id(id)
+                .owner(1 + random.nextInt(users))
+                .type(type)
+                .detail(type + " " + id)
+                .creationDate(new Date(now))
+                .lastUpdate(new Date(now))
+                .build());
+        }
+        return contacts;
+    }
+
+    /**
+     * Reads the given users' attributes into rows, as the list endpoint selects them.
+     *
+     * @param users         - the users to be read.
+     * @param attributes    - the attributes to be selected.
+     * @return List<Tuple>  - the rows, holding the attributes aliased by their names.
+     */
+    static List<Tuple> userRows(List<User> users, Set<String> attributes) {
+        List<Tuple> rows = new ArrayList<>(users.size());
+        for (User user : users) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String attribute : attributes) {
+                values.put(attribute, attribute(user, attribute));
+            }
+            rows.add(new Row(values));
+        }
+        return rows;
+    }
+
+    /**
+     * Reads the given contacts along with their owner, as the list endpoint selects them.
+     *
+     * @param contacts                  - the contacts to be read.
+     * @return List<OwnedContactDTO>    - the contacts, as built by the query's constructor expression.
+     */
+    static List<OwnedContactDTO> ownedContacts(List<Contact> contacts) {
+        List<OwnedContactDTO> ownedContacts = new ArrayList<>(contacts.size());
+        for (Contact contact : contacts) {
+            ownedContacts.add(new OwnedContactDTO(contact.getOwner(), contact.getId(), contact.getType(),
+                contact.getDetail(), contact.getCreationDate(), contact.getLastUpdate()));
+        }
+        return ownedContacts;
+    }
+
+    /**
+     * Builds a UserTransformation backed by a UserUtils.
+     *
+     * @return UserTransformation   - the wired transformation.
+     */
+    static UserTransformation userTransformation() {
+        UserTransformation userTransformation = new UserTransformation();
+        ReflectionTestUtils.setField(userTransformation, "userUtils", new UserUtils());
+        return userTransformation;
+    }
+
+    /**
+     * Builds a ContactTransformation backed by a ContactUtils.
+     *
+     * @return ContactTransformation    - the wired transformation.
+     */
+    static ContactTransformation contactTransformation() {
+        ContactTransformation contactTransformation = new ContactTransformation();
+        ReflectionTestUtils.setField(contactTransformation, "contactUtils", new ContactUtils());
+        return contactTransformation;
+    }
+
+    private static Object attribute(User user, String attribute) {
+        switch (attribute) {
+            case "id":
+                return user.getId();
+            case "name":
+                return user.getName();
+            case "email":
+                return user.getEmail();
+            case "dateOfBirth":
+                return user.getDateOfBirth();
+            case "address":
+                return user.getAddress();
+            case "creationDate":
+                return user.getCreationDate();
+            case "lastUpdate":
+                return user.getLastUpdate();
+            default:
+                throw new IllegalArgumentException("Unknown attribute " + attribute);
+        }
+    }
+
+    /** A row read by alias, standing for the rows Hibernate hands to the mapper. */
+    private static final class Row implements Tuple {
+
+        private final Map<String, Object> values;
+
+        private Row(Map<String, Object> values) {
+            this.values = values;
+        }
+
+        @Override
+        public <X> X get(TupleElement<X> tupleElement) {
+            return tupleElement.getJavaType().cast(this.values.get(tupleElement.getAlias()));
+        }
+
+        @Override
+        public <X> X get(String alias, Class<X> type) {
+            return type.cast(this.values.get(alias));
+        }
+
+        @Override
+        public Object get(String alias) {
+            return this.values.get(alias);
+        }
+
+        @Override
+        public <X> X get(int i, Class<X> type) {
+            return type.cast(this.get(i));
+        }
+
+        @Override
+        public Object get(int i) {
+            return this.toArray()[i];
+        }
+
+        @Override
+        public Object[] toArray() {
+            return this.values.values().toArray();
+        }
+
+        @Override
+        public List<TupleElement<?>> getElements() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
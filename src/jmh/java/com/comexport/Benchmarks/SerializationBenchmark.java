@@ -0,0 +1,75 @@
+package com.comexport.Benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.comexport.Configurations.JacksonConfiguration;
+import com.comexport.DTOs.ContactOutputDTO;
+import com.comexport.DTOs.UserOutputDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Measures the Jackson serialization of a UserOutputDTO list, contacts included,
+ * configured the same way Spring Boot configures the response's ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SerializationBenchmark {
+
+    /** The number of serialized users. */
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<UserOutputDTO> users;
+
+    private ObjectMapper objectMapper;
+
+    /** Discards the serialized bytes, so only the serialization is measured. */
+    private final OutputStream discard = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Setup
+    public void setup() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfiguration().userFieldsFilter().customize(builder);
+        this.objectMapper = builder.build();
+        this.users = BenchmarkData.userTransformation().convert(BenchmarkData.users(this.size));
+        Map<Integer, List<ContactOutputDTO>> contacts =
+            BenchmarkData.contactTransformation().groupByOwner(BenchmarkData.ownedContacts(BenchmarkData.contacts(this.size)));
+        for (UserOutputDTO user : this.users) {
+            user.setContacts(contacts.get(user.getId()));
+        }
+    }
+
+    @Benchmark
+    public void serializeUserList() throws IOException {
+        this.objectMapper.writeValue(this.discard, this.users);
+    }
+}
@@ -0,0 +1,78 @@
+package com.comexport.Benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.comexport.DTOs.UserOutputDTO;
+import com.comexport.Models.Contact;
+import com.comexport.Models.User;
+import com.comexport.Transformations.UserTransformation;
+import com.comexport.Utils.ContactUtils;
+import com.comexport.Utils.UserUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the entity to DTO transformations of a whole result set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TransformationBenchmark {
+
+    /** The number of transformed users. */
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<User> users;
+
+    private List<Contact> contacts;
+
+    private UserUtils userUtils;
+
+    private ContactUtils contactUtils;
+
+    private UserTransformation userTransformation;
+
+    @Setup
+    public void setup() {
+        this.users = BenchmarkData.users(this.size);
+        this.contacts = BenchmarkData.contacts(this.size);
+        this.userUtils = new UserUtils();
+        this.contactUtils = new ContactUtils();
+        this.userTransformation = BenchmarkData.userTransformation();
+    }
+
+    @Benchmark
+    public void userUtilsToUserOutputDTO(Blackhole blackhole) {
+        for (User user : this.users) {
+            blackhole.consume(this.userUtils.toUserOutputDTO(user));
+        }
+    }
+
+    @Benchmark
+    public void contactUtilsToContactOutputDTO(Blackhole blackhole) {
+        for (Contact contact : this.contacts) {
+            blackhole.consume(this.contactUtils.toContactOutputDTO(contact));
+        }
+    }
+
+    @Benchmark
+    public List<UserOutputDTO> userTransformationConvertCollection() {
+        return this.userTransformation.convert(this.users);
+    }
+}
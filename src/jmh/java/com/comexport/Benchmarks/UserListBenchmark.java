@@ -0,0 +1,103 @@
+package com.comexport.Benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.persistence.Tuple;
+
+import com.comexport.DTOs.ContactOutputDTO;
+import com.comexport.DTOs.OwnedContactDTO;
+import com.comexport.DTOs.UserOutputDTO;
+import com.comexport.Models.User;
+import com.comexport.Transformations.ContactTransformation;
+import com.comexport.Transformations.UserTransformation;
+import com.comexport.Utils.UserUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the in-memory work of the user list endpoint: mapping the selected rows
+ * to users and grouping the contacts read along with their owner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class UserListBenchmark {
+
+    /** The number of users on the list. */
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<User> users;
+
+    /** The rows the list endpoint selects, every field requested. */
+    private List<Tuple> rows;
+
+    /** The attributes the rows hold. */
+    private Set<String> attributes;
+
+    private List<OwnedContactDTO> contacts;
+
+    private UserTransformation userTransformation;
+
+    private ContactTransformation contactTransformation;
+
+    /** The email looked up by the filtering benchmark, owned by the user in the middle of the list. */
+    private String email;
+
+    @Setup
+    public void setup() {
+        this.users = BenchmarkData.users(this.size);
+        this.attributes = new UserUtils().toAttributes(UserUtils.FIELDS);
+        this.rows = BenchmarkData.userRows(this.users, this.attributes);
+        this.contacts = BenchmarkData.ownedContacts(BenchmarkData.contacts(this.size));
+        this.userTransformation = BenchmarkData.userTransformation();
+        this.contactTransformation = BenchmarkData.contactTransformation();
+        this.email = this.users.get(this.size / 2).getEmail();
+    }
+
+    /**
+     * The stream filtering the user list endpoint used to run over every user before
+     * the filters were pushed down to the database, kept as a baseline.
+     */
+    @Benchmark
+    public List<User> streamFilterByEmail() {
+        return this.users
+            .stream()
+            .filter(u -> u.getEmail().equals(this.email))
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<UserOutputDTO> mapRowsToUsers() {
+        LocalDate today = LocalDate.now();
+        List<UserOutputDTO> page = new ArrayList<>(this.rows.size());
+        for (Tuple row : this.rows) {
+            page.add(this.userTransformation.convert(row, this.attributes, today));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public Map<Integer, List<ContactOutputDTO>> groupContactsByOwner() {
+        return this.contactTransformation.groupByOwner(this.contacts);
+    }
+}
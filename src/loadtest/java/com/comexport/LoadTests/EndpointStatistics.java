@@ -0,0 +1,76 @@
+package com.comexport.LoadTests;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * The latencies, in microseconds, and the response statuses of one endpoint, recorded concurrently
+ * by every load generating thread.
+ */
+final class EndpointStatistics {
+
+    /** The status recorded when a request could not be sent or answered at all. */
+    static final int NO_RESPONSE = 0;
+
+    /** The operation driving the endpoint. */
+    private final Workload.Operation operation;
+
+    /** The latencies, auto-resized and kept with three significant digits. */
+    private final Recorder latencies = new Recorder(3);
+
+    /** How many responses came with each status. */
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    EndpointStatistics(Workload.Operation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Records a request, it's latency measured from the moment it was meant to be sent.
+     *
+     * @param micros    - the request's latency in microseconds.
+     * @param status    - the response's status, NO_RESPONSE if there was none.
+     */
+    void record(long micros, int status) {
+        this.latencies.recordValue(Math.max(micros, 0));
+        this.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    Workload.Operation getOperation() {
+        return this.operation;
+    }
+
+    /**
+     * The latencies recorded since the last call, which must only be taken once the load has stopped.
+     *
+     * @return Histogram    - the recorded latencies.
+     */
+    Histogram latencies() {
+        return this.latencies.getIntervalHistogram();
+    }
+
+    /**
+     * @return Map<Integer, Long>  - how many responses came with each status, ordered by status.
+     */
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> statuses = new TreeMap<>();
+        this.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+        return statuses;
+    }
+
+    /**
+     * A request is an error when it got no response or the server failed to serve it. A missing resource is not an error:
+     * a user may be deleted by a concurrent request between being picked and being read.
+     *
+     * @param status    - the response's status.
+     * @return boolean  - true if the status is an error.
+     */
+    static boolean isError(int status) {
+        return status == NO_RESPONSE || status >= 500;
+    }
+}
@@ -0,0 +1,133 @@
+package com.comexport.LoadTests;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * The machine-readable outcome of a load test: the options it ran with, then the throughput, error rate,
+ * statuses and latency percentiles of each endpoint and of every endpoint together. Two reports of the same
+ * options can be diffed between builds.
+ */
+final class LoadReport {
+
+    /** The percentiles reported, along with their names on the report. */
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9, 99.99};
+
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p95", "p99", "p999", "p9999"};
+
+    private LoadReport() {
+    }
+
+    /**
+     * The write(File, Map<String, Object>, List<EndpointStatistics>, double) method will write the report as JSON,
+     * printing a summary line per endpoint.
+     *
+     * @param file          - where the report is written.
+     * @param options       - the options the load test ran with.
+     * @param endpoints     - what was recorded on each endpoint while measuring.
+     * @param seconds       - how long the measurement lasted.
+     * @param objectMapper  - writes the report.
+     */
+    static void write(File file, Map<String, Object> options, List<EndpointStatistics> endpoints, double seconds,
+            ObjectMapper objectMapper) throws IOException {
+        List<Map<String, Object>> reported = new ArrayList<>();
+        Histogram allLatencies = new Histogram(3);
+        Map<Integer, Long> allStatuses = new LinkedHashMap<>();
+        for (EndpointStatistics endpoint : endpoints) {
+            Histogram latencies = endpoint.latencies();
+            Map<Integer, Long> statuses = endpoint.statuses();
+            allLatencies.add(latencies);
+            statuses.forEach((status, count) -> allStatuses.merge(status, count, Long::sum));
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("operation", endpoint.getOperation().name().toLowerCase());
+            summary.put("endpoint", endpoint.getOperation().getEndpoint());
+            summary.putAll(summarize(latencies, statuses, seconds));
+            reported.add(summary);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options);
+        report.put("seconds", seconds);
+        report.put("endpoints", reported);
+        report.put("total", summarize(allLatencies, allStatuses, seconds));
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+
+        for (Map<String, Object> summary : reported) {
+            System.out.println(line(String.valueOf(summary.get("endpoint")), summary));
+        }
+        System.out.println(line("Total", report.get("total")));
+        System.out.println("Report written to " + file.getAbsolutePath());
+    }
+
+    /**
+     * The summarize(Histogram, Map<Integer, Long>, double) method will compute the figures reported for some requests.
+     *
+     * @param latencies             - the requests' latencies in microseconds.
+     * @param statuses              - how many responses came with each status.
+     * @param seconds               - how long the requests were sent for.
+     * @return Map<String, Object>  - the requests, errors, error rate, throughput, statuses and latencies in milliseconds.
+     */
+    private static Map<String, Object> summarize(Histogram latencies, Map<Integer, Long> statuses, double seconds) {
+        long requests = latencies.getTotalCount();
+        long errors = statuses
+            .entrySet()
+            .stream()
+            .filter(entry -> EndpointStatistics.isError(entry.getKey()))
+            .mapToLong(Map.Entry::getValue)
+            .sum();
+
+        Map<String, Object> latenciesMs = new LinkedHashMap<>();
+        latenciesMs.put("min", millis(requests == 0 ? 0 : latencies.getMinValue()));
+        latenciesMs.put("mean", millis(latencies.getMean()));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            latenciesMs.put(PERCENTILE_NAMES[i], millis(latencies.getValueAtPercentile(PERCENTILES[i])));
+        }
+        latenciesMs.put("max", millis(latencies.getMaxValue()));
+
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        statuses.forEach((status, count) ->
+            statusCounts.put(status == EndpointStatistics.NO_RESPONSE ? "none" : String.valueOf(status), count));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("errors", errors);
+        summary.put("errorRate", requests == 0 ? 0.0 : round((double) errors / requests, 6));
+        summary.put("throughput", seconds <= 0 ? 0.0 : round(requests / seconds, 2));
+        summary.put("statuses", statusCounts);
+        summary.put("latencyMs", latenciesMs);
+        return summary;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String line(String name, Object summary) {
+        Map<String, Object> figures = (Map<String, Object>) summary;
+        Map<String, Object> latencies = (Map<String, Object>) figures.get("latencyMs");
+        return String.format("%-30s %8s req %8s req/s %6s errors  p50 %8s ms  p99 %8s ms  max %8s ms",
+            name, figures.get("requests"), figures.get("throughput"), figures.get("errors"),
+            latencies.get("p50"), latencies.get("p99"), latencies.get("max"));
+    }
+
+    private static double millis(double micros) {
+        return round(micros / 1000.0, 3);
+    }
+
+    private static double round(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+}
@@ -0,0 +1,141 @@
+package com.comexport.LoadTests;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sql.DataSource;
+
+import com.comexport.ComexportApplication;
+import com.comexport.Tools.DatasetGenerator;
+import com.comexport.Tools.JdbcDatasetLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application on an embedded H2 database in MySQL mode, seeds it, then drives a mix of requests
+ * against the users endpoints for a while and writes the latencies, throughput and error rate of each endpoint
+ * as a JSON report. Run with: ./mvnw -P loadtest verify
+ *
+ * The options are system properties:
+ * loadtest.users is how many users are seeded, generated from loadtest.seed by the data set generator, and
+ * loadtest.contacts-per-user weights how many contacts each one has, e.g. "0:5,1:20,2:30,3:25,4:10,6:7,10:3";
+ * loadtest.concurrency is how many requests are in flight at once, and loadtest.rate, when positive,
+ * the requests per second sent at a fixed pace instead of as fast as the responses come back;
+ * loadtest.warmup and loadtest.duration, in seconds, are how long the load runs before and while being measured;
+ * loadtest.mix weights the operations, e.g. "list:30,get:40,post:10,put:15,delete:5";
+ * loadtest.report is where the report is written.
+ *
+ * The latency of a request is measured from when it was meant to be sent, so a paced run that falls behind
+ * reports the time requests spent waiting for their turn as well.
+ */
+public final class LoadRunner {
+
+    private LoadRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 10000);
+        String contactsPerUser = System.getProperty("loadtest.contacts-per-user", DatasetGenerator.DEFAULT_CONTACTS_PER_USER);
+        long seed = Long.getLong("loadtest.seed", 20200722L);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+        int rate = Integer.getInteger("loadtest.rate", 0);
+        int warmup = Integer.getInteger("loadtest.warmup", 10);
+        int duration = Integer.getInteger("loadtest.duration", 60);
+        String mix = System.getProperty("loadtest.mix", "list:30,get:40,post:10,put:15,delete:5");
+        File report = new File(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        if (users <= 0 || concurrency <= 0 || rate < 0 || warmup < 0 || duration <= 0) {
+            throw new IllegalArgumentException("The users, concurrency and duration must be positive, the other options not negative");
+        }
+
+        Map<String, Object> options = new LinkedHashMap<>();
+        options.put("users", users);
+        options.put("contactsPerUser", contactsPerUser);
+        options.put("seed", seed);
+        options.put("concurrency", concurrency);
+        options.put("rate", rate);
+        options.put("warmup", warmup);
+        options.put("duration", duration);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        Workload.parseMix(mix).forEach((operation, weight) -> weights.put(operation.name().toLowerCase(), weight));
+        options.put("mix", weights);
+
+        // Devtools would restart the application on it's own thread, decided before any property file is read
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Keeping a connection alive for each load generating thread
+        System.setProperty("http.maxConnections", String.valueOf(concurrency));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ComexportApplication.class)
+                .profiles("loadtest")
+                .run(args)) {
+            System.out.println("Seeding " + users + " users...");
+            DatasetGenerator dataset = new DatasetGenerator(seed, contactsPerUser, DatasetGenerator.DEFAULT_CONTACT_TYPES, DatasetGenerator.DEFAULT_NOW);
+            int firstUserId = JdbcDatasetLoader.load(context.getBean(DataSource.class), dataset, users,
+                JdbcDatasetLoader.DEFAULT_ROWS_PER_STATEMENT);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            Workload workload = new Workload("http://localhost:" + port, mix, dataset, firstUserId, users, objectMapper);
+
+            Map<Workload.Operation, EndpointStatistics> statistics = new EnumMap<>(Workload.Operation.class);
+            for (Workload.Operation operation : Workload.Operation.values()) {
+                statistics.put(operation, new EndpointStatistics(operation));
+            }
+
+            System.out.println("Warming up for " + warmup + " s, then measuring for " + duration + " s...");
+            run(workload, statistics, concurrency, rate, warmup, duration);
+            LoadReport.write(report, options, new ArrayList<>(statistics.values()), duration, objectMapper);
+        }
+    }
+
+    /**
+     * The run(Workload, Map, int, int, int, int) method will drive the workload from as many threads as the concurrency,
+     * recording the requests meant to be sent after the warmup.
+     */
+    private static void run(Workload workload, Map<Workload.Operation, EndpointStatistics> statistics,
+            int concurrency, int rate, int warmup, int duration) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmup);
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(duration);
+        long interval = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+        // The requests sent so far, each one taking the next slot of the fixed pace
+        AtomicLong slots = new AtomicLong();
+
+        List<Thread> threads = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread thread = new Thread(() -> {
+                while (true) {
+                    long intended = interval > 0 ? start + slots.getAndIncrement() * interval : System.nanoTime();
+                    if (intended >= stopAt) {
+                        return;
+                    }
+                    long wait;
+                    while ((wait = intended - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+
+                    Workload.Operation operation = workload.next();
+                    int status = workload.execute(operation);
+                    long latency = System.nanoTime() - intended;
+                    if (intended >= measureFrom) {
+                        statistics.get(operation).record(TimeUnit.NANOSECONDS.toMicros(latency), status);
+                    }
+                }
+            }, "loadtest-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
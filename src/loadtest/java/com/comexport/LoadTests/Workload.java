@@ -0,0 +1,305 @@
+package com.comexport.LoadTests;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.comexport.DTOs.ContactInputDTO;
+import com.comexport.DTOs.UserInputDTO;
+import com.comexport.Models.User;
+import com.comexport.Tools.DatasetGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The mix of requests driven against the users endpoints, along with the ids of the users known to exist.
+ * Each operation is picked with a probability proportional to it's weight.
+ */
+final class Workload {
+
+    /** The requests the workload is made of, each one labeled by the endpoint it drives. */
+    enum Operation {
+        LIST("GET /comexport/users"),
+        GET("GET /comexport/users/{id}"),
+        POST("POST /comexport/users"),
+        PUT("PUT /comexport/users/{id}"),
+        DELETE("DELETE /comexport/users/{id}");
+
+        private final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        String getEndpoint() {
+            return this.endpoint;
+        }
+    }
+
+    /** How many users a listing asks for. */
+    private static final int LIST_LIMIT = 20;
+
+    /** How many contacts a created user has. */
+    private static final int CONTACTS_PER_POST = 3;
+
+    private final String baseUrl;
+
+    private final ObjectMapper objectMapper;
+
+    private final Operation[] operations;
+
+    /** The cumulated weights of the operations, in the same order. */
+    private final int[] weights;
+
+    private final IdPool ids;
+
+    /** Generates the seeded users again, the listings filtering by the name or the email of any of them. */
+    private final DatasetGenerator dataset;
+
+    /** The seeded users' ids, consecutive from the first one. */
+    private final int firstSeededId;
+
+    private final int seededUsers;
+
+    /** Tells the users created by the workload apart, their emails being unique. */
+    private final AtomicLong created = new AtomicLong();
+
+    /**
+     * @param baseUrl       - the application's address, e.g. http://localhost:8080.
+     * @param mix           - each operation's weight, e.g. "list:30,get:40,post:10,put:15,delete:5".
+     * @param dataset       - the generator of the seeded users.
+     * @param firstSeededId - the first seeded user's id.
+     * @param seededUsers   - how many users were seeded.
+     * @param objectMapper  - writes the request bodies.
+     */
+    Workload(String baseUrl, String mix, DatasetGenerator dataset, int firstSeededId, int seededUsers, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.dataset = dataset;
+        this.firstSeededId = firstSeededId;
+        this.seededUsers = seededUsers;
+        this.ids = new IdPool(firstSeededId, seededUsers);
+
+        Map<Operation, Integer> parsed = parseMix(mix);
+        this.operations = parsed.keySet().toArray(new Operation[0]);
+        this.weights = new int[this.operations.length];
+        int total = 0;
+        for (int i = 0; i < this.operations.length; i++) {
+            total += parsed.get(this.operations[i]);
+            this.weights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The workload mix must have a positive weight: " + mix);
+        }
+    }
+
+    /**
+     * The parseMix(String) method will read the weight of each operation, the operations left out weighting zero.
+     *
+     * @param mix                       - each operation's weight, e.g. "list:30,get:40".
+     * @return Map<Operation, Integer>  - the weights, in the operations' order.
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight, got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        return weights;
+    }
+
+    /**
+     * @return Operation    - the next operation, picked at random according to the weights.
+     */
+    Operation next() {
+        int pick = ThreadLocalRandom.current().nextInt(this.weights[this.weights.length - 1]);
+        for (int i = 0; i < this.weights.length; i++) {
+            if (pick < this.weights[i]) {
+                return this.operations[i];
+            }
+        }
+        return this.operations[this.operations.length - 1];
+    }
+
+    /**
+     * The execute(Operation) method will send one request of the given operation and wait for it's response.
+     *
+     * @param operation     - the operation to be driven.
+     * @return int          - the response's status, or EndpointStatistics.NO_RESPONSE if the request failed.
+     */
+    int execute(Operation operation) {
+        try {
+            switch (operation) {
+                case LIST:
+                    return this.list();
+                case GET:
+                    return this.send("GET", "/comexport/users/" + this.ids.random(), null).status;
+                case POST:
+                    return this.post();
+                case PUT:
+                    return this.put();
+                case DELETE:
+                    return this.delete();
+                default:
+                    throw new IllegalStateException("Unknown operation " + operation);
+            }
+        } catch (IOException e) {
+            return EndpointStatistics.NO_RESPONSE;
+        }
+    }
+
+    /** Lists a page of users, unfiltered, by name or by email, as the clients of the list endpoint do. */
+    private int list() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        User seeded = this.dataset.user(this.firstSeededId + random.nextInt(this.seededUsers));
+        StringBuilder path = new StringBuilder("/comexport/users?limit=").append(LIST_LIMIT);
+        switch (random.nextInt(3)) {
+            case 0:
+                path.append("&after=").append(this.ids.random());
+                break;
+            case 1:
+                path.append("&name=").append(URLEncoder.encode(seeded.getName(), "UTF-8"));
+                break;
+            default:
+                path.append("&email=").append(URLEncoder.encode(seeded.getEmail(), "UTF-8"));
+        }
+        return this.send("GET", path.toString(), null).status;
+    }
+
+    /** Creates a user with it's contacts, making it available to the next requests. */
+    private int post() throws IOException {
+        long n = this.created.incrementAndGet();
+        List<ContactInputDTO> contacts = new ArrayList<>();
+        for (int i = 0; i < CONTACTS_PER_POST; i++) {
+            contacts.add(ContactInputDTO.builder().type("phone").detail("555-" + n + "-" + i).build());
+        }
+        UserInputDTO user = UserInputDTO
+            .builder()
+            .name("Load User " + n)
+            .email("load" + n + "@comexport.com")
+            .dateOfBirth(new Date(0))
+            .address(n + " Paulista Avenue")
+            .contacts(contacts)
+            .build();
+
+        Response response = this.send("POST", "/comexport/users", user);
+        if (response.location != null) {
+            this.ids.add(Integer.valueOf(response.location.substring(response.location.lastIndexOf('/') + 1)));
+        }
+        return response.status;
+    }
+
+    /** Updates a user's values, keeping it's contacts. */
+    private int put() throws IOException {
+        Integer id = this.ids.random();
+        UserInputDTO user = UserInputDTO
+            .builder()
+            .name("Updated User " + id)
+            .email("updated" + id + "@comexport.com")
+            .dateOfBirth(new Date(0))
+            .address(ThreadLocalRandom.current().nextInt(10000) + " Paulista Avenue")
+            .build();
+        return this.send("PUT", "/comexport/users/" + id, user).status;
+    }
+
+    /** Deletes a user, which no later request picks. */
+    private int delete() throws IOException {
+        Integer id = this.ids.take();
+        if (id == null) {
+            // Every user was deleted already, the request is still sent and answered with a 404
+            id = 0;
+        }
+        return this.send("DELETE", "/comexport/users/" + id, null).status;
+    }
+
+    private Response send(String method, String path, Object body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(this.baseUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setInstanceFollowRedirects(false);
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream output = connection.getOutputStream()) {
+                this.objectMapper.writeValue(output, body);
+            }
+        }
+        int status = connection.getResponseCode();
+        // Reading the whole body, so the connection is kept alive for the next request
+        try (InputStream input = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (input != null) {
+                byte[] buffer = new byte[8192];
+                while (input.read(buffer) >= 0) {
+                    // Discarding the body
+                }
+            }
+        }
+        return new Response(status, connection.getHeaderField("Location"));
+    }
+
+    private static final class Response {
+
+        private final int status;
+
+        private final String location;
+
+        private Response(int status, String location) {
+            this.status = status;
+            this.location = location;
+        }
+    }
+
+    /** The ids of the users known to exist, picked at random. */
+    private static final class IdPool {
+
+        private int[] ids;
+
+        private int size;
+
+        private IdPool(int first, int count) {
+            this.ids = new int[Math.max(16, count)];
+            for (int id = first; id < first + count; id++) {
+                this.ids[this.size++] = id;
+            }
+        }
+
+        /** @return Integer - any known id, 0 if none is left. */
+        private synchronized Integer random() {
+            return this.size == 0 ? 0 : this.ids[ThreadLocalRandom.current().nextInt(this.size)];
+        }
+
+        /** @return Integer - any known id, forgotten so it is not picked again, or null if none is left. */
+        private synchronized Integer take() {
+            if (this.size == 0) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt(this.size);
+            int id = this.ids[index];
+            this.ids[index] = this.ids[--this.size];
+            return id;
+        }
+
+        private synchronized void add(Integer id) {
+            if (this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.ids.length * 2);
+            }
+            this.ids[this.size++] = id;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.comexport.Configurations;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Provides the executor the controllers run their database work on, so a slow database
+ * holds these threads instead of the web server's request threads.
+ * With comexport.async.enabled set to false the work runs on the request thread, as before.
+ */
+@Configuration
+public class AsyncConfiguration {
+
+    /** The name of the executor running the controllers' database work. */
+    public static final String DATABASE_EXECUTOR = "databaseExecutor";
+
+    /**
+     * A bounded executor with one thread per pooled connection and a short queue. Once the queue is full,
+     * new work is rejected right away, which the controllers answer with a 503 Service Unavailable.
+     * The executor's activity, queue and rejections are published as comexport.database.executor metrics.
+     *
+     * @param threads          - how many threads run database work, defaulting to the connection pool's size.
+     * @param queueCapacity    - how much work may wait for a thread before being rejected.
+     * @param meterRegistry    - where the executor's metrics are published.
+     * @return ExecutorService
+     */
+    @Bean(name = DATABASE_EXECUTOR, destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "comexport.async.enabled", havingValue = "true", matchIfMissing = true)
+    public ExecutorService databaseExecutor(
+            @Value("${comexport.async.threads:${spring.datasource.hikari.maximum-pool-size:10}}") int threads,
+            @Value("${comexport.async.queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        Counter rejected = Counter
+            .builder("comexport.database.executor.rejected")
+            .description("Database work rejected because the executor was saturated")
+            .register(meterRegistry);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("comexport-db-"),
+            (task, saturated) -> {
+                rejected.increment();
+                new ThreadPoolExecutor.AbortPolicy().rejectedExecution(task, saturated);
+            });
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "comexport.database.executor");
+    }
+
+    /**
+     * Runs the controllers' database work on the request thread when the async mode is disabled.
+     *
+     * @return Executor
+     */
+    @Bean(name = DATABASE_EXECUTOR)
+    @ConditionalOnProperty(name = "comexport.async.enabled", havingValue = "false")
+    public Executor directExecutor() {
+        return Runnable::run;
+    }
+}
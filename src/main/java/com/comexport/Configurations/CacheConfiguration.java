@@ -0,0 +1,19 @@
+package com.comexport.Configurations;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the in-process cache of assembled users and contacts.
+ * The caches themselves are configured through the spring.cache.* properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    /** The cache of assembled UserOutputDTOs, keyed by the user's id. */
+    public static final String USERS = "users";
+
+    /** The cache of assembled ContactOutputDTOs, keyed by the contact's id. */
+    public static final String CONTACTS = "contacts";
+}
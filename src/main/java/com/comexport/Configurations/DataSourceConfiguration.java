@@ -0,0 +1,108 @@
+package com.comexport.Configurations;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import com.comexport.DataSources.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Provides the application's DataSource: writes go to the primary database, configured through spring.datasource.*,
+ * and read-only transactions go to the replicas configured through comexport.datasource.*, each with it's own pool.
+ * Without replicas every transaction goes to the primary, as before.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceConfiguration implements DisposableBean {
+
+    /** The routing data source, closed along with the application context. */
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    /**
+     * The DataSource used by JPA and JDBC. The primary's pool is configured through the spring.datasource.* and
+     * spring.datasource.hikari.* properties, and each replica's pool through comexport.datasource.replicas[n].*.
+     * A replica which can not be reached does not prevent the application from starting.
+     * Whether each replica is receiving reads is published as the comexport.datasource.replica.available gauge.
+     * <p>
+     * The connection is only fetched when the first statement runs, once the transaction's read-only flag is known.
+     * The pools are not beans of their own, as every DataSource bean triggers the initialization of the primary one.
+     *
+     * @param properties           - the spring.datasource.* properties, also the replicas' defaults.
+     * @param routingProperties    - the comexport.datasource.* properties.
+     * @param environment          - where the spring.datasource.hikari.* properties are bound from.
+     * @param meterRegistry        - where the replicas' pool metrics are published.
+     * @return DataSource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties, DataSourceRoutingProperties routingProperties,
+            Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource primary = properties
+            .initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        primary.setPoolName("comexport-primary");
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<HikariConfig> replicaConfigs = routingProperties.getReplicas();
+        for (int i = 0; i < replicaConfigs.size(); i++) {
+            HikariConfig config = replicaConfigs.get(i);
+            if (config.getPoolName() == null) {
+                config.setPoolName("comexport-replica-" + i);
+            }
+            if (config.getDriverClassName() == null) {
+                config.setDriverClassName(properties.determineDriverClassName());
+            }
+            if (config.getUsername() == null) {
+                config.setUsername(properties.determineUsername());
+                config.setPassword(properties.determinePassword());
+            }
+            // Starting the pool even if the replica is down, the health check will skip it
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+
+        this.routingDataSource = new ReadWriteRoutingDataSource(primary, replicas,
+            routingProperties.isReadYourWrites(), routingProperties.getHealthCheckInterval(),
+            routingProperties.getHealthCheckTimeout());
+        this.routingDataSource.afterPropertiesSet();
+        for (String name : this.routingDataSource.getReplicaNames()) {
+            Gauge
+                .builder("comexport.datasource.replica.available", this.routingDataSource,
+                    routing -> routing.isAvailable(name) ? 1 : 0)
+                .description("Whether the replica is receiving reads")
+                .tag("replica", name)
+                .register(meterRegistry);
+        }
+        return new LazyConnectionDataSourceProxy(this.routingDataSource);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (this.routingDataSource != null) {
+            this.routingDataSource.destroy();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.comexport.Configurations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.zaxxer.hikari.HikariConfig;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * The comexport.datasource.* properties, describing the replicas read-only transactions are routed to.
+ * Each replica takes the Hikari pool properties, e.g. comexport.datasource.replicas[0].jdbc-url,
+ * falling back to the primary's driver and credentials.
+ */
+@Data
+@ConfigurationProperties(prefix = "comexport.datasource")
+public class DataSourceRoutingProperties {
+
+    /** The replicas' pools, none by default, which routes everything to the primary. */
+    private List<HikariConfig> replicas = new ArrayList<>();
+
+    /** Whether a request that has written keeps reading from the primary until it is answered. */
+    private boolean readYourWrites = true;
+
+    /** How often, in milliseconds, the replicas are checked. Zero disables the periodic check. */
+    private long healthCheckInterval = 5000;
+
+    /** How long, in seconds, a replica may take to validate a connection. */
+    private int healthCheckTimeout = 1;
+}
@@ -0,0 +1,83 @@
+package com.comexport.Configurations;
+
+import java.io.IOException;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+/**
+ * Enables Hibernate's second-level cache of User and Contact entities, along with it's query cache,
+ * on a local Ehcache configured per region by the comexport.entity-cache.config file.
+ * Each region's hits, misses, puts, removals and evictions are published as cache.* metrics.
+ * With comexport.entity-cache.enabled set to false every entity is read from the database, as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "comexport.entity-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class EntityCacheConfiguration {
+
+    /** The name the entity cache's metrics are tagged with. */
+    public static final String ENTITY_CACHE_MANAGER = "entityCacheManager";
+
+    /**
+     * The JCache manager holding Hibernate's regions, closed along with the application.
+     *
+     * @param config           - the Ehcache XML configuration of every region.
+     * @return CacheManager
+     */
+    @Bean(name = ENTITY_CACHE_MANAGER, destroyMethod = "close")
+    public CacheManager entityCacheManager(@Value("${comexport.entity-cache.config:classpath:ehcache.xml}") Resource config)
+            throws IOException {
+        return Caching
+            .getCachingProvider(EhcacheCachingProvider.class.getName())
+            .getCacheManager(config.getURI(), this.getClass().getClassLoader());
+    }
+
+    /**
+     * Points Hibernate at the entity cache manager. A region missing from the configuration fails the startup
+     * instead of being created with no bounds.
+     *
+     * @param entityCacheManager   - the JCache manager holding Hibernate's regions.
+     * @return HibernatePropertiesCustomizer
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Publishes the statistics of every region of the entity cache.
+     *
+     * @param entityCacheManager   - the JCache manager holding Hibernate's regions.
+     * @return MeterBinder
+     */
+    @Bean
+    public MeterBinder entityCacheMetrics(CacheManager entityCacheManager) {
+        return registry -> {
+            for (String name : entityCacheManager.getCacheNames()) {
+                // Tagged like the Spring caches' metrics, Prometheus requiring the same tags on every cache.* meter
+                JCacheMetrics.monitor(registry, entityCacheManager.getCache(name),
+                    Tags.of("cacheManager", ENTITY_CACHE_MANAGER, "name", name));
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.comexport.Configurations;
+
+import com.comexport.DTOs.UserOutputDTO;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Customizes the ObjectMapper Spring Boot serializes the responses, the export and the change feed with.
+ */
+@Configuration
+public class JacksonConfiguration {
+
+    /**
+     * Serializes every field of a UserOutputDTO unless a response asks for fewer,
+     * as the user endpoints do when the client selects the fields to be served.
+     *
+     * @return Jackson2ObjectMapperBuilderCustomizer
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer userFieldsFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+            .addFilter(UserOutputDTO.FIELDS_FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -1,5 +1,7 @@
 package com.comexport.Configurations;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -24,6 +26,7 @@ public class SwaggerConfiguration {
                 .select()
                 .apis(RequestHandlerSelectors.basePackage("com.comexport.Controllers"))
                 .paths(PathSelectors.any())
-                .build();
+                .build()
+                .genericModelSubstitutes(CompletableFuture.class);
     }
 }
\ No newline at end of file
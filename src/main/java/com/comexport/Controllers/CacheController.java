@@ -0,0 +1,44 @@
+package com.comexport.Controllers;
+
+import java.util.List;
+
+import com.comexport.DTOs.CacheStatisticsDTO;
+import com.comexport.Services.CacheService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+@RestController
+@RequestMapping("/comexport/caches")
+public class CacheController {
+
+    /**
+    * CacheService class meant to inspect the caches.
+    */
+    @Autowired
+    private CacheService cacheService;
+
+    /**
+    * The get() method will settup a Http Get Request endpoint that will return the
+    * hit, miss and eviction statistics of every cache.
+    *
+    * @return ResponseEntity - A 200 OK with a CacheStatisticsDTO list.
+    */
+    @GetMapping
+    @ApiOperation(value = "Get the statistics of every cache")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Successfully retrieved the statistics")
+    })
+    public ResponseEntity get() {
+        List<CacheStatisticsDTO> statistics = this.cacheService.statistics();
+        return new ResponseEntity(statistics, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,109 @@
+package com.comexport.Controllers;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.comexport.DTOs.ChangePageDTO;
+import com.comexport.DTOs.ChangePositionDTO;
+import com.comexport.Services.ChangeService;
+import com.comexport.Utils.AsyncUtils;
+import com.comexport.Utils.ChangeTokenUtils;
+import com.comexport.Utils.PaginationUtils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+@RestController
+@RequestMapping("/comexport/changes")
+public class ChangeController {
+
+    /**Logger from ChangeController.*/
+	private Logger logger = LogManager.getLogger(ChangeController.class);
+
+    /**
+    * ChangeService class meant to read the change feed.
+    */
+    @Autowired
+    private ChangeService changeService;
+
+    /**
+    * ChangeTokenUtils used to read the continuation tokens.
+    */
+    @Autowired
+    private ChangeTokenUtils changeTokenUtils;
+
+    /**
+    * PaginationUtils class used as an utility regarding the feed's paging.
+    */
+    @Autowired
+    private PaginationUtils paginationUtils;
+
+    /**
+    * AsyncUtils used to run the database work out of the request threads.
+    */
+    @Autowired
+    private AsyncUtils asyncUtils;
+
+    /**
+    * The get(String, Optional<Integer>) method will settup a Http Get Request endpoint that will return
+    * the users and contacts created, updated or deleted since the given position, oldest first.
+    * The page carries the token the next page must be asked since, which is also advertised as a
+    * Link header with rel="next" while more changes are waiting. An empty page is not an error:
+    * the client polls again later with the same token.
+    *
+    * @param since           - A date in milliseconds, 0 for every change, or a token returned by a previous page.
+    * @param limit           - An optional page size, capped by the server.
+    * @return CompletableFuture - A 200 OK with a ChangePageDTO, a 400 Bad Request if the position or the page size
+    * is not valid, or a 410 Gone if the deletions since the position were already removed and the client must read
+    * everything again, since 0.
+    */
+    @GetMapping
+    @ApiOperation(value = "Get the users and contacts changed since a date or a token")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Successfully retrieved the changes, possibly none"),
+        @ApiResponse(code = 400, message = "The position or the page size informed is not valid"),
+        @ApiResponse(code = 410, message = "The position is older than the deletions kept, everything must be read again")
+    })
+    public CompletableFuture<ResponseEntity> get(@RequestParam("since") String since, Optional<Integer> limit) {
+        // The request is not reachable from the database executor
+        UriComponentsBuilder currentRequest = ServletUriComponentsBuilder.fromCurrentRequest();
+
+        return asyncUtils.supply(() -> {
+            Optional<ChangePositionDTO> position = changeTokenUtils.decode(since);
+            Optional<Integer> pageSize = paginationUtils.resolveLimit(limit);
+            if(!position.isPresent() || !pageSize.isPresent()) {
+                // If the position or the page size is not valid.
+                logger.info("The position must be a date in milliseconds or a token, and the page size must be positive.");
+                return new ResponseEntity(HttpStatus.BAD_REQUEST);
+            }
+
+            if(changeService.isExpired(position.get())) {
+                // If deletions since the position may have been forgotten.
+                logger.info("The position {} is older than the deletions kept.", since);
+                return new ResponseEntity(HttpStatus.GONE);
+            }
+
+            logger.info("Fetching the changes since {}...", since);
+            ChangePageDTO page = changeService.feed(position.get(), pageSize.get());
+
+            HttpHeaders responseHeaders = paginationUtils
+                .nextTokenHeaders(currentRequest, page.getMore() ? page.getNext() : null, pageSize.get());
+            logger.info("Fetched {} changes.", page.getChanges().size());
+            return new ResponseEntity(page, responseHeaders, HttpStatus.OK);
+        });
+    }
+}
@@ -3,13 +3,19 @@ package com.comexport.Controllers;
 import java.net.URI;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 import com.comexport.DTOs.ContactInputDTO;
 import com.comexport.DTOs.ContactOutputDTO;
+import com.comexport.DTOs.ResourceVersionDTO;
 import com.comexport.Models.Contact;
+import com.comexport.Services.ContactOutputService;
 import com.comexport.Services.ContactService;
+import com.comexport.Specifications.ContactSpecifications;
 import com.comexport.Transformations.ContactTransformation;
+import com.comexport.Utils.AsyncUtils;
+import com.comexport.Utils.ConditionalRequestUtils;
+import com.comexport.Utils.PaginationUtils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -23,13 +29,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import springfox.documentation.annotations.ApiIgnore;
 
 @RestController
 @RequestMapping("/comexport/contacts")
@@ -44,75 +53,142 @@ public class ContactController {
     @Autowired
     private ContactService contactService;
    
+    /**
+    * ContactOutputService class meant to fetch assembled contacts.
+    */
+    @Autowired
+    private ContactOutputService contactOutputService;
+   
     /**
     * ContactTransformation used as an utility regarding the contact's transformation.
     */
     @Autowired
     private ContactTransformation contactTransformation;
+
+    /**
+    * PaginationUtils used as an utility regarding the list's paging.
+    */
+    @Autowired
+    private PaginationUtils paginationUtils;
+   
+    /**
+    * AsyncUtils used to run the database work out of the request threads.
+    */
+    @Autowired
+    private AsyncUtils asyncUtils;
+   
+    /**
+    * ConditionalRequestUtils used to answer conditional requests.
+    */
+    @Autowired
+    private ConditionalRequestUtils conditionalRequestUtils;
    
     /**
     * The get() method will settup a Http Get Request endpoint that will return a list 
     * with all the contacts. The list can be filtered with the owner
+    * The list is paged by the contact's id: a Link header with rel="next" points to the next page.
     *
     * @param owner           - An optional filter regarding the owner.
-    * @return ResponseEntity - A 200 OK with an ContactOutputDTO list 
-    * if it have found at least one contact or a 404 Not Found if it haven't.
+    * @param after           - An optional cursor, the last contact's id of the previous page.
+    * @param limit           - An optional page size, capped by the server.
+    * @return CompletableFuture - A 200 OK with an ContactOutputDTO list 
+    * if it have found at least one contact, a 400 Bad Request if the page size is not positive
+    * or a 404 Not Found if it haven't.
     */
     @GetMapping
     @ApiOperation(value = "Get a list of contacts that may be filtered")
     @ApiResponses(value = {
         @ApiResponse(code = 200, message = "Successfully retrieved at least one contact"),
+        @ApiResponse(code = 400, message = "The page size informed is not positive"),
         @ApiResponse(code = 404, message = "No contact were found on the database")
     })
-    public ResponseEntity get(Optional<Integer> owner) {
-        logger.info("Fetching contacts from database...");
-        List<ContactOutputDTO> contacts =
-            contactTransformation
-                .convert(this.contactService
-                .findAll()
-                .stream()
-                .filter(c -> c.getOwner() == (owner.isPresent() ? owner.get() : c.getOwner()))
-                .collect(Collectors.toList()));
-        if(contacts.isEmpty()) {
-            // If no contact was found.
-            logger.info("There is no contact on database.");
-            return new ResponseEntity(HttpStatus.NOT_FOUND);
-        }
-        logger.info("Fetched {} contacts.", contacts.size());
-        return new ResponseEntity(contacts, HttpStatus.OK);
+    public CompletableFuture<ResponseEntity> get(Optional<Integer> owner, Optional<Integer> after, Optional<Integer> limit) {
+        // The request is not reachable from the database executor
+        UriComponentsBuilder currentRequest = ServletUriComponentsBuilder.fromCurrentRequest();
+
+        return asyncUtils.supply(() -> {
+            Optional<Integer> pageSize = paginationUtils.resolveLimit(limit);
+            if(!pageSize.isPresent()) {
+                // If the page size is not valid.
+                logger.info("The page size must be positive.");
+                return new ResponseEntity(HttpStatus.BAD_REQUEST);
+            }
+
+            logger.info("Fetching contacts from database...");
+            // Fetching one more contact than the page size to know if there is a next page
+            // Each row is mapped straight to it's ContactOutputDTO, no contact being loaded
+            List<ContactOutputDTO> contacts = this.contactOutputService
+                .findPage(ContactSpecifications.filter(owner), after.orElse(null), pageSize.get() + 1);
+            Integer next = null;
+            if(contacts.size() > pageSize.get()) {
+                contacts = contacts.subList(0, pageSize.get());
+                next = contacts.get(contacts.size() - 1).getId();
+            }
+
+            if(contacts.isEmpty()) {
+                // If no contact was found.
+                logger.info("There is no contact on database.");
+                return new ResponseEntity(HttpStatus.NOT_FOUND);
+            }
+            logger.info("Fetched {} contacts.", contacts.size());
+            return new ResponseEntity(contacts, paginationUtils.nextPageHeaders(currentRequest, next, pageSize.get()), HttpStatus.OK);
+        });
     }
    
     /**
-    * The get(Integer) method will settup a Http Get Request endpoint that will return a single 
+    * The get(Integer, HttpHeaders) method will settup a Http Get Request endpoint that will return a single 
     * contact with a given id.
     * 
+    * The response carries the contact's ETag and Last-Modified date, and a conditional request for an
+    * unchanged contact is answered after a timestamp-only query.
+    * 
     * @param  id              - The id of the contact to be fetched. 
-    * @return ResponseEntity  - A 200 OK with a ContactOutputDTO list if it have found a contact 
-    * with the given id or a 404 Not Found if it haven't.
+    * @param  requestHeaders  - The request's headers, carrying the If-None-Match and If-Modified-Since conditions.
+    * @return CompletableFuture - A 200 OK with a ContactOutputDTO list if it have found a contact 
+    * with the given id, a 304 Not Modified if the client's copy is still current
+    * or a 404 Not Found if it haven't.
     */
     @GetMapping("/{id}")
     @ApiOperation(value = "Get an contact by it's id")
     @ApiResponses(value = {
         @ApiResponse(code = 200, message = "Successfully retrieved the contact"),
+        @ApiResponse(code = 304, message = "The contact was not modified since the client's copy"),
         @ApiResponse(code = 404, message = "The contact was not found on the database")
     })
-    public ResponseEntity get(@PathVariable Integer id) {
+    public CompletableFuture<ResponseEntity> get(@PathVariable Integer id, @ApiIgnore @RequestHeader HttpHeaders requestHeaders) {
+        return asyncUtils.supply(() -> {
+            logger.info("Fetching contact {} from database...", id);
 
-        logger.info("Fetching contact {} from database...", id);
-        
-        //Fetching contact from database
-        Optional<Contact> fetchedContact = this.contactService.findById(id);
+            // Fetching the contact's version from a timestamp-only query
+            Optional<ResourceVersionDTO> version = this.contactOutputService.findVersion(id);
+
+            if(!version.isPresent()) {
+                // If no contact was found.
+                logger.info("There is no contact with id {} on database.", id);
+                return new ResponseEntity(HttpStatus.NOT_FOUND);
+            }
+
+            HttpHeaders responseHeaders = conditionalRequestUtils.headers(version.get());
+            if(conditionalRequestUtils.notModified(version.get(), requestHeaders)) {
+                // If the client's copy is still current.
+                logger.info("The contact {} was not modified.", id);
+                return new ResponseEntity(responseHeaders, HttpStatus.NOT_MODIFIED);
+            }
         
-        if(!fetchedContact.isPresent()) {
-            // If no contact was found.
-            logger.info("There is no contact with id {} on database.", id);
-            return new ResponseEntity(HttpStatus.NOT_FOUND);
-        }
+            //Fetching contact from cache or database
+            Optional<ContactOutputDTO> fetchedContact = this.contactOutputService.findById(id);
         
-        // If there is a fetched contact from database
-        ContactOutputDTO contactOutputDTO = contactTransformation.convert(fetchedContact.get());
-        logger.info("Fetched {}.", contactOutputDTO);
-        return new ResponseEntity(contactOutputDTO, HttpStatus.OK);
+            if(!fetchedContact.isPresent()) {
+                // If the contact was deleted meanwhile.
+                logger.info("There is no contact with id {} on database.", id);
+                return new ResponseEntity(HttpStatus.NOT_FOUND);
+            }
+
+            // If there is a fetched contact from database
+            ContactOutputDTO contactOutputDTO = fetchedContact.get();
+            logger.info("Fetched {}.", contactOutputDTO);
+            return new ResponseEntity(contactOutputDTO, responseHeaders, HttpStatus.OK);
+        });
     }
    
     /**
@@ -120,33 +196,36 @@ public class ContactController {
     * a new contact.
     * 
     * @param  contactInputDTO    - The contact to be created. 
-    * @return ResponseEntity     - A 201 Created.
+    * @return CompletableFuture    - A 201 Created.
     */
     @PostMapping
     @ApiOperation(value = "Insert a new contact into the database")
     @ApiResponses(value = {
         @ApiResponse(code = 201, message = "Successfully created the contact")
     })
-    public ResponseEntity post(@RequestBody ContactInputDTO contactInputDTO) {
+    public CompletableFuture<ResponseEntity> post(@RequestBody ContactInputDTO contactInputDTO) {
+        // The request is not reachable from the database executor
+        UriComponentsBuilder currentRequest = ServletUriComponentsBuilder.fromCurrentRequest();
 
-        Contact contact = contactTransformation.convert(contactInputDTO);
-        logger.info("Adding a new contact {} to the database", contact);
+        return asyncUtils.supply(() -> {
+            Contact contact = contactTransformation.convert(contactInputDTO);
+            logger.info("Adding a new contact {} to the database", contact);
         
-        // Saving the contact!
-        this.contactService.save(contact);
-
-        //Building the location header
-        URI location = ServletUriComponentsBuilder
-            .fromCurrentRequest()
-            .path("/{id}")
-            .buildAndExpand(contact.getId())
-            .toUri();
+            // Saving the contact!
+            this.contactService.save(contact);
+
+            //Building the location header
+            URI location = currentRequest
+                .path("/{id}")
+                .buildAndExpand(contact.getId())
+                .toUri();
         
-        HttpHeaders responseHeaders = new HttpHeaders();
-        responseHeaders.setLocation(location);
+            HttpHeaders responseHeaders = new HttpHeaders();
+            responseHeaders.setLocation(location);
 
-        logger.info("Contact created with id {}", contact.getId());
-        return new ResponseEntity(responseHeaders, HttpStatus.CREATED);
+            logger.info("Contact created with id {}", contact.getId());
+            return new ResponseEntity(responseHeaders, HttpStatus.CREATED);
+        });
     }
    
     /**
@@ -155,7 +234,7 @@ public class ContactController {
     * 
     * @param  id              - The id of the contact to be replaced. 
     * @param  contactInputDTO    - the contact to be replaced.
-    * @return ResponseEntity  - A 204 No Content if the Update was successfull
+    * @return CompletableFuture - A 204 No Content if the Update was successfull
     *  or a 404 Not Found if no contact with the given id was found.
     */
     @PutMapping("/{id}")
@@ -164,30 +243,22 @@ public class ContactController {
         @ApiResponse(code = 204, message = "Successfully updated the contact"),
         @ApiResponse(code = 404, message = "The contact to be updated was not found")
     })
-    public ResponseEntity put(@RequestBody ContactInputDTO contactInputDTO, @PathVariable Integer id) {
-        
-        Contact contact = contactTransformation.convert(contactInputDTO);
-        
-        // Fetching contact from database layer...
-        Optional<Contact> fetchedContact = this.contactService.findById(id);
-
-        if (!fetchedContact.isPresent()) {
-             // If no contact was found.
-             logger.info("There is no contact with id {} on database.", id);
-             return new ResponseEntity(HttpStatus.NOT_FOUND);
-        }
-
-        // Updating the fetched contact's values...
-        fetchedContact.get().setType(contact.getType());
-        fetchedContact.get().setDetail(contact.getDetail());
-        fetchedContact.get().setOwner(contact.getOwner());
+    public CompletableFuture<ResponseEntity> put(@RequestBody ContactInputDTO contactInputDTO, @PathVariable Integer id) {
+        return asyncUtils.supply(() -> {
+            Contact contact = contactTransformation.convert(contactInputDTO);
         
-        
-        logger.info("Updating the contact {} on database...", contact);
-        contactService.save(fetchedContact.get());
+            logger.info("Updating the contact {} on database...", contact);
+            Optional<Contact> updatedContact = this.contactService.update(id, contact);
+
+            if (!updatedContact.isPresent()) {
+                 // If no contact was found.
+                 logger.info("There is no contact with id {} on database.", id);
+                 return new ResponseEntity(HttpStatus.NOT_FOUND);
+            }
 
-        logger.info("Update completed");
-        return new ResponseEntity(HttpStatus.NO_CONTENT);        
+            logger.info("Update completed");
+            return new ResponseEntity(HttpStatus.NO_CONTENT);        
+        });
     }
    
     /**
@@ -195,17 +266,25 @@ public class ContactController {
     * that will delete an existing contact with a given id.
     * 
     * @param  id              - The id of the contact to be deleted.
-    * @return ResponseEntity  - A 204 No Content if the Deletion was successfull.
+    * @return CompletableFuture - A 204 No Content if the Deletion was successfull
+    *  or a 404 Not Found if no contact with the given id was found.
     */
     @DeleteMapping("/{id}")
     @ApiOperation(value = "Delete an contact into the database")
     @ApiResponses(value = {
-        @ApiResponse(code = 204, message = "Successfully deleted the contact")
+        @ApiResponse(code = 204, message = "Successfully deleted the contact"),
+        @ApiResponse(code = 404, message = "The contact to be deleted was not found")
     })
-    public ResponseEntity delete(@PathVariable Integer id) {
-        logger.info("Deleting the contact with id {} from the database...", id);
-        contactService.delete(id);
-        return new ResponseEntity(HttpStatus.NO_CONTENT);
+    public CompletableFuture<ResponseEntity> delete(@PathVariable Integer id) {
+        return asyncUtils.supply(() -> {
+            logger.info("Deleting the contact with id {} from the database...", id);
+            if (!contactService.delete(id)) {
+                // If no contact was found.
+                logger.info("There is no contact with id {} on database.", id);
+                return new ResponseEntity(HttpStatus.NOT_FOUND);
+            }
+            return new ResponseEntity(HttpStatus.NO_CONTENT);
+        });
     }
 
 }
\ No newline at end of file
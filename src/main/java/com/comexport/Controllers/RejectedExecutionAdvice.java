@@ -0,0 +1,34 @@
+package com.comexport.Controllers;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@ControllerAdvice
+public class RejectedExecutionAdvice {
+
+    /**Logger from RejectedExecutionAdvice.*/
+	private Logger logger = LogManager.getLogger(RejectedExecutionAdvice.class);
+
+    /**
+    * The rejected(RejectedExecutionException) method will answer the requests the database executor
+    * had no room for, so they fail fast instead of piling up behind a slow database.
+    * 
+    * @param  exception       - The executor's rejection.
+    * @return ResponseEntity  - A 503 Service Unavailable, asking the client to retry in a second.
+    */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity rejected(RejectedExecutionException exception) {
+        logger.info("The database executor is saturated, rejecting the request.");
+
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity(responseHeaders, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,61 @@
+package com.comexport.Controllers;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.comexport.DTOs.StatsDTO;
+import com.comexport.Services.StatsService;
+import com.comexport.Utils.AsyncUtils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+@RestController
+@RequestMapping("/comexport/stats")
+public class StatsController {
+
+    /**Logger from StatsController.*/
+	private Logger logger = LogManager.getLogger(StatsController.class);
+
+    /**
+    * StatsService class meant to aggregate the users and contacts.
+    */
+    @Autowired
+    private StatsService statsService;
+
+    /**
+    * AsyncUtils used to run the database work out of the request threads.
+    */
+    @Autowired
+    private AsyncUtils asyncUtils;
+
+    /**
+    * The get() method will settup a Http Get Request endpoint that will return how many users fall in each
+    * age band, how many users own each number of contacts and how many contacts there are of each type.
+    * The aggregates are computed by the database and served from memory for a short while, so they may
+    * lag the latest changes by up to "comexport.stats.refresh-after" milliseconds.
+    *
+    * @return CompletableFuture - A 200 OK with a StatsDTO.
+    */
+    @GetMapping
+    @ApiOperation(value = "Get the users' and contacts' aggregate statistics")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Successfully retrieved the statistics")
+    })
+    public CompletableFuture<ResponseEntity> get() {
+        return asyncUtils.supply(() -> {
+            StatsDTO stats = statsService.findStats();
+            logger.info("Served the statistics computed at {}.", stats.getComputedAt());
+            return new ResponseEntity(stats, HttpStatus.OK);
+        });
+    }
+}
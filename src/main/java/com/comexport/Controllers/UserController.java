@@ -1,25 +1,45 @@
 package com.comexport.Controllers;
 
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
-import com.comexport.DTOs.ContactInputDTO;
+import javax.servlet.http.HttpServletResponse;
+
 import com.comexport.DTOs.ContactOutputDTO;
+import com.comexport.DTOs.UserImportResultDTO;
 import com.comexport.DTOs.UserInputDTO;
 import com.comexport.DTOs.UserOutputDTO;
+import com.comexport.DTOs.UserSearchResultDTO;
+import com.comexport.DTOs.ResourceVersionDTO;
 import com.comexport.Models.Contact;
 import com.comexport.Models.User;
-import com.comexport.Services.ContactService;
+import com.comexport.Services.UserEmailService;
+import com.comexport.Services.UserExportService;
+import com.comexport.Services.UserImportService;
+import com.comexport.Services.UserOutputService;
+import com.comexport.Services.UserSearchService;
 import com.comexport.Services.UserService;
+import com.comexport.Specifications.UserSpecifications;
 import com.comexport.Transformations.ContactTransformation;
 import com.comexport.Transformations.UserTransformation;
+import com.comexport.Utils.AsyncUtils;
+import com.comexport.Utils.ConditionalRequestUtils;
+import com.comexport.Utils.PaginationUtils;
+import com.comexport.Utils.UserUtils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,13 +49,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import springfox.documentation.annotations.ApiIgnore;
 
 @RestController
 @RequestMapping("/comexport/users")
@@ -44,17 +69,41 @@ public class UserController {
     /**Logger from UserController.*/
 	private Logger logger = LogManager.getLogger(UserController.class);
     
-    /** 
-    * ContactService class meant to run all CRUD verbs.
+    /**
+    * UserService class meant to run all CRUD verbs.
+    */
+    @Autowired
+    private UserService userService;
+   
+    /**
+    * UserOutputService class meant to fetch assembled users.
     */
     @Autowired
-    private ContactService contactService;
+    private UserOutputService userOutputService;
+   
+    /**
+    * UserExportService class meant to stream all users.
+    */
+    @Autowired
+    private UserExportService userExportService;
 
     /**
-    * UserService class meant to run all CRUD verbs.
+    * UserSearchService class meant to search the users by name and email.
     */
     @Autowired
-    private UserService userService;
+    private UserSearchService userSearchService;
+   
+    /**
+    * UserImportService class meant to create many users at once.
+    */
+    @Autowired
+    private UserImportService userImportService;
+
+    /**
+    * UserEmailService class meant to check whether an email is taken.
+    */
+    @Autowired
+    private UserEmailService userEmailService;
    
     /**
     * ContactTransformation class used as an utility regarding the contact's transformation.
@@ -67,185 +116,420 @@ public class UserController {
     */
     @Autowired
     private UserTransformation userTransformation;
+
+    /**
+    * PaginationUtils class used as an utility regarding the list's paging.
+    */
+    @Autowired
+    private PaginationUtils paginationUtils;
+   
+    /**
+    * UserUtils used as an utility regarding the user's fields.
+    */
+    @Autowired
+    private UserUtils userUtils;
+   
+    /**
+    * AsyncUtils used to run the database work out of the request threads.
+    */
+    @Autowired
+    private AsyncUtils asyncUtils;
+   
+    /**
+    * ConditionalRequestUtils used to answer conditional requests.
+    */
+    @Autowired
+    private ConditionalRequestUtils conditionalRequestUtils;
    
     /**
     * The get() method will settup a Http Get Request endpoint that will return a list 
     * with all the users. The list can be filtered with the users name, email and date of birth.
+    * The list is paged by the user's id: a Link header with rel="next" points to the next page.
+    * Only the requested fields are selected from the database and serialized, and the users' contacts
+    * are only fetched when expanded.
     * @param name            - An optional filter regarding the user's name.
     * @param email           - An optional filter regarding the user's email.
     * @param dateOfBirth     - An optional filter regarding the user's date of birth in milliseconds.
-    * @return ResponseEntity - A 200 OK with an UserOutputDTO list 
-    * if it have found at least one user or a 404 Not Found if it haven't.
+    * @param after           - An optional cursor, the last user's id of the previous page.
+    * @param limit           - An optional page size, capped by the server.
+    * @param fields          - The optional fields to be served, every field if none is informed.
+    * @param expand          - The optional relations to be served, "contacts" being the only one.
+    * @return CompletableFuture - A 200 OK with an UserOutputDTO list 
+    * if it have found at least one user, a 400 Bad Request if the page size is not positive
+    * or an unknown field or expansion was requested, or a 404 Not Found if it haven't.
     */
     @GetMapping
     @ApiOperation(value = "Get a list of users that may be filtered")
     @ApiResponses(value = {
         @ApiResponse(code = 200, message = "Successfully retrieved at least one user"),
+        @ApiResponse(code = 400, message = "The page size informed is not positive, or an unknown field or expansion was requested"),
         @ApiResponse(code = 404, message = "No user were found on the database")
     })
-    public ResponseEntity get(Optional<String> name, Optional<String> email, Optional<Long> dateOfBirth) {
-        logger.info("Fetching users from database...");
-        List<UserOutputDTO> users =
-            userTransformation
-                .convert(this.userService
-                .findAll()
-                .stream()
-                .filter(u -> u.getName().equals(name.isPresent() ? name.get() : u.getName()))
-                .filter(u -> u.getEmail().equals(email.isPresent() ? email.get() : u.getEmail()))
-                .filter(u -> u.getDateOfBirth().getTime() == (dateOfBirth.isPresent() ? dateOfBirth.get() : u.getDateOfBirth().getTime()))
-                .collect(Collectors.toList()));
+    public CompletableFuture<ResponseEntity> get(Optional<String> name, Optional<String> email, Optional<Long> dateOfBirth,
+        Optional<Integer> after, Optional<Integer> limit,
+        @RequestParam("fields") Optional<List<String>> fields, @RequestParam("expand") Optional<List<String>> expand) {
+        // The request is not reachable from the database executor
+        UriComponentsBuilder currentRequest = ServletUriComponentsBuilder.fromCurrentRequest();
+
+        return asyncUtils.supply(() -> {
+            Optional<Integer> pageSize = paginationUtils.resolveLimit(limit);
+            if(!pageSize.isPresent()) {
+                // If the page size is not valid.
+                logger.info("The page size must be positive.");
+                return new ResponseEntity(HttpStatus.BAD_REQUEST);
+            }
+
+            Optional<Set<String>> selectedFields = userUtils.resolveFields(fields);
+            Optional<Boolean> withContacts = userUtils.resolveExpand(expand);
+            if(!selectedFields.isPresent() || !withContacts.isPresent()) {
+                // If an unknown field or expansion was requested.
+                logger.info("The available fields are {} and the available expansions are {}.", UserUtils.FIELDS, UserUtils.EXPANSIONS);
+                return new ResponseEntity(HttpStatus.BAD_REQUEST);
+            }
+
+            logger.info("Fetching users from database...");
+            // Fetching one more user than the page size to know if there is a next page, selecting only the requested columns
+            // Each row is mapped straight to it's UserOutputDTO, no user being loaded
+            List<UserOutputDTO> users = this.userOutputService
+                .findPage(UserSpecifications.filter(name, email, dateOfBirth), after.orElse(null), pageSize.get() + 1,
+                    userUtils.toAttributes(selectedFields.get()));
+            Integer next = null;
+            if(users.size() > pageSize.get()) {
+                users = users.subList(0, pageSize.get());
+                next = users.get(users.size() - 1).getId();
+            }
+
+            if(users.isEmpty()) {
+                // If no user was found.
+                logger.info("There is no user on database.");
+                return new ResponseEntity(HttpStatus.NOT_FOUND);
+            }
+
+            if(withContacts.get()) {
+                // Fetching only the fetched users' contacts from database
+                Map<Integer, List<ContactOutputDTO>> contacts =
+                    userOutputService.findContactsByOwners(users
+                        .stream()
+                        .map(UserOutputDTO::getId)
+                        .collect(Collectors.toList()));
+                for (UserOutputDTO user : users) {
+                    user.setContacts(contacts.getOrDefault(user.getId(), new ArrayList<>()));
+                }
+            }
+
+            logger.info("Fetched {} users.", users.size());
+            // The id is always selected, as it is the page's cursor and the contacts' owner, but only served if requested
+            return new ResponseEntity(userUtils.filter(users, selectedFields.get(), withContacts.get()), paginationUtils.nextPageHeaders(currentRequest, next, pageSize.get()), HttpStatus.OK);
+        });
+    }
+   
+    /**
+    * The search(String, Optional<Integer>, Optional<Integer>) method will settup a Http Get Request endpoint that will
+    * return the users whose name or email match the given query, best matches first. Every word of the query
+    * must match a word of the user's name or email, exactly, as a prefix or, failing that, as a misspelled word.
+    * The users are searched on an in-memory index, so the database is not touched.
+    * The list is paged by offset: a Link header with rel="next" points to the next page.
+    * 
+    * @param q               - The words typed so far.
+    * @param offset          - An optional number of best matches to be skipped.
+    * @param limit           - An optional page size, capped by the server.
+    * @return ResponseEntity - A 200 OK with an UserSearchResultDTO list if it have found at least one user,
+    * a 400 Bad Request if the query is blank or the page is invalid, a 404 Not Found if it haven't,
+    * or a 503 Service Unavailable while the index is being built.
+    */
+    @GetMapping("/search")
+    @ApiOperation(value = "Search the users by name and email")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Successfully found at least one user"),
+        @ApiResponse(code = 400, message = "The query is blank, the offset is negative or the page size is not positive"),
+        @ApiResponse(code = 404, message = "No user matches the query"),
+        @ApiResponse(code = 503, message = "The search index is being built")
+    })
+    public ResponseEntity search(@RequestParam("q") String q, Optional<Integer> offset, Optional<Integer> limit) {
+        Optional<Integer> pageSize = paginationUtils.resolveLimit(limit);
+        if(q.trim().isEmpty() || !pageSize.isPresent() || offset.orElse(0) < 0) {
+            // If the query is blank or the page is invalid.
+            logger.info("The query must not be blank, the offset must not be negative and the page size must be positive.");
+            return new ResponseEntity(HttpStatus.BAD_REQUEST);
+        }
+
+        // Fetching one more user than the page size to know if there is a next page
+        Optional<List<UserSearchResultDTO>> found = userSearchService.search(q, offset.orElse(0), pageSize.get() + 1);
+        if(!found.isPresent()) {
+            // If the index is not built yet.
+            logger.info("The search index is being built.");
+            HttpHeaders responseHeaders = new HttpHeaders();
+            responseHeaders.set(HttpHeaders.RETRY_AFTER, "10");
+            return new ResponseEntity(responseHeaders, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        List<UserSearchResultDTO> users = found.get();
         if(users.isEmpty()) {
-            // If no user was found.
-            logger.info("There is no user on database.");
+            // If no user matches the query.
+            logger.info("No user matches {}.", q);
             return new ResponseEntity(HttpStatus.NOT_FOUND);
         }
 
-        // Fetching contacts from database
-        List<Contact> contacts = contactService.findAll();
-        for (UserOutputDTO user : users) {
-            List<ContactOutputDTO> contactOutputDTOs = contactTransformation.convert(contacts
-                .stream()
-                .filter(c -> c.getOwner() == user.getId())
-                .collect(Collectors.toList()));
-            user.setContacts(contactOutputDTOs);
+        Integer next = null;
+        if(users.size() > pageSize.get()) {
+            users = users.subList(0, pageSize.get());
+            next = offset.orElse(0) + pageSize.get();
         }
+        return new ResponseEntity(users,
+            paginationUtils.nextOffsetHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), next, pageSize.get()), HttpStatus.OK);
+    }
+   
+    /**
+    * The exists(String) method will settup a Http Head Request endpoint that will tell whether
+    * a user holds the given email, ignoring case and accents.
+    * 
+    * An email that was never taken is answered from memory, without querying the database.
+    * 
+    * @param  email           - The email to be checked. 
+    * @return CompletableFuture - A 200 OK if a user holds the email or a 404 Not Found if none does.
+    */
+    @RequestMapping(method = RequestMethod.HEAD, params = "email")
+    @ApiOperation(value = "Check whether a user holds an email")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "A user holds the email"),
+        @ApiResponse(code = 404, message = "No user holds the email")
+    })
+    public CompletableFuture<ResponseEntity> exists(@RequestParam("email") String email) {
+        return asyncUtils.supply(() -> {
+            if(!this.userEmailService.isTaken(email, null)) {
+                // If no user holds the email.
+                return new ResponseEntity(HttpStatus.NOT_FOUND);
+            }
+            return new ResponseEntity(HttpStatus.OK);
+        });
+    }
+   
+    /**
+    * The export(HttpServletResponse) method will settup a Http Get Request endpoint that will stream
+    * every user, along with it's contacts, as newline-delimited JSON. The users are written as they
+    * are read from the database, so the memory usage does not grow with the number of users.
+    *
+    * @param response        - The response the users will be written to.
+    * @throws IOException    - If the response can not be written.
+    */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @ApiOperation(value = "Export all users with their contacts as newline-delimited JSON")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Successfully exported the users")
+    })
+    public void export(HttpServletResponse response) throws IOException {
+        logger.info("Exporting users from database...");
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
 
-
-        logger.info("Fetched {} users.", users.size());
-        return new ResponseEntity(users, HttpStatus.OK);
+        long exported = userExportService.export(response.getOutputStream());
+        logger.info("Exported {} users.", exported);
     }
    
     /**
-    * The get(Integer) method will settup a Http Get Request endpoint that will return a single 
+    * The get(Integer, Optional<List<String>>, Optional<List<String>>, HttpHeaders) method will settup a Http Get Request endpoint that will return a single 
     * user with a given id.
     * 
+    * The response carries the user's ETag and Last-Modified date, and a conditional request for an
+    * unchanged user is answered after a timestamp-only query.
+    * 
+    * Only the requested fields are serialized, and the user's contacts only when expanded.
+    * 
     * @param  id              - The id of the user to be fetched. 
-    * @return ResponseEntity  - A 200 OK with an UserOutputDTO list if it have found an user 
-    * with the given id or a 404 Not Found if it haven't.
+    * @param  fields          - The optional fields to be served, every field if none is informed.
+    * @param  expand          - The optional relations to be served, "contacts" being the only one.
+    * @param  requestHeaders  - The request's headers, carrying the If-None-Match and If-Modified-Since conditions.
+    * @return CompletableFuture - A 200 OK with an UserOutputDTO list if it have found an user 
+    * with the given id, a 304 Not Modified if the client's copy is still current,
+    * a 400 Bad Request if an unknown field or expansion was requested or a 404 Not Found if it haven't.
     */
     @GetMapping("/{id}")
     @ApiOperation(value = "Get an user by it's id")
     @ApiResponses(value = {
         @ApiResponse(code = 200, message = "Successfully retrieved the user"),
+        @ApiResponse(code = 304, message = "The user was not modified since the client's copy"),
+        @ApiResponse(code = 400, message = "An unknown field or expansion was requested"),
         @ApiResponse(code = 404, message = "The user was not found on the database")
     })
-    public ResponseEntity get(@PathVariable Integer id) {
+    public CompletableFuture<ResponseEntity> get(@PathVariable Integer id,
+        @RequestParam("fields") Optional<List<String>> fields, @RequestParam("expand") Optional<List<String>> expand,
+        @ApiIgnore @RequestHeader HttpHeaders requestHeaders) {
+        return asyncUtils.supply(() -> {
+            Optional<Set<String>> selectedFields = userUtils.resolveFields(fields);
+            Optional<Boolean> withContacts = userUtils.resolveExpand(expand);
+            if(!selectedFields.isPresent() || !withContacts.isPresent()) {
+                // If an unknown field or expansion was requested.
+                logger.info("The available fields are {} and the available expansions are {}.", UserUtils.FIELDS, UserUtils.EXPANSIONS);
+                return new ResponseEntity(HttpStatus.BAD_REQUEST);
+            }
 
-        logger.info("Fetching user {} from database...", id);
-        
-        //Fetching user from database
-        Optional<User> fetchedUser = this.userService.findById(id);
+            logger.info("Fetching user {} from database...", id);
+
+            // Fetching the user's version from a timestamp-only query
+            Optional<ResourceVersionDTO> version = this.userOutputService.findVersion(id);
+
+            if(!version.isPresent()) {
+                // If no user was found.
+                logger.info("There is no user with id {} on database.", id);
+                return new ResponseEntity(HttpStatus.NOT_FOUND);
+            }
+
+            HttpHeaders responseHeaders = conditionalRequestUtils.headers(version.get());
+            if(conditionalRequestUtils.notModified(version.get(), requestHeaders)) {
+                // If the client's copy is still current.
+                logger.info("The user {} was not modified.", id);
+                return new ResponseEntity(responseHeaders, HttpStatus.NOT_MODIFIED);
+            }
         
-        if(!fetchedUser.isPresent()) {
-            // If no user was found.
-            logger.info("There is no user with id {} on database.", id);
-            return new ResponseEntity(HttpStatus.NOT_FOUND);
-        }
+            //Fetching user and it's contacts from cache or database
+            Optional<UserOutputDTO> fetchedUser = this.userOutputService.findById(id);
         
-        //Fetching user's contacts from database
-        List<ContactOutputDTO> contacts =
-            contactTransformation.convert(
-                this.contactService
-                .findAll()
-                .stream()
-                .filter(c -> c.getOwner() == fetchedUser.get().getId())
-                .collect(Collectors.toList()));
-
-        // If there is a fetched user from database
-        UserOutputDTO userOutputDTO = userTransformation.convert(fetchedUser.get());
-        userOutputDTO.setContacts(contacts);
-        logger.info("Fetched {}.", userOutputDTO);
-        return new ResponseEntity(userOutputDTO, HttpStatus.OK);
+            if(!fetchedUser.isPresent()) {
+                // If the user was deleted meanwhile.
+                logger.info("There is no user with id {} on database.", id);
+                return new ResponseEntity(HttpStatus.NOT_FOUND);
+            }
+
+            // If there is a fetched user from database, serializing only the requested fields of the shared cached user
+            logger.info("Fetched {}.", fetchedUser.get());
+            return new ResponseEntity(userUtils.filter(fetchedUser.get(), selectedFields.get(), withContacts.get()),
+                responseHeaders, HttpStatus.OK);
+        });
     }
    
     /**
     * The post(UserInputDTO) method will settup a Http Post Request endpoint that will create 
-    * a new user.
+    * a new user along with it's contacts, on a single transaction.
     * 
     * @param  userInputDTO    - The user to be created. 
-    * @return ResponseEntity  - A 201 Created if the required fields are filled 
-    *  or a 400 Bad Request if they aren't.
+    * @return CompletableFuture - A 201 Created if the required fields are filled,
+    *  a 400 Bad Request if they aren't or a 409 Conflict if another user holds the email.
     */
     @PostMapping
     @ApiOperation(value = "Insert a new user into the database")
     @ApiResponses(value = {
         @ApiResponse(code = 201, message = "Successfully created the user"),
-        @ApiResponse(code = 400, message = "The user's name, email or date of birth was not informed")
+        @ApiResponse(code = 400, message = "The user's name, email or date of birth was not informed"),
+        @ApiResponse(code = 409, message = "Another user holds the email")
     })
-    public ResponseEntity post(@RequestBody UserInputDTO userInputDTO) {
-        
-        if(userInputDTO.getName() == null || userInputDTO.getEmail() == null || userInputDTO.getDateOfBirth() == null) {
-            // If any required field is empty .
-            logger.info("You need to inform the user Name, Email and Date of Birth.");
-            return new ResponseEntity(HttpStatus.BAD_REQUEST);
-        }
+    public CompletableFuture<ResponseEntity> post(@RequestBody UserInputDTO userInputDTO) {
+        // The request is not reachable from the database executor
+        UriComponentsBuilder currentRequest = ServletUriComponentsBuilder.fromCurrentRequest();
 
-        User user = userTransformation.convert(userInputDTO);
-        logger.info("Adding a new user {} to the database", user);
-        
-        // Saving the user!
-        this.userService.save(user);
+        return asyncUtils.supply(() -> {
+            if(userInputDTO.getName() == null || userInputDTO.getEmail() == null || userInputDTO.getDateOfBirth() == null) {
+                // If any required field is empty .
+                logger.info("You need to inform the user Name, Email and Date of Birth.");
+                return new ResponseEntity(HttpStatus.BAD_REQUEST);
+            }
+
+            User user = userTransformation.convert(userInputDTO);
+            logger.info("Adding a new user {} to the database", user);
         
-        if(!userInputDTO.getContacts().isEmpty()){
-            List<ContactInputDTO> contacts = userInputDTO.getContacts();
-            // Saving the user contacts
-            for (ContactInputDTO contact : contacts) {
-                contact.setOwner(user);
-                contactService.save(contactTransformation.convert(contact));
+            // Saving the user and it's contacts!
+            List<Contact> contacts = userInputDTO.getContacts() == null
+                ? new ArrayList<>()
+                : contactTransformation.convertWithIds(userInputDTO.getContacts());
+            try {
+                this.userService.create(user, contacts);
+            } catch (DataIntegrityViolationException e) {
+                // If another user holds the email, nothing was created.
+                logger.info("The email {} is already taken.", user.getEmail());
+                return new ResponseEntity(HttpStatus.CONFLICT);
             }
-        }
-        //Building the location header
-        URI location = ServletUriComponentsBuilder
-            .fromCurrentRequest()
-            .path("/{id}")
-            .buildAndExpand(user.getId())
-            .toUri();
+            //Building the location header
+            URI location = currentRequest
+                .path("/{id}")
+                .buildAndExpand(user.getId())
+                .toUri();
         
-        HttpHeaders responseHeaders = new HttpHeaders();
-        responseHeaders.setLocation(location);
+            HttpHeaders responseHeaders = new HttpHeaders();
+            responseHeaders.setLocation(location);
+
+            logger.info("User created with id {}", user.getId());
+            return new ResponseEntity(responseHeaders, HttpStatus.CREATED);
+        });
+    }
+   
+    /**
+    * The post(List<UserInputDTO>) method will settup a Http Post Request endpoint that will create 
+    * many users at once, along with their contacts. The users are inserted in batches and each one
+    * gets it's own result, so a rejected user does not prevent the other ones from being created.
+    * 
+    * @param  userInputDTOs   - The users to be created. 
+    * @return CompletableFuture - A 200 OK with an UserImportResultDTO list, one for each given user.
+    */
+    @PostMapping("/batch")
+    @ApiOperation(value = "Insert many users into the database")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "Successfully processed the users, check each user's result")
+    })
+    public CompletableFuture<ResponseEntity> post(@RequestBody List<UserInputDTO> userInputDTOs) {
+        return asyncUtils.supply(() -> {
+            logger.info("Importing {} users to the database...", userInputDTOs.size());
+            List<UserImportResultDTO> results = this.userImportService.importUsers(userInputDTOs);
 
-        logger.info("User created with id {}", user.getId());
-        return new ResponseEntity(responseHeaders, HttpStatus.CREATED);
+            logger.info("Imported {} users.", results
+                .stream()
+                .filter(r -> r.getStatus() == UserImportResultDTO.Status.CREATED)
+                .count());
+            return new ResponseEntity(results, HttpStatus.OK);
+        });
     }
    
     /**
     * The put(UserInputDTO, Integer) method will settup a Http Put Request endpoint 
     * that will replace an existing user with a given id by the new given user.
+    * If a contact list is given it replaces the user's contacts: contacts carrying the id of one of
+    * the user's contacts update it, contacts without an id are created and the ones left out are deleted.
+    * Without a contact list the user's contacts are kept.
     * 
     * @param  id              - The id of the user to be replaced. 
     * @param  userInputDTO    - the user to be replaced.
-    * @return ResponseEntity  - A 204 No Content if the Update was successfull
-    *  or a 404 Not Found if no user with the given id was found.
+    * @return CompletableFuture - A 204 No Content if the Update was successfull,
+    *  a 400 Bad Request if a contact's id is not one of the user's contacts,
+    *  a 404 Not Found if no user with the given id was found
+    *  or a 409 Conflict if another user holds the new email.
     */
     @PutMapping("/{id}")
     @ApiOperation(value = "Update a user on the database")
     @ApiResponses(value = {
         @ApiResponse(code = 204, message = "Successfully updated the user"),
-        @ApiResponse(code = 404, message = "The user to be updated was not found")
+        @ApiResponse(code = 400, message = "A contact's id is not one of the user's contacts"),
+        @ApiResponse(code = 404, message = "The user to be updated was not found"),
+        @ApiResponse(code = 409, message = "Another user holds the new email")
     })
-    public ResponseEntity put(@RequestBody UserInputDTO userInputDTO, @PathVariable Integer id) {
+    public CompletableFuture<ResponseEntity> put(@RequestBody UserInputDTO userInputDTO, @PathVariable Integer id) {
+        return asyncUtils.supply(() -> {
+            User user = userTransformation.convert(userInputDTO);
+            List<Contact> contacts = userInputDTO.getContacts() == null
+                ? null
+                : contactTransformation.convertWithIds(userInputDTO.getContacts());
         
-        User user = userTransformation.convert(userInputDTO);
-        
-        // Fetching user from database layer...
-        Optional<User> fetchedUser = this.userService.findById(id);
-
-        if (!fetchedUser.isPresent()) {
-             // If no user was found.
-             logger.info("There is no user with id {} on database.", id);
-             return new ResponseEntity(HttpStatus.NOT_FOUND);
-        }
-
-        // Updating the fetched user's values
-        fetchedUser.get().setEmail(user.getEmail());
-        fetchedUser.get().setDateOfBirth(user.getDateOfBirth());
-        fetchedUser.get().setAddress(user.getAddress());
+            logger.info("Updating the user {} on database...", user);
+            Optional<User> updatedUser;
+            try {
+                updatedUser = this.userService.update(id, user, contacts);
+            } catch (IllegalArgumentException e) {
+                // If a contact belongs to another user, nothing was changed.
+                logger.info(e.getMessage());
+                return new ResponseEntity(HttpStatus.BAD_REQUEST);
+            } catch (DataIntegrityViolationException e) {
+                // If another user holds the new email, nothing was changed.
+                logger.info("The email {} is already taken.", user.getEmail());
+                return new ResponseEntity(HttpStatus.CONFLICT);
+            }
 
-        logger.info("Updating the user {} on database...", user);
-        userService.save(fetchedUser.get());
+            if (!updatedUser.isPresent()) {
+                 // If no user was found.
+                 logger.info("There is no user with id {} on database.", id);
+                 return new ResponseEntity(HttpStatus.NOT_FOUND);
+            }
 
-        logger.info("Update completed");
-        return new ResponseEntity(HttpStatus.NO_CONTENT);        
+            logger.info("Update completed");
+            return new ResponseEntity(HttpStatus.NO_CONTENT);        
+        });
     }
    
     /**
@@ -253,31 +537,52 @@ public class UserController {
     * that will delete an existing user with a given id.
     * 
     * @param  id              - The id of the user to be deleted.
-    * @return ResponseEntity  - A 204 No Content if the Deletion was successfull.
+    * @return CompletableFuture - A 204 No Content if the Deletion was successfull
+    *  or a 404 Not Found if no user with the given id was found.
     */
     @DeleteMapping("/{id}")
     @ApiOperation(value = "Delete an user into the database")
     @ApiResponses(value = {
-        @ApiResponse(code = 204, message = "Successfully deleted the user")
+        @ApiResponse(code = 204, message = "Successfully deleted the user"),
+        @ApiResponse(code = 404, message = "The user to be deleted was not found")
     })
-    public ResponseEntity delete(@PathVariable Integer id) {
-        logger.info("Deleting the user with id {} from the database...", id);
+    public CompletableFuture<ResponseEntity> delete(@PathVariable Integer id) {
+        return asyncUtils.supply(() -> {
+            logger.info("Deleting the user with id {} from the database...", id);
         
-        // Fetching user's contacts
-        List<Contact> contacts = this.contactService
-        .findAll()
-        .stream()
-        .filter(c -> c.getOwner() == id)
-        .collect(Collectors.toList());
-
-        // Deleting user's contacts
-        for (Contact contact : contacts) {
-            contactService.delete(contact.getId());
-        }
+            // Deleting user and it's contacts
+            if (userService.delete(id) == 0) {
+                // If no user was found.
+                logger.info("There is no user with id {} on database.", id);
+                return new ResponseEntity(HttpStatus.NOT_FOUND);
+            }
+
+            logger.info("Deletion completed.");
+            return new ResponseEntity(HttpStatus.NO_CONTENT);
+        });
+    }
+   
+    /**
+    * The delete(List<Integer>) method will settup a Http Delete Request endpoint 
+    * that will delete many existing users, along with their contacts, at once.
+    * 
+    * @param  ids             - The ids of the users to be deleted.
+    * @return CompletableFuture - A 204 No Content if the Deletion was successfull.
+    */
+    @DeleteMapping
+    @ApiOperation(value = "Delete many users from the database")
+    @ApiResponses(value = {
+        @ApiResponse(code = 204, message = "Successfully deleted the users")
+    })
+    public CompletableFuture<ResponseEntity> delete(@RequestBody List<Integer> ids) {
+        return asyncUtils.supply(() -> {
+            logger.info("Deleting {} users from the database...", ids.size());
+        
+            // Deleting users and their contacts
+            int deleted = userService.delete(ids);
 
-        logger.info("Deletion completed.");
-        // Deleting user
-        userService.delete(id);
-        return new ResponseEntity(HttpStatus.NO_CONTENT);
+            logger.info("Deleted {} users.", deleted);
+            return new ResponseEntity(HttpStatus.NO_CONTENT);
+        });
     }
 }
\ No newline at end of file
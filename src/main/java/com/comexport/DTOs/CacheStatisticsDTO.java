@@ -0,0 +1,31 @@
+package com.comexport.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatisticsDTO {
+
+    /** The cache's name. */
+    private String name = null;
+
+    /** The approximate number of cached entries. */
+    private Long size = null;
+
+    /** How many lookups were answered by the cache. */
+    private Long hitCount = null;
+
+    /** How many lookups had to be loaded from the database. */
+    private Long missCount = null;
+
+    /** The ratio of lookups answered by the cache. */
+    private Double hitRate = null;
+
+    /** How many entries were evicted by size or expiration. */
+    private Long evictionCount = null;
+}
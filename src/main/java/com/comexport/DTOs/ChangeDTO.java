@@ -0,0 +1,44 @@
+package com.comexport.DTOs;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeDTO {
+
+    /** What happened to the resource. */
+    public enum Kind {
+        CREATED, UPDATED, DELETED
+    }
+
+    /** The changed resource's type, either "user" or "contact". */
+    private String type = null;
+
+    /** The changed resource's primary key. */
+    private Integer id = null;
+
+    /** What happened to the resource, created meaning it was created after the requested position. */
+    private Kind kind = null;
+
+    /** When the resource was last changed, or deleted. */
+    private Date at = null;
+
+    /** The contact's owner, for created or updated contacts. */
+    private Integer owner = null;
+
+    /** The user's current state, for created or updated users, without it's contacts. */
+    private UserOutputDTO user = null;
+
+    /** The contact's current state, for created or updated contacts. */
+    private ContactOutputDTO contact = null;
+}
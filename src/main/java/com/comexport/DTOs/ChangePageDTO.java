@@ -0,0 +1,24 @@
+package com.comexport.DTOs;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangePageDTO {
+
+    /** The changes, oldest first. */
+    private List<ChangeDTO> changes = null;
+
+    /** The token the next page must be asked "since", even when there are no more changes yet. */
+    private String next = null;
+
+    /** Whether more changes are waiting to be read right away. */
+    private Boolean more = null;
+}
@@ -0,0 +1,22 @@
+package com.comexport.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangePositionDTO {
+
+    /** The date of the last change read, in milliseconds. */
+    private Long at = null;
+
+    /** The stream the last change read came from: users, contacts or deletions. -1 when nothing was read at that date. */
+    private Integer stream = null;
+
+    /** The primary key of the last change read within it's stream. */
+    private Integer id = null;
+}
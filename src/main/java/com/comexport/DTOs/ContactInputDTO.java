@@ -15,6 +15,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class ContactInputDTO {
      
+     /** The contact's primary key, informed to keep one of the user's contacts when the user is updated. */
+     private Integer id = null;
+     
      /** The User to be contacted */
      private User owner = null;
      
@@ -24,10 +27,10 @@ public class ContactInputDTO {
      /** Some details about the contact */
      private String detail = null;
  
-     /** The contact's creation date. */
+     /** The contact's creation date, ignored as the server sets it. */
      private Date creationDate = null;
      
-     /** The contact's last update date. */
+     /** The contact's last update date, ignored as the server sets it. */
      private Date lastUpdate = null; 
 
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.comexport.DTOs;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ContactTimestampsDTO {
+
+    /** The contact's primary key. */
+    private Integer id = null;
+
+    /** The contact's creation date. */
+    private Date creationDate = null;
+
+    /** The contact's last update date. */
+    private Date lastUpdate = null;
+}
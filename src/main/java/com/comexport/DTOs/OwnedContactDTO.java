@@ -0,0 +1,27 @@
+package com.comexport.DTOs;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OwnedContactDTO {
+
+    /** The contact owner's primary key. */
+    private Integer owner = null;
+
+    /** The contact, as it is served. */
+    private ContactOutputDTO contact = null;
+
+    /**
+     * Builds the contact straight from the selected columns, as a query's constructor expression.
+     */
+    public OwnedContactDTO(Integer owner, Integer id, String type, String detail, Date creationDate, Date lastUpdate) {
+        this.owner = owner;
+        this.contact = new ContactOutputDTO(id, type, detail, creationDate, lastUpdate);
+    }
+}
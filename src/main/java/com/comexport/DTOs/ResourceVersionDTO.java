@@ -0,0 +1,19 @@
+package com.comexport.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResourceVersionDTO {
+
+    /** The strong entity tag of the resource's current representation, quoted. */
+    private String eTag = null;
+
+    /** When the resource's representation last changed, in milliseconds. */
+    private Long lastModified = null;
+}
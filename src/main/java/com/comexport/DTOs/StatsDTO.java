@@ -0,0 +1,28 @@
+package com.comexport.DTOs;
+
+import java.util.Date;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatsDTO {
+
+    /** How many users fall in each age band, "unknown" counting the users without a date of birth. */
+    private Map<String, Long> ageBands = null;
+
+    /** How many users own each number of contacts, zero included. */
+    private Map<Integer, Long> contactsPerUser = null;
+
+    /** How many contacts there are of each type, "unknown" counting the contacts without a type. */
+    private Map<String, Long> contactsByType = null;
+
+    /** When the oldest of the aggregates was computed. */
+    private Date computedAt = null;
+}
@@ -0,0 +1,28 @@
+package com.comexport.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserImportResultDTO {
+
+    /** The possible outcomes of an imported user. */
+    public enum Status { CREATED, REJECTED, FAILED }
+
+    /** The user's position on the imported list. */
+    private Integer index = null;
+
+    /** The created user's primary key. */
+    private Integer id = null;
+
+    /** The import's outcome. */
+    private Status status = null;
+
+    /** Why the user was not created. */
+    private String message = null;
+}
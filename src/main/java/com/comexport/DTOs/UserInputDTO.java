@@ -29,9 +29,9 @@ public class UserInputDTO {
     /** The user's contact list */
     private List<ContactInputDTO> contacts = null;
     
-    /** The user's creation date. */
+    /** The user's creation date, ignored as the server sets it. */
     private Date creationDate = null;
     
-    /** The user's last update date. */
+    /** The user's last update date, ignored as the server sets it. */
     private Date lastUpdate = null; 
 }
\ No newline at end of file
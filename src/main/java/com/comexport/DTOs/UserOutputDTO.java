@@ -3,6 +3,9 @@ package com.comexport.DTOs;
 import java.util.Date;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,10 +13,14 @@ import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@JsonFilter(UserOutputDTO.FIELDS_FILTER)
 @AllArgsConstructor
 @NoArgsConstructor
 public class UserOutputDTO {
 
+        /** The filter serializing only the fields a client asked for. */
+        public static final String FIELDS_FILTER = "userFields";
+
         /** The user's primary key. */     
         private Integer id = null;
         
@@ -29,7 +36,8 @@ public class UserOutputDTO {
         /** The user's address. */
         private String address = null;
 
-        /** The user's contact list */
+        /** The user's contact list, left out unless expanded. */
+        @JsonInclude(JsonInclude.Include.NON_NULL)
         private List<ContactOutputDTO> contacts = null;
         
         /** The user's creation date. */
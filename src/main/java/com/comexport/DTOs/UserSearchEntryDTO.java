@@ -0,0 +1,27 @@
+package com.comexport.DTOs;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSearchEntryDTO {
+
+    /** The user's primary key. */
+    private Integer id = null;
+
+    /** The user's name. */
+    private String name = null;
+
+    /** The user's email address. */
+    private String email = null;
+
+    /** The user's last update date, the search index's watermark. */
+    private Date lastUpdate = null;
+}
@@ -0,0 +1,25 @@
+package com.comexport.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSearchResultDTO {
+
+    /** The user's primary key. */
+    private Integer id = null;
+
+    /** The user's name. */
+    private String name = null;
+
+    /** The user's email address. */
+    private String email = null;
+
+    /** How well the user matches the query, from 0 to 1. */
+    private Double score = null;
+}
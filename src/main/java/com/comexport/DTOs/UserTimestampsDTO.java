@@ -0,0 +1,39 @@
+package com.comexport.DTOs;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserTimestampsDTO {
+
+    /** The user's primary key. */
+    private Integer id = null;
+
+    /** The user's date of birth, which the user's age depends on. */
+    private Date dateOfBirth = null;
+
+    /** The user's creation date. */
+    private Date creationDate = null;
+
+    /** The user's last update date. */
+    private Date lastUpdate = null;
+
+    /** How many contacts the user has. */
+    private Long contactCount = null;
+
+    /** The latest creation date among the user's contacts. */
+    private Date contactCreationDate = null;
+
+    /** The latest update date among the user's contacts. */
+    private Date contactLastUpdate = null;
+
+    /** The sum of the user's contacts' primary keys, which changes whenever a contact is replaced by another. */
+    private Long contactIdSum = null;
+}
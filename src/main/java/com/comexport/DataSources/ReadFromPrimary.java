@@ -0,0 +1,18 @@
+package com.comexport.DataSources;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sends the read-only transactions of the annotated method to the primary, even if replicas are configured.
+ * Meant for the reads whose results outlive the request, such as the ones filling the representation and entity
+ * caches or moving a client's position forward, which a lagging replica would keep stale long after it caught up.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ReadFromPrimary {
+}
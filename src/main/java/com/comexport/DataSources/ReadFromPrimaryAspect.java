@@ -0,0 +1,29 @@
+package com.comexport.DataSources;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the read-only transactions of the methods marked with ReadFromPrimary to the primary.
+ * It wraps the transaction interceptor, so the transaction's connection is already routed to the primary.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReadFromPrimaryAspect {
+
+	@Around("@annotation(com.comexport.DataSources.ReadFromPrimary)")
+	public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+		boolean previous = RoutingContext.isReadingPrimary();
+		RoutingContext.setReadingPrimary(true);
+		try {
+			return joinPoint.proceed();
+		} finally {
+			RoutingContext.setReadingPrimary(previous);
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package com.comexport.DataSources;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to the healthy replicas, in turns, and everything else to the primary.
+ * The transaction's read-only flag is only known once it has begun, so this data source must be wrapped
+ * by a LazyConnectionDataSourceProxy, which fetches the connection when the first statement runs.
+ * <p>
+ * Replicas are checked periodically and skipped while they can not be reached. A replica failing to hand out
+ * a connection is skipped right away, and the read falls back to the primary. With read-your-writes enabled,
+ * work that has written to the primary keeps reading from it until the work is done, see RoutingContext.
+ * Work marked with ReadFromPrimary always reads from the primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+	/** The lookup key of the primary database.*/
+	public static final String PRIMARY = "primary";
+
+	/**Logger from ReadWriteRoutingDataSource.*/
+	private Logger logger = LogManager.getLogger(ReadWriteRoutingDataSource.class);
+
+	/** Meant to run every write, and the reads no replica can serve.*/
+	private final DataSource primary;
+
+	/** The replicas, by name.*/
+	private final Map<String, DataSource> replicas;
+
+	/** The replicas' names, in the order they are taken in turns.*/
+	private final List<String> replicaNames;
+
+	/** The replicas which could not be reached on their last check.*/
+	private final Set<String> unavailable = ConcurrentHashMap.newKeySet();
+
+	/** The turn of the next read-only transaction.*/
+	private final AtomicInteger turn = new AtomicInteger();
+
+	/** Whether work that has written keeps reading from the primary.*/
+	private final boolean readYourWrites;
+
+	/** How often, in milliseconds, the replicas are checked. Zero or less disables the periodic check.*/
+	private final long healthCheckInterval;
+
+	/** How long, in seconds, a replica may take to validate a connection.*/
+	private final int healthCheckTimeout;
+
+	/** Meant to check the replicas periodically.*/
+	private ScheduledExecutorService healthChecker;
+
+	/**
+	 * @param primary				- the primary database.
+	 * @param replicas				- the replicas, by name.
+	 * @param readYourWrites		- whether work that has written keeps reading from the primary.
+	 * @param healthCheckInterval	- how often, in milliseconds, the replicas are checked.
+	 * @param healthCheckTimeout	- how long, in seconds, a replica may take to validate a connection.
+	 */
+	public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, boolean readYourWrites,
+			long healthCheckInterval, int healthCheckTimeout) {
+		this.primary = primary;
+		this.replicas = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+		this.replicaNames = new ArrayList<>(replicas.keySet());
+		this.readYourWrites = readYourWrites;
+		this.healthCheckInterval = healthCheckInterval;
+		this.healthCheckTimeout = healthCheckTimeout;
+
+		Map<Object, Object> targets = new HashMap<>(this.replicas);
+		targets.put(PRIMARY, primary);
+		this.setTargetDataSources(targets);
+		this.setDefaultTargetDataSource(primary);
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		super.afterPropertiesSet();
+		if (this.healthCheckInterval > 0 && !this.replicas.isEmpty()) {
+			this.healthChecker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("comexport-replica-check-"));
+			this.healthChecker.scheduleWithFixedDelay(
+				this::checkHealth, 0, this.healthCheckInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@Override
+	public void destroy() throws IOException {
+		if (this.healthChecker != null) {
+			this.healthChecker.shutdownNow();
+		}
+		// The pools are owned by this data source
+		for (DataSource target : this.replicas.values()) {
+			if (target instanceof Closeable) {
+				((Closeable) target).close();
+			}
+		}
+		if (this.primary instanceof Closeable) {
+			((Closeable) this.primary).close();
+		}
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (this.readYourWrites && TransactionSynchronizationManager.isActualTransactionActive()) {
+				RoutingContext.markWritten();
+			}
+			return PRIMARY;
+		}
+		if ((this.readYourWrites && RoutingContext.hasWritten()) || RoutingContext.isReadingPrimary()) {
+			return PRIMARY;
+		}
+
+		// Taking the available replicas in turns
+		int size = this.replicaNames.size();
+		int start = Math.floorMod(this.turn.getAndIncrement(), Math.max(size, 1));
+		for (int i = 0; i < size; i++) {
+			String name = this.replicaNames.get((start + i) % size);
+			if (!this.unavailable.contains(name)) {
+				return name;
+			}
+		}
+		return PRIMARY;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		String key = (String) this.determineCurrentLookupKey();
+		if (PRIMARY.equals(key)) {
+			return this.primary.getConnection();
+		}
+		try {
+			return this.replicas.get(key).getConnection();
+		} catch (SQLException exception) {
+			this.markUnavailable(key, exception);
+			return this.primary.getConnection();
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		String key = (String) this.determineCurrentLookupKey();
+		if (PRIMARY.equals(key)) {
+			return this.primary.getConnection(username, password);
+		}
+		try {
+			return this.replicas.get(key).getConnection(username, password);
+		} catch (SQLException exception) {
+			this.markUnavailable(key, exception);
+			return this.primary.getConnection(username, password);
+		}
+	}
+
+	/**
+	 * The checkHealth() method will validate a connection of every replica, skipping the ones which can not be reached
+	 * and bringing back the ones which recovered.
+	 */
+	public void checkHealth() {
+		for (Map.Entry<String, DataSource> replica : this.replicas.entrySet()) {
+			try (Connection connection = replica.getValue().getConnection()) {
+				if (connection.isValid(this.healthCheckTimeout)) {
+					if (this.unavailable.remove(replica.getKey())) {
+						logger.info("Replica {} is available again.", replica.getKey());
+					}
+				} else {
+					this.markUnavailable(replica.getKey(), null);
+				}
+			} catch (SQLException exception) {
+				this.markUnavailable(replica.getKey(), exception);
+			}
+		}
+	}
+
+	/**
+	 * The isAvailable(String) method will check whether a replica is currently receiving reads.
+	 *
+	 * @param name		- the replica's name.
+	 * @return boolean	- false if the replica could not be reached on it's last use or check.
+	 */
+	public boolean isAvailable(String name) {
+		return this.replicas.containsKey(name) && !this.unavailable.contains(name);
+	}
+
+	/**
+	 * The getReplicaNames() method will list the replicas' names.
+	 *
+	 * @return List<String>	- the replicas' names.
+	 */
+	public List<String> getReplicaNames() {
+		return Collections.unmodifiableList(this.replicaNames);
+	}
+
+	/**
+	 * The markUnavailable(String, SQLException) method will skip a replica until it passes a health check.
+	 *
+	 * @param name		- the replica's name.
+	 * @param exception	- why the replica could not be reached, may be null.
+	 */
+	private void markUnavailable(String name, SQLException exception) {
+		if (this.unavailable.add(name)) {
+			logger.warn("Replica {} is unavailable, reading from the primary instead: {}",
+				name, exception == null ? "invalid connection" : exception.getMessage());
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.comexport.DataSources;
+
+import java.util.function.Supplier;
+
+/**
+ * Remembers whether the work being served has already written to the primary database,
+ * so it keeps reading from the primary instead of a replica that may not have caught up yet.
+ * Reads whose results outlive the request, such as the ones filling the caches, may be sent
+ * to the primary as well, see ReadFromPrimary.
+ */
+public final class RoutingContext {
+
+	/** Whether the current thread's work has run a read-write transaction.*/
+	private static final ThreadLocal<Boolean> WRITTEN = new ThreadLocal<>();
+
+	/** Whether the current thread's reads must be sent to the primary.*/
+	private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+	private RoutingContext() {
+	}
+
+	/**
+	 * The markWritten() method will record that the current thread's work has written to the primary.
+	 */
+	public static void markWritten() {
+		WRITTEN.set(Boolean.TRUE);
+	}
+
+	/**
+	 * The hasWritten() method will check whether the current thread's work has written to the primary.
+	 *
+	 * @return boolean	- true once a read-write transaction has run since the work started.
+	 */
+	public static boolean hasWritten() {
+		return Boolean.TRUE.equals(WRITTEN.get());
+	}
+
+	/**
+	 * The isReadingPrimary() method will check whether the current thread's reads must be sent to the primary.
+	 *
+	 * @return boolean	- true while running a method marked with ReadFromPrimary.
+	 */
+	public static boolean isReadingPrimary() {
+		return Boolean.TRUE.equals(PRIMARY.get());
+	}
+
+	/**
+	 * The setReadingPrimary(boolean) method will send the current thread's read-only transactions to the primary,
+	 * so what they read is never older than the last commit, or let them go to the replicas again.
+	 *
+	 * @param readingPrimary	- whether the reads must be sent to the primary.
+	 */
+	public static void setReadingPrimary(boolean readingPrimary) {
+		if (readingPrimary) {
+			PRIMARY.set(Boolean.TRUE);
+		} else {
+			PRIMARY.remove();
+		}
+	}
+
+	/**
+	 * The clear() method will forget the current thread's writes, once it's work is done.
+	 */
+	public static void clear() {
+		WRITTEN.remove();
+	}
+
+	/**
+	 * The scoped(Supplier<T>) method will wrap some work, so it's writes are forgotten once it is done
+	 * and do not leak into the next work run by the same pooled thread.
+	 *
+	 * @param supplier		- the work to be scoped.
+	 * @return Supplier<T>	- the wrapped work.
+	 */
+	public static <T> Supplier<T> scoped(Supplier<T> supplier) {
+		return () -> {
+			try {
+				return supplier.get();
+			} finally {
+				clear();
+			}
+		};
+	}
+}
@@ -0,0 +1,29 @@
+package com.comexport.DataSources;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Forgets the writes of the request served on the current thread, so the web server's pooled threads
+ * go back to reading from the replicas once the request is answered.
+ */
+@Component
+public class RoutingContextFilter extends OncePerRequestFilter {
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			RoutingContext.clear();
+		}
+	}
+}
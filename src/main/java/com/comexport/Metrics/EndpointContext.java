@@ -0,0 +1,56 @@
+package com.comexport.Metrics;
+
+import java.util.function.Supplier;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Keeps track of the endpoint being served, even when a request's work is handed to another thread.
+ */
+public final class EndpointContext {
+
+	/** The endpoint served by work handed over from a request thread.*/
+	private static final ThreadLocal<String> ENDPOINT = new ThreadLocal<>();
+
+	private EndpointContext() {
+	}
+
+	/**
+	 * The current() method will find the endpoint pattern served by the current thread.
+	 *
+	 * @return String	- the matched endpoint pattern, or "none" outside of a request.
+	 */
+	public static String current() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		Object pattern = attributes == null
+			? ENDPOINT.get()
+			: attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+		return pattern == null ? "none" : pattern.toString();
+	}
+
+	/**
+	 * The propagate(Supplier<T>) method will wrap some work, so it is attributed to the current endpoint
+	 * whichever thread it runs on.
+	 *
+	 * @param supplier		- the work to be handed over.
+	 * @return Supplier<T>	- the wrapped work.
+	 */
+	public static <T> Supplier<T> propagate(Supplier<T> supplier) {
+		String endpoint = current();
+		return () -> {
+			String previous = ENDPOINT.get();
+			ENDPOINT.set(endpoint);
+			try {
+				return supplier.get();
+			} finally {
+				if (previous == null) {
+					ENDPOINT.remove();
+				} else {
+					ENDPOINT.set(previous);
+				}
+			}
+		};
+	}
+}
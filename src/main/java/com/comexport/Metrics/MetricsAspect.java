@@ -0,0 +1,159 @@
+package com.comexport.Metrics;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Times every call to the controllers, services and repositories, and records how many rows each call returned.
+ * Every call is tagged with the endpoint serving it, so comparing the repository's rows with the controller's rows
+ * shows which endpoints load more than they answer.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+	/** The latency of each call, tagged by layer, class, method, endpoint and exception.*/
+	public static final String CALLS = "comexport.calls";
+
+	/** The rows returned by each call, tagged by layer, class, method and endpoint.*/
+	public static final String ROWS = "comexport.rows";
+
+	/** Meant to register the timers and summaries.*/
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Around("execution(public * com.comexport.Controllers..*(..))")
+	public Object controller(ProceedingJoinPoint joinPoint) throws Throwable {
+		return this.record("controller", joinPoint);
+	}
+
+	@Around("execution(public * com.comexport.Services..*(..))")
+	public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+		return this.record("service", joinPoint);
+	}
+
+	@Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+	public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+		return this.record("repository", joinPoint);
+	}
+
+	/**
+	 * The record(String, ProceedingJoinPoint) method will proceed with the call, timing it and counting the returned rows.
+	 * Calls returning a CompletableFuture are recorded once the future completes.
+	 *
+	 * @param layer			- the layer the called bean belongs to.
+	 * @param joinPoint		- the intercepted call.
+	 * @return Object		- the call's result.
+	 * @throws Throwable	- whatever the call throws.
+	 */
+	private Object record(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+		String type = this.typeName(joinPoint.getThis());
+		String method = joinPoint.getSignature().getName();
+		String uri = EndpointContext.current();
+
+		Timer.Sample sample = Timer.start(this.meterRegistry);
+		Object result;
+		try {
+			result = joinPoint.proceed();
+		} catch (Throwable throwable) {
+			this.complete(sample, layer, type, method, uri, null, throwable);
+			throw throwable;
+		}
+
+		if (result instanceof CompletableFuture) {
+			return ((CompletableFuture<?>) result)
+				.whenComplete((value, throwable) -> this.complete(sample, layer, type, method, uri, value, throwable));
+		}
+		this.complete(sample, layer, type, method, uri, result, null);
+		return result;
+	}
+
+	/**
+	 * The complete(Timer.Sample, String, String, String, String, Object, Throwable) method will record a finished call.
+	 *
+	 * @param sample		- the call's running timer.
+	 * @param layer			- the layer the called bean belongs to.
+	 * @param type			- the called bean's name.
+	 * @param method		- the called method's name.
+	 * @param uri			- the endpoint the call served.
+	 * @param result		- the call's result.
+	 * @param throwable		- what the call threw, null if it succeeded.
+	 */
+	private void complete(Timer.Sample sample, String layer, String type, String method, String uri,
+			Object result, Throwable throwable) {
+		if (throwable instanceof CompletionException && throwable.getCause() != null) {
+			throwable = throwable.getCause();
+		}
+
+		Long rows = throwable == null ? this.rows(result) : null;
+		if (rows != null) {
+			DistributionSummary
+				.builder(ROWS)
+				.tags("layer", layer, "class", type, "method", method, "uri", uri)
+				.register(this.meterRegistry)
+				.record(rows);
+		}
+		sample.stop(Timer
+			.builder(CALLS)
+			.tags("layer", layer, "class", type, "method", method, "uri", uri,
+				"exception", throwable == null ? "none" : throwable.getClass().getSimpleName())
+			.register(this.meterRegistry));
+	}
+
+	/**
+	 * The rows(Object) method will count the rows held by a call's result.
+	 *
+	 * @param result	- the call's result.
+	 * @return Long		- the number of rows, or null when the result is not a collection of rows.
+	 */
+	private Long rows(Object result) {
+		if (result instanceof ResponseEntity) {
+			return this.rows(((ResponseEntity<?>) result).getBody());
+		}
+		if (result instanceof Collection) {
+			return (long) ((Collection<?>) result).size();
+		}
+		if (result instanceof Map) {
+			return (long) ((Map<?, ?>) result).size();
+		}
+		if (result instanceof Optional) {
+			return ((Optional<?>) result).isPresent() ? 1L : 0L;
+		}
+		return null;
+	}
+
+	/**
+	 * The typeName(Object) method will name the called bean, using the repository's interface for Spring Data proxies.
+	 *
+	 * @param proxy		- the proxy of the called bean.
+	 * @return String	- the bean's simple class name.
+	 */
+	private String typeName(Object proxy) {
+		if (Proxy.isProxyClass(proxy.getClass())) {
+			for (Class<?> candidate : ClassUtils.getAllInterfaces(proxy)) {
+				if (candidate.getName().startsWith("com.comexport.")) {
+					return candidate.getSimpleName();
+				}
+			}
+		}
+		return AopProxyUtils.ultimateTargetClass(proxy).getSimpleName();
+	}
+
+}
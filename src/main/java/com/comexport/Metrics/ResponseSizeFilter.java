@@ -0,0 +1,142 @@
+package com.comexport.Metrics;
+
+import java.io.IOException;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the size of every response body, tagged by the matched endpoint.
+ * Bytes are counted while they are written, so streamed responses are measured without being buffered.
+ */
+@Component
+public class ResponseSizeFilter extends OncePerRequestFilter {
+
+	/** The bytes written for each response, tagged by method, uri and status.*/
+	public static final String RESPONSE_SIZE = "comexport.response.size";
+
+	/** Meant to register the response size summaries.*/
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		CountingResponse countingResponse = new CountingResponse(response);
+		try {
+			chain.doFilter(request, countingResponse);
+		} finally {
+			if (request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new AsyncListener() {
+					@Override
+					public void onComplete(AsyncEvent event) {
+						record(request, countingResponse);
+					}
+
+					@Override
+					public void onTimeout(AsyncEvent event) {
+					}
+
+					@Override
+					public void onError(AsyncEvent event) {
+					}
+
+					@Override
+					public void onStartAsync(AsyncEvent event) {
+					}
+				});
+			} else {
+				this.record(request, countingResponse);
+			}
+		}
+	}
+
+	/**
+	 * The record(HttpServletRequest, CountingResponse) method will record the bytes written for a finished response.
+	 *
+	 * @param request	- the answered request.
+	 * @param response	- the counted response.
+	 */
+	private void record(HttpServletRequest request, CountingResponse response) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		DistributionSummary
+			.builder(RESPONSE_SIZE)
+			.baseUnit("bytes")
+			.tags(
+				"method", request.getMethod(),
+				"uri", pattern == null ? "UNKNOWN" : pattern.toString(),
+				"status", String.valueOf(response.getStatus()))
+			.register(this.meterRegistry)
+			.record(response.count);
+	}
+
+	/**
+	 * A response whose output stream counts the bytes written through it.
+	 */
+	private static class CountingResponse extends HttpServletResponseWrapper {
+
+		private ServletOutputStream outputStream;
+
+		private volatile long count;
+
+		CountingResponse(HttpServletResponse response) {
+			super(response);
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (this.outputStream == null) {
+				ServletOutputStream delegate = super.getOutputStream();
+				this.outputStream = new ServletOutputStream() {
+					@Override
+					public void write(int b) throws IOException {
+						delegate.write(b);
+						count++;
+					}
+
+					@Override
+					public void write(byte[] b, int off, int len) throws IOException {
+						delegate.write(b, off, len);
+						count += len;
+					}
+
+					@Override
+					public void flush() throws IOException {
+						delegate.flush();
+					}
+
+					@Override
+					public void close() throws IOException {
+						delegate.close();
+					}
+
+					@Override
+					public boolean isReady() {
+						return delegate.isReady();
+					}
+
+					@Override
+					public void setWriteListener(WriteListener writeListener) {
+						delegate.setWriteListener(writeListener);
+					}
+				};
+			}
+			return this.outputStream;
+		}
+	}
+}
@@ -2,10 +2,15 @@ package com.comexport.Models;
 
 import java.util.Date;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.TableGenerator;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,6 +19,8 @@ import lombok.NoArgsConstructor;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -21,7 +28,9 @@ public class Contact {
     
     /** The contact's primary key. */     
     @Id   
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "contact_id")
+    @TableGenerator(name = "contact_id", table = "id_generator", pkColumnName = "entity", 
+        valueColumnName = "next_id", pkColumnValue = "contact", allocationSize = 50)
 	private Integer id = null;
     
     /** The User to be contacted */
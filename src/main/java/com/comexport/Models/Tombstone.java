@@ -0,0 +1,44 @@
+package com.comexport.Models;
+
+import java.util.Date;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.TableGenerator;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class Tombstone {
+
+    /** The user resource type. */
+    public static final String USER = "user";
+
+    /** The contact resource type. */
+    public static final String CONTACT = "contact";
+
+    /** The tombstone's primary key. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tombstone_id")
+    @TableGenerator(name = "tombstone_id", table = "id_generator", pkColumnName = "entity",
+        valueColumnName = "next_id", pkColumnValue = "tombstone", allocationSize = 50)
+	private Integer id = null;
+
+    /** The deleted resource's type, either "user" or "contact". */
+    private String type = null;
+
+    /** The deleted resource's primary key. */
+    private Integer entityId = null;
+
+    /** The deletion date. */
+    private Date deletedAt = null;
+}
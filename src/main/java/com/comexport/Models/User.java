@@ -2,10 +2,16 @@ package com.comexport.Models;
 
 import java.util.Date;
 
+import javax.persistence.Cacheable;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.TableGenerator;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,6 +20,8 @@ import lombok.NoArgsConstructor;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
@@ -21,13 +29,16 @@ public class User {
 
     /** The user's primary key. */     
     @Id   
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(name = "user_id", table = "id_generator", pkColumnName = "entity", 
+        valueColumnName = "next_id", pkColumnValue = "user", allocationSize = 50)
 	private Integer id = null;
     
     /** The user's name. */
     private String name = null;
 
-    /** The user's email address. */
+    /** The user's email address, unique regardless of case. */
+    @Column(unique = true)
     private String email = null;
 
     /** The user's date of birth. */
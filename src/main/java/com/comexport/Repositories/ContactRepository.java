@@ -1,11 +1,152 @@
 package com.comexport.Repositories;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import com.comexport.DTOs.ContactTimestampsDTO;
+import com.comexport.DTOs.OwnedContactDTO;
 import com.comexport.Models.Contact;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface ContactRepository extends CrudRepository<Contact, Integer>{
+public interface ContactRepository extends CrudRepository<Contact, Integer>, ContactRepositoryCustom{
     
-}
\ No newline at end of file
+    /**
+     * Reads the contacts owned by one of the given users, ordered by owner and id, selecting only the columns
+     * they are served with and without loading them.
+     *
+     * @param owners                    - the owners' primary keys.
+     * @return List<OwnedContactDTO>    - the owners' contacts along with their owner.
+     */
+    @Query("select new com.comexport.DTOs.OwnedContactDTO(c.owner, c.id, c.type, c.detail, c.creationDate, c.lastUpdate) "
+        + "from Contact c where c.owner in :owners order by c.owner, c.id")
+    List<OwnedContactDTO> findOutputsByOwnerIn(@Param("owners") Collection<Integer> owners);
+
+    /**
+     * Finds every contact owned by the given user, ordered by id.
+     * The result is kept on the query cache until the contact table is written.
+     *
+     * @param owner             - the owner's primary key.
+     * @return List<Contact>    - the owner's contacts.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Contact> findByOwnerOrderByIdAsc(Integer owner);
+
+    /**
+     * Finds the ids of every contact owned by the given user.
+     *
+     * @param owner             - the owner's primary key.
+     * @return List<Integer>    - the owner's contacts' ids.
+     */
+    @Query("select c.id from Contact c where c.owner = :owner")
+    List<Integer> findIdsByOwner(@Param("owner") Integer owner);
+
+    /**
+     * Finds the ids of every contact owned by one of the given users.
+     *
+     * @param owners            - the owners' primary keys.
+     * @return List<Integer>    - the owners' contacts' ids.
+     */
+    @Query("select c.id from Contact c where c.owner in :owners")
+    List<Integer> findIdsByOwnerIn(@Param("owners") Collection<Integer> owners);
+
+    /**
+     * Counts the contacts owned by the given user.
+     *
+     * @param owner             - the owner's primary key.
+     * @return long             - the number of contacts.
+     */
+    long countByOwner(Integer owner);
+
+    /**
+     * Checks whether the given user owns any contact.
+     *
+     * @param owner             - the owner's primary key.
+     * @return boolean          - true if the user owns at least one contact.
+     */
+    boolean existsByOwner(Integer owner);
+
+    /**
+     * Deletes every contact owned by the given user on a single statement.
+     *
+     * @param owner             - the owner's primary key.
+     * @return int              - the number of deleted contacts.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Contact c where c.owner = :owner")
+    int deleteByOwner(@Param("owner") Integer owner);
+
+    /**
+     * Deletes every contact owned by one of the given users on a single statement.
+     *
+     * @param owners            - the owners' primary keys.
+     * @return int              - the number of deleted contacts.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Contact c where c.owner in :owners")
+    int deleteByOwnerIn(@Param("owners") Collection<Integer> owners);
+
+    /**
+     * Streams every owned contact ordered by owner and id through a forward-only cursor.
+     * It must be consumed inside a transaction and closed afterwards.
+     * The streamed entities bypass the second-level cache, so they don't evict the cached ones.
+     *
+     * @return Stream<Contact>  - all contacts that have an owner.
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE")
+    })
+    @Query("select c from Contact c where c.owner is not null order by c.owner, c.id")
+    Stream<Contact> streamAllOrderedByOwner();
+
+    /**
+     * Reads only the timestamps the contact's representation depends on, without loading the contact.
+     *
+     * @param id                                - the contact's primary key.
+     * @return Optional<ContactTimestampsDTO>   - the contact's timestamps, or empty if there is no such contact.
+     */
+    @Query("select new com.comexport.DTOs.ContactTimestampsDTO(c.id, c.creationDate, c.lastUpdate) "
+        + "from Contact c where c.id = :id")
+    Optional<ContactTimestampsDTO> findTimestampsById(@Param("id") Integer id);
+
+    /**
+     * Finds the contacts created or updated after the given position and up to the given date, for the change feed.
+     * The contacts are ordered by last update and id, and the page starts right after the given pair.
+     *
+     * @param since             - the last update date already read.
+     * @param after             - the last id already read with that date.
+     * @param until             - the latest last update date to be read.
+     * @param pageable          - the page's size.
+     * @return List<Contact>    - the changed contacts ordered by last update and id.
+     */
+    @Query("select c from Contact c where (c.lastUpdate > :since or (c.lastUpdate = :since and c.id > :after)) "
+        + "and c.lastUpdate <= :until order by c.lastUpdate, c.id")
+    List<Contact> findChangedSince(@Param("since") Date since, @Param("after") Integer after, @Param("until") Date until,
+        Pageable pageable);
+
+    /**
+     * Counts the contacts of each type on a single GROUP BY query.
+     *
+     * @return List<Object[]>   - the type and it's number of contacts.
+     */
+    @Transactional(readOnly = true)
+    @Query("select c.type, count(c) from Contact c group by c.type")
+    List<Object[]> countGroupedByType();
+}
@@ -0,0 +1,24 @@
+package com.comexport.Repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.persistence.Tuple;
+
+import com.comexport.Models.Contact;
+
+import org.springframework.data.jpa.domain.Specification;
+
+public class ContactRepositoryCustomImpl extends KeysetRepositorySupport<Contact> implements ContactRepositoryCustom {
+
+	public ContactRepositoryCustomImpl() {
+		super(Contact.class);
+	}
+
+	@Override
+	public <R> List<R> findPage(Specification<Contact> specification, Integer after, int limit, Collection<String> attributes,
+			Function<Tuple, R> mapper) {
+		return super.findPage(specification, after, limit, attributes, mapper);
+	}
+}
@@ -0,0 +1,98 @@
+package com.comexport.Repositories;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Base class for the repository fragments that page through a table by its primary key.
+ * Each page is a single "WHERE id > :after ORDER BY id LIMIT :limit" query, so every page
+ * costs the same no matter how deep the client has scrolled, and no count query is issued.
+ *
+ * @param <T> - the paged entity, whose primary key must be the "id" attribute.
+ */
+public abstract class KeysetRepositorySupport<T> {
+
+	/** The entity manager running the page queries.*/
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/** The paged entity's class.*/
+	private final Class<T> domainClass;
+
+	protected KeysetRepositorySupport(Class<T> domainClass) {
+		this.domainClass = domainClass;
+	}
+
+	/**
+	 * The findPage(Specification<T>, Integer, int, Collection<String>, Function<Tuple, R>) method will fetch the rows
+	 * matching the given specification whose id is greater than the given cursor, ordered by id, selecting only
+	 * the given attributes. No entity is built nor managed: each row is handed to the mapper, holding the selected
+	 * attributes aliased by their names.
+	 *
+	 * @param specification	- the filters to be applied, may be null.
+	 * @param after			- the last id of the previous page, null for the first page.
+	 * @param limit			- the maximum number of rows to be fetched.
+	 * @param attributes	- the attributes to be selected.
+	 * @param mapper		- maps each row to the page's element.
+	 * @return List<R>		- the page's mapped rows.
+	 */
+	protected <R> List<R> findPage(Specification<T> specification, Integer after, int limit, Collection<String> attributes,
+			Function<Tuple, R> mapper) {
+		CriteriaBuilder builder = this.entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = builder.createTupleQuery();
+		Root<T> root = query.from(this.domainClass);
+		List<Selection<?>> selections = new ArrayList<>(attributes.size());
+		for (String attribute : attributes) {
+			selections.add(root.get(attribute).alias(attribute));
+		}
+		query.multiselect(selections);
+		this.page(query, root, builder, specification, after);
+
+		List<Tuple> tuples = this.entityManager
+				.createQuery(query)
+				.setMaxResults(limit)
+				.getResultList();
+
+		List<R> page = new ArrayList<>(tuples.size());
+		for (Tuple tuple : tuples) {
+			page.add(mapper.apply(tuple));
+		}
+		return page;
+	}
+
+	/**
+	 * The page(CriteriaQuery<?>, Root<T>, CriteriaBuilder, Specification<T>, Integer) method will restrict a query
+	 * to the entities matching the given specification after the given cursor, ordered by id.
+	 *
+	 * @param query			- the query to be restricted.
+	 * @param root			- the query's root.
+	 * @param builder		- the criteria builder.
+	 * @param specification	- the filters to be applied, may be null.
+	 * @param after			- the last id of the previous page, null for the first page.
+	 */
+	private void page(CriteriaQuery<?> query, Root<T> root, CriteriaBuilder builder,
+			Specification<T> specification, Integer after) {
+		Specification<T> page = Specification.where(specification);
+		if (after != null) {
+			page = page.and((r, q, b) -> b.greaterThan(r.get("id"), after));
+		}
+		Predicate predicate = page.toPredicate(root, query, builder);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		query.orderBy(builder.asc(root.get("id")));
+	}
+}
@@ -0,0 +1,55 @@
+package com.comexport.Repositories;
+
+import java.util.Date;
+import java.util.List;
+
+import com.comexport.Models.Tombstone;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface TombstoneRepository extends CrudRepository<Tombstone, Integer>{
+
+    /**
+     * Finds the deletions after the given position and up to the given date, for the change feed.
+     * The deletions are ordered by date and id, and the page starts right after the given pair.
+     *
+     * @param since             - the deletion date already read.
+     * @param after             - the last id already read with that date.
+     * @param until             - the latest deletion date to be read.
+     * @param pageable          - the page's size.
+     * @return List<Tombstone>  - the deletions ordered by date and id.
+     */
+    @Query("select t from Tombstone t where (t.deletedAt > :since or (t.deletedAt = :since and t.id > :after)) "
+        + "and t.deletedAt <= :until order by t.deletedAt, t.id")
+    List<Tombstone> findDeletedSince(@Param("since") Date since, @Param("after") Integer after, @Param("until") Date until,
+        Pageable pageable);
+
+    /**
+     * Finds the ids of the resources of the given type deleted at or after the given date.
+     *
+     * @param type              - the resources' type.
+     * @param since             - the earliest deletion date to be read.
+     * @return List<Integer>    - the deleted resources' primary keys.
+     */
+    @Transactional(readOnly = true)
+    @Query("select t.entityId from Tombstone t where t.type = :type and t.deletedAt >= :since")
+    List<Integer> findEntityIdsDeletedSince(@Param("type") String type, @Param("since") Date since);
+
+    /**
+     * Deletes the tombstones older than the given date on a single statement.
+     *
+     * @param before            - the earliest deletion date to be kept.
+     * @return int              - the number of deleted tombstones.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Tombstone t where t.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") Date before);
+}
@@ -1,11 +1,175 @@
 package com.comexport.Repositories;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import com.comexport.DTOs.UserSearchEntryDTO;
+import com.comexport.DTOs.UserTimestampsDTO;
 import com.comexport.Models.User;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface UserRepository extends CrudRepository<User, Integer>{
+public interface UserRepository extends CrudRepository<User, Integer>, JpaSpecificationExecutor<User>, UserRepositoryCustom{
     
-}
\ No newline at end of file
+    /**
+     * Streams every user ordered by id through a forward-only cursor.
+     * It must be consumed inside a transaction and closed afterwards.
+     * The streamed entities bypass the second-level cache, so they don't evict the cached ones.
+     *
+     * @return Stream<User>     - all users.
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE")
+    })
+    @Query("select u from User u order by u.id")
+    Stream<User> streamAllOrderedById();
+
+    /**
+     * Finds which of the given users exist.
+     *
+     * @param ids               - the users' primary keys.
+     * @return List<Integer>    - the existing users' ids.
+     */
+    @Query("select u.id from User u where u.id in :ids")
+    List<Integer> findIdsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Deletes the given users on a single statement.
+     *
+     * @param ids               - the users' primary keys.
+     * @return int              - the number of deleted users.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from User u where u.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Reads only the timestamps the user's representation depends on, along with it's contacts' ones,
+     * without loading any entity.
+     *
+     * @param id                            - the user's primary key.
+     * @return Optional<UserTimestampsDTO>  - the user's timestamps, or empty if there is no such user.
+     */
+    @Query("select new com.comexport.DTOs.UserTimestampsDTO("
+        + "u.id, u.dateOfBirth, u.creationDate, u.lastUpdate, count(c.id), max(c.creationDate), max(c.lastUpdate), sum(c.id)) "
+        + "from User u left join Contact c on c.owner = u.id "
+        + "where u.id = :id "
+        + "group by u.id, u.dateOfBirth, u.creationDate, u.lastUpdate")
+    Optional<UserTimestampsDTO> findTimestampsById(@Param("id") Integer id);
+
+    /**
+     * Checks whether a user holds the given email, seeking it through the email's unique index.
+     *
+     * @param email                         - the email, compared as the column's collation does.
+     * @return boolean                      - true if a user holds the email.
+     */
+    boolean existsByEmail(String email);
+
+    /**
+     * Checks whether a user other than the given one holds the given email, seeking it through the email's unique index.
+     *
+     * @param email                         - the email, compared as the column's collation does.
+     * @param id                            - the primary key of the user allowed to hold the email.
+     * @return boolean                      - true if another user holds the email.
+     */
+    boolean existsByEmailAndIdNot(String email, Integer id);
+
+    /**
+     * Reads the searchable values of the users after the given id, without loading any entity.
+     *
+     * @param after                         - the last id already read, 0 for the first page.
+     * @param pageable                      - the page's size.
+     * @return List<UserSearchEntryDTO>     - the users ordered by id.
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.comexport.DTOs.UserSearchEntryDTO(u.id, u.name, u.email, u.lastUpdate) "
+        + "from User u where u.id > :after order by u.id")
+    List<UserSearchEntryDTO> findSearchEntries(@Param("after") Integer after, Pageable pageable);
+
+    /**
+     * Reads the searchable values of the users updated at or after the given date, without loading any entity.
+     * The users are ordered by last update and id, and the page starts right after the given pair.
+     *
+     * @param since                         - the last update date already read.
+     * @param after                         - the last id already read with that date, 0 for the first page.
+     * @param pageable                      - the page's size.
+     * @return List<UserSearchEntryDTO>     - the updated users ordered by last update and id.
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.comexport.DTOs.UserSearchEntryDTO(u.id, u.name, u.email, u.lastUpdate) "
+        + "from User u where u.lastUpdate > :since or (u.lastUpdate = :since and u.id > :after) "
+        + "order by u.lastUpdate, u.id")
+    List<UserSearchEntryDTO> findSearchEntriesUpdatedSince(@Param("since") Date since, @Param("after") Integer after,
+        Pageable pageable);
+
+    /**
+     * Finds the users created or updated after the given position and up to the given date, for the change feed.
+     * The users are ordered by last update and id, and the page starts right after the given pair.
+     *
+     * @param since                         - the last update date already read.
+     * @param after                         - the last id already read with that date.
+     * @param until                         - the latest last update date to be read.
+     * @param pageable                      - the page's size.
+     * @return List<User>                   - the changed users ordered by last update and id.
+     */
+    @Query("select u from User u where (u.lastUpdate > :since or (u.lastUpdate = :since and u.id > :after)) "
+        + "and u.lastUpdate <= :until order by u.lastUpdate, u.id")
+    List<User> findChangedSince(@Param("since") Date since, @Param("after") Integer after, @Param("until") Date until,
+        Pageable pageable);
+
+    /**
+     * Counts the users of each age band on a single GROUP BY query. A user is in a band when it's date of birth
+     * is after the date the band's upper age was reached, e.g. a user born after born18 is 17 or younger.
+     *
+     * @param born18                        - the date of birth of the users turning 18 today.
+     * @param born25                        - the date of birth of the users turning 25 today.
+     * @param born35                        - the date of birth of the users turning 35 today.
+     * @param born45                        - the date of birth of the users turning 45 today.
+     * @param born55                        - the date of birth of the users turning 55 today.
+     * @param born65                        - the date of birth of the users turning 65 today.
+     * @return List<Object[]>               - the band, "0-17" to "65+" or "unknown", and it's number of users.
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "select case when u.date_of_birth is null then 'unknown' "
+        + "when u.date_of_birth > :born18 then '0-17' "
+        + "when u.date_of_birth > :born25 then '18-24' "
+        + "when u.date_of_birth > :born35 then '25-34' "
+        + "when u.date_of_birth > :born45 then '35-44' "
+        + "when u.date_of_birth > :born55 then '45-54' "
+        + "when u.date_of_birth > :born65 then '55-64' "
+        + "else '65+' end as band, count(*) as users "
+        + "from user u group by band", nativeQuery = true)
+    List<Object[]> countGroupedByAgeBand(@Param("born18") LocalDate born18, @Param("born25") LocalDate born25,
+        @Param("born35") LocalDate born35, @Param("born45") LocalDate born45, @Param("born55") LocalDate born55,
+        @Param("born65") LocalDate born65);
+
+    /**
+     * Counts the users owning each number of contacts on a single GROUP BY query over the contacts counted by owner,
+     * the users without contacts included.
+     *
+     * @return List<Object[]>               - the number of contacts and how many users own that many.
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "select coalesce(o.owned, 0) as contacts, count(*) as users from user u "
+        + "left join (select c.owner, count(*) as owned from contact c group by c.owner) o on o.owner = u.id "
+        + "group by contacts", nativeQuery = true)
+    List<Object[]> countGroupedByContacts();
+}
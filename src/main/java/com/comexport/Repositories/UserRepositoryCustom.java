@@ -0,0 +1,28 @@
+package com.comexport.Repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.persistence.Tuple;
+
+import com.comexport.Models.User;
+
+import org.springframework.data.jpa.domain.Specification;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Fetches a page of users matching the given specification, keyed on the user's id, selecting only
+     * the given attributes and mapping each row without building any entity.
+     *
+     * @param specification     - the filters to be applied, may be null.
+     * @param after             - the last id of the previous page, null for the first page.
+     * @param limit             - the maximum number of users to be fetched.
+     * @param attributes        - the attributes to be selected, which must include the id.
+     * @param mapper            - maps each row, holding the selected attributes aliased by their names.
+     * @return List<R>          - the mapped rows ordered by id.
+     */
+    <R> List<R> findPage(Specification<User> specification, Integer after, int limit, Collection<String> attributes,
+        Function<Tuple, R> mapper);
+}
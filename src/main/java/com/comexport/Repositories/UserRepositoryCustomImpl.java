@@ -0,0 +1,24 @@
+package com.comexport.Repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.persistence.Tuple;
+
+import com.comexport.Models.User;
+
+import org.springframework.data.jpa.domain.Specification;
+
+public class UserRepositoryCustomImpl extends KeysetRepositorySupport<User> implements UserRepositoryCustom {
+
+	public UserRepositoryCustomImpl() {
+		super(User.class);
+	}
+
+	@Override
+	public <R> List<R> findPage(Specification<User> specification, Integer after, int limit, Collection<String> attributes,
+			Function<Tuple, R> mapper) {
+		return super.findPage(specification, after, limit, attributes, mapper);
+	}
+}
@@ -0,0 +1,149 @@
+package com.comexport.Search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+
+/**
+ * A Bloom filter over the users' emails, lower-cased and without accents, telling whether an email is certainly
+ * not taken. Emails are compared the way the database's utf8mb4_0900_ai_ci collation does, ignoring case and
+ * accents, so an email reported as never added is not held by any user in any of it's spellings.
+ * <p>
+ * Each email sets hashes bits of a fixed bit array, picked by double hashing a single 64 bit hash of the email.
+ * An email whose bits are not all set was never added; one whose bits are all set may have been, the odds of a
+ * false positive staying under the configured rate until more emails than expected are added.
+ * Emails can't be removed, so deleted and replaced emails are only dropped by building a new filter.
+ * <p>
+ * The bits are kept on an AtomicLongArray, so emails are added and checked concurrently without locking.
+ */
+public class EmailBloomFilter {
+
+	/** The accents left apart by the canonical decomposition.*/
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+	/** The bits, 64 on each word.*/
+	private final AtomicLongArray words;
+
+	/** How many bits the filter has.*/
+	private final long bits;
+
+	/** How many bits each email sets.*/
+	private final int hashes;
+
+	/** How many emails were added, repeated ones included.*/
+	private final AtomicLong added = new AtomicLong();
+
+	/**
+	 * @param expectedEmails		- how many emails the filter is sized for.
+	 * @param falsePositiveRate		- the odds, between 0 and 1, of a never added email being reported as maybe added.
+	 */
+	public EmailBloomFilter(long expectedEmails, double falsePositiveRate) {
+		if (expectedEmails <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("The expected emails must be positive and the false positive rate between 0 and 1.");
+		}
+		long bits = (long) Math.ceil(-expectedEmails * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		int words = Math.toIntExact((bits + 63) / 64);
+		this.words = new AtomicLongArray(words);
+		this.bits = words * 64L;
+		this.hashes = Math.max(1, (int) Math.round((double) this.bits / expectedEmails * Math.log(2)));
+	}
+
+	/**
+	 * The add(String) method will set the email's bits.
+	 *
+	 * @param email		- the email, in any case and with or without accents.
+	 */
+	public void add(String email) {
+		long hash = hash(normalize(email));
+		int first = (int) hash;
+		int second = (int) (hash >>> 32);
+		for (int i = 1; i <= this.hashes; i++) {
+			long bit = this.bit(first, second, i);
+			int word = (int) (bit >>> 6);
+			long mask = 1L << bit;
+			long current;
+			while (((current = this.words.get(word)) & mask) == 0
+					&& !this.words.compareAndSet(word, current, current | mask)) {
+				// Another email set a bit of the same word meanwhile
+			}
+		}
+		this.added.incrementAndGet();
+	}
+
+	/**
+	 * The mightContain(String) method will check the email's bits.
+	 *
+	 * @param email		- the email, in any case and with or without accents.
+	 * @return boolean	- false if the email was certainly never added, true if it may have been.
+	 */
+	public boolean mightContain(String email) {
+		long hash = hash(normalize(email));
+		int first = (int) hash;
+		int second = (int) (hash >>> 32);
+		for (int i = 1; i <= this.hashes; i++) {
+			long bit = this.bit(first, second, i);
+			if ((this.words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return long		- how many emails were added, repeated ones included.
+	 */
+	public long added() {
+		return this.added.get();
+	}
+
+	/**
+	 * @return long		- how many bits the filter has.
+	 */
+	public long bits() {
+		return this.bits;
+	}
+
+	/**
+	 * @return int		- how many bits each email sets.
+	 */
+	public int hashes() {
+		return this.hashes;
+	}
+
+	/**
+	 * The normalize(String) method will trim, strip the accents off and lower-case an email, the way it is added
+	 * and checked.
+	 *
+	 * @param email		- the email, in any case and with or without accents.
+	 * @return String	- the normalized email.
+	 */
+	public static String normalize(String email) {
+		return MARKS
+			.matcher(Normalizer.normalize(email.trim(), Normalizer.Form.NFD))
+			.replaceAll("")
+			.toLowerCase(Locale.ROOT);
+	}
+
+	/** The i-th bit of an email, combining the two halves of it's hash.*/
+	private long bit(int first, int second, int i) {
+		long combined = first + (long) i * second;
+		return (combined < 0 ? ~combined : combined) % this.bits;
+	}
+
+	/** FNV-1a over the email's characters, then MurmurHash3's finalizer spreading every bit over the whole hash.*/
+	private static long hash(String email) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < email.length(); i++) {
+			hash ^= email.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
@@ -0,0 +1,81 @@
+package com.comexport.Search;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A sorted set of ints kept in a plain array, four bytes per entry.
+ * Ascending additions, as done while the index is built, are appended without searching.
+ * It is not thread safe, the index guards it.
+ */
+final class PostingList {
+
+	private int[] ids = new int[2];
+
+	private int size;
+
+	/**
+	 * The add(int) method will add an id, keeping the ids sorted.
+	 *
+	 * @param id		- the id to be added.
+	 * @return boolean	- false if the id was already there.
+	 */
+	boolean add(int id) {
+		if (this.size == 0 || id > this.ids[this.size - 1]) {
+			this.grow();
+			this.ids[this.size++] = id;
+			return true;
+		}
+		int position = Arrays.binarySearch(this.ids, 0, this.size, id);
+		if (position >= 0) {
+			return false;
+		}
+		int insertion = -position - 1;
+		this.grow();
+		System.arraycopy(this.ids, insertion, this.ids, insertion + 1, this.size - insertion);
+		this.ids[insertion] = id;
+		this.size++;
+		return true;
+	}
+
+	/**
+	 * The remove(int) method will remove an id.
+	 *
+	 * @param id		- the id to be removed.
+	 * @return boolean	- false if the id was not there.
+	 */
+	boolean remove(int id) {
+		int position = Arrays.binarySearch(this.ids, 0, this.size, id);
+		if (position < 0) {
+			return false;
+		}
+		System.arraycopy(this.ids, position + 1, this.ids, position, this.size - position - 1);
+		this.size--;
+		return true;
+	}
+
+	/**
+	 * The forEach(IntConsumer) method will hand every id over, in ascending order.
+	 *
+	 * @param consumer	- what is done with each id.
+	 */
+	void forEach(IntConsumer consumer) {
+		for (int i = 0; i < this.size; i++) {
+			consumer.accept(this.ids[i]);
+		}
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	private void grow() {
+		if (this.size == this.ids.length) {
+			this.ids = Arrays.copyOf(this.ids, this.ids.length + (this.ids.length >> 1) + 1);
+		}
+	}
+}
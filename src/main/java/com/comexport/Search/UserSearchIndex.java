@@ -0,0 +1,435 @@
+package com.comexport.Search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import com.comexport.DTOs.UserSearchResultDTO;
+
+/**
+ * An in-memory index over the users' names and emails, answering type-ahead queries.
+ * <p>
+ * Every word of the name, every word of the email's local part and the whole email are kept, accents and case
+ * removed, on a sorted map from the token to the users holding it, so a prefix is a range of the map.
+ * Words are also indexed by their trigrams, which finds misspelled words when a query's word has no exact
+ * or prefix match.
+ * <p>
+ * A query's words must all match a user. Each word scores 1 on an exact token, between 0.5 and 0.9 on a prefix,
+ * longer prefixes scoring higher, and up to 0.4 on a similar word. The user's score is the mean of it's words'.
+ * Candidates are taken from the query's most selective word, at most maxCandidates of them.
+ */
+public class UserSearchIndex {
+
+	/** What separates the words of a name or of an email's local part.*/
+	private static final Pattern WORDS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	/** What separates the words of a query.*/
+	private static final Pattern SPACES = Pattern.compile("\\s+");
+
+	/** The accents left apart by the canonical decomposition.*/
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+	/** Orders the results by score, then by id.*/
+	private static final Comparator<UserSearchResultDTO> RANKING = Comparator
+		.comparing(UserSearchResultDTO::getScore, Comparator.reverseOrder())
+		.thenComparing(UserSearchResultDTO::getId);
+
+	/** The most users scored for a single query.*/
+	private final int maxCandidates;
+
+	/** The least trigram similarity, from 0 to 1, of a misspelled word.*/
+	private final double minSimilarity;
+
+	/** Guards every structure below: searches share it, changes take it exclusively.*/
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** The indexed users, by id.*/
+	private final Map<Integer, Document> documents = new HashMap<>();
+
+	/** The users holding each token.*/
+	private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+
+	/** The id of every word ever indexed, emails apart.*/
+	private final Map<String, Integer> vocabulary = new HashMap<>();
+
+	/** The words, by id.*/
+	private final List<String> words = new ArrayList<>();
+
+	/** The number of distinct trigrams of each word, by id.*/
+	private final List<Integer> wordTrigrams = new ArrayList<>();
+
+	/** The words holding each trigram.*/
+	private final Map<String, PostingList> trigrams = new HashMap<>();
+
+	/**
+	 * @param maxCandidates		- the most users scored for a single query.
+	 * @param minSimilarity		- the least trigram similarity, from 0 to 1, of a misspelled word.
+	 */
+	public UserSearchIndex(int maxCandidates, double minSimilarity) {
+		this.maxCandidates = maxCandidates;
+		this.minSimilarity = minSimilarity;
+	}
+
+	/**
+	 * The index(Integer, String, String) method will add a user to the index, replacing it's previous entry.
+	 *
+	 * @param id		- the user's primary key.
+	 * @param name		- the user's name, may be null.
+	 * @param email		- the user's email, may be null.
+	 */
+	public void index(Integer id, String name, String email) {
+		Document document = new Document(id, name, email, tokens(name, email));
+		this.lock.writeLock().lock();
+		try {
+			Document previous = this.documents.put(id, document);
+			if (previous != null) {
+				this.unpost(previous);
+			}
+			for (String token : document.tokens) {
+				this.postings.computeIfAbsent(token, key -> new PostingList()).add(id);
+				if (token.indexOf('@') < 0 && !this.vocabulary.containsKey(token)) {
+					this.register(token);
+				}
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * The remove(Integer) method will remove a user from the index.
+	 *
+	 * @param id	- the user's primary key.
+	 */
+	public void remove(Integer id) {
+		this.lock.writeLock().lock();
+		try {
+			Document previous = this.documents.remove(id);
+			if (previous != null) {
+				this.unpost(previous);
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * The size() method will count the indexed users.
+	 *
+	 * @return int	- the number of indexed users.
+	 */
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.documents.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * The search(String, int, int) method will find the users matching every word of the query, best matches first.
+	 *
+	 * @param query							- the words typed so far.
+	 * @param offset						- how many of the best matches are skipped.
+	 * @param limit							- the most matches returned.
+	 * @return List<UserSearchResultDTO>	- the matching users, ordered by score and then by id.
+	 */
+	public List<UserSearchResultDTO> search(String query, int offset, int limit) {
+		List<String> terms = new ArrayList<>();
+		for (String term : SPACES.split(normalize(query))) {
+			if (!term.isEmpty()) {
+				terms.add(term);
+			}
+		}
+		if (terms.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		List<UserSearchResultDTO> results = new ArrayList<>();
+		this.lock.readLock().lock();
+		try {
+			for (Integer id : this.candidates(this.mostSelective(terms))) {
+				Document document = this.documents.get(id);
+				double score = 0;
+				for (String term : terms) {
+					double termScore = this.score(term, document);
+					if (termScore == 0) {
+						score = 0;
+						break;
+					}
+					score += termScore;
+				}
+				if (score > 0) {
+					results.add(new UserSearchResultDTO(id, document.name, document.email, score / terms.size()));
+				}
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+
+		results.sort(RANKING);
+		if (offset >= results.size()) {
+			return Collections.emptyList();
+		}
+		return new ArrayList<>(results.subList(offset, Math.min(offset + limit, results.size())));
+	}
+
+	/**
+	 * The mostSelective(List<String>) method will pick the query word matching the fewest users,
+	 * counting exact and prefix matches only as far as needed to rule a word out.
+	 *
+	 * @param terms		- the query's words.
+	 * @return String	- the most selective word.
+	 */
+	private String mostSelective(List<String> terms) {
+		String selective = null;
+		long fewest = Long.MAX_VALUE;
+		for (String term : terms) {
+			long count = 0;
+			for (PostingList list : this.postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+				count += list.size();
+				if (count >= fewest) {
+					break;
+				}
+			}
+			if (count < fewest) {
+				selective = term;
+				fewest = count;
+			}
+		}
+		return selective;
+	}
+
+	/**
+	 * The candidates(String) method will gather the users holding the given word, exact matches first,
+	 * then prefix matches, or misspelled matches if there is none.
+	 *
+	 * @param term			- the query's word.
+	 * @return Set<Integer>	- the candidates' ids, at most maxCandidates of them.
+	 */
+	private Set<Integer> candidates(String term) {
+		Set<Integer> candidates = new LinkedHashSet<>();
+		PostingList exact = this.postings.get(term);
+		if (exact != null) {
+			this.collect(exact, candidates);
+		}
+		for (PostingList list : this.postings.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+			if (candidates.size() >= this.maxCandidates) {
+				return candidates;
+			}
+			this.collect(list, candidates);
+		}
+		if (candidates.isEmpty() && term.length() >= 3 && term.indexOf('@') < 0) {
+			for (String word : this.similarWords(term)) {
+				if (candidates.size() >= this.maxCandidates) {
+					break;
+				}
+				PostingList list = this.postings.get(word);
+				if (list != null) {
+					this.collect(list, candidates);
+				}
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * The similarWords(String) method will find the indexed words sharing enough trigrams with the given one.
+	 *
+	 * @param term			- the query's word.
+	 * @return List<String>	- the similar words.
+	 */
+	private List<String> similarWords(String term) {
+		Set<String> termTrigrams = trigrams(term);
+		Map<Integer, Integer> shared = new HashMap<>();
+		for (String trigram : termTrigrams) {
+			PostingList list = this.trigrams.get(trigram);
+			if (list != null) {
+				list.forEach(word -> shared.merge(word, 1, Integer::sum));
+			}
+		}
+
+		List<String> similar = new ArrayList<>();
+		for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+			double similarity = 2.0 * entry.getValue() / (termTrigrams.size() + this.wordTrigrams.get(entry.getKey()));
+			if (similarity >= this.minSimilarity) {
+				similar.add(this.words.get(entry.getKey()));
+			}
+		}
+		return similar;
+	}
+
+	/**
+	 * The score(String, Document) method will score how well a query word matches a user's best token.
+	 *
+	 * @param term			- the query's word.
+	 * @param document		- the user.
+	 * @return double		- 1 for an exact match, 0.5 to 0.9 for a prefix, up to 0.4 for a similar word, or 0.
+	 */
+	private double score(String term, Document document) {
+		double best = 0;
+		for (String token : document.tokens) {
+			if (token.equals(term)) {
+				return 1;
+			}
+			if (token.startsWith(term)) {
+				best = Math.max(best, 0.5 + 0.4 * term.length() / token.length());
+			}
+		}
+		if (best == 0 && term.length() >= 3 && term.indexOf('@') < 0) {
+			Set<String> termTrigrams = trigrams(term);
+			for (String token : document.tokens) {
+				if (token.indexOf('@') >= 0) {
+					continue;
+				}
+				Set<String> tokenTrigrams = trigrams(token);
+				int shared = 0;
+				for (String trigram : termTrigrams) {
+					if (tokenTrigrams.contains(trigram)) {
+						shared++;
+					}
+				}
+				double similarity = 2.0 * shared / (termTrigrams.size() + tokenTrigrams.size());
+				if (similarity >= this.minSimilarity) {
+					best = Math.max(best, 0.4 * similarity);
+				}
+			}
+		}
+		return best;
+	}
+
+	private void collect(PostingList list, Set<Integer> candidates) {
+		list.forEach(id -> {
+			if (candidates.size() < this.maxCandidates) {
+				candidates.add(id);
+			}
+		});
+	}
+
+	/**
+	 * The register(String) method will give a new word an id and index it's trigrams.
+	 *
+	 * @param word	- the new word.
+	 */
+	private void register(String word) {
+		int id = this.words.size();
+		Set<String> wordTrigrams = trigrams(word);
+		this.vocabulary.put(word, id);
+		this.words.add(word);
+		this.wordTrigrams.add(wordTrigrams.size());
+		for (String trigram : wordTrigrams) {
+			this.trigrams.computeIfAbsent(trigram, key -> new PostingList()).add(id);
+		}
+	}
+
+	/**
+	 * The unpost(Document) method will remove a user from the postings of it's tokens.
+	 * Words stay on the vocabulary, a word without users is simply never matched.
+	 *
+	 * @param document	- the user.
+	 */
+	private void unpost(Document document) {
+		for (String token : document.tokens) {
+			PostingList list = this.postings.get(token);
+			if (list != null && list.remove(document.id) && list.isEmpty()) {
+				this.postings.remove(token);
+			}
+		}
+	}
+
+	/**
+	 * The tokens(String, String) method will list a user's distinct tokens: the name's words, the email
+	 * and the words of the email's local part.
+	 *
+	 * @param name		- the user's name, may be null.
+	 * @param email		- the user's email, may be null.
+	 * @return String[]	- the user's tokens.
+	 */
+	static String[] tokens(String name, String email) {
+		Set<String> tokens = new LinkedHashSet<>();
+		if (name != null) {
+			addWords(normalize(name), tokens);
+		}
+		if (email != null) {
+			String normalized = normalize(email);
+			if (!normalized.isEmpty()) {
+				tokens.add(normalized);
+				int at = normalized.indexOf('@');
+				addWords(at < 0 ? normalized : normalized.substring(0, at), tokens);
+			}
+		}
+		return tokens.toArray(new String[0]);
+	}
+
+	/**
+	 * The normalize(String) method will remove the accents, the case and the surrounding spaces of a text.
+	 *
+	 * @param text		- the text.
+	 * @return String	- the normalized text.
+	 */
+	static String normalize(String text) {
+		return MARKS
+			.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+			.replaceAll("")
+			.toLowerCase(Locale.ROOT)
+			.trim();
+	}
+
+	/**
+	 * The trigrams(String) method will list the distinct trigrams of a word, padded so it's first letters
+	 * weigh as much as the middle ones.
+	 *
+	 * @param word			- the word.
+	 * @return Set<String>	- the word's trigrams.
+	 */
+	static Set<String> trigrams(String word) {
+		String padded = "  " + word + " ";
+		Set<String> trigrams = new LinkedHashSet<>();
+		for (int i = 0; i + 3 <= padded.length(); i++) {
+			trigrams.add(padded.substring(i, i + 3));
+		}
+		return trigrams;
+	}
+
+	private static void addWords(String text, Set<String> tokens) {
+		for (String word : WORDS.split(text)) {
+			if (!word.isEmpty()) {
+				tokens.add(word);
+			}
+		}
+	}
+
+	/**
+	 * An indexed user.
+	 */
+	private static final class Document {
+
+		private final Integer id;
+
+		private final String name;
+
+		private final String email;
+
+		private final String[] tokens;
+
+		Document(Integer id, String name, String email, String[] tokens) {
+			this.id = id;
+			this.name = name;
+			this.email = email;
+			this.tokens = tokens;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package com.comexport.Services;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import com.comexport.Configurations.CacheConfiguration;
+import com.comexport.DTOs.CacheStatisticsDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class CacheService {
+
+	/** Meant to reach the users and contacts caches.*/
+	@Autowired
+	private CacheManager cacheManager;
+
+	/** Meant to reach Hibernate's second-level cache regions, absent when that cache is disabled.*/
+	@Autowired(required = false)
+	private javax.cache.CacheManager entityCacheManager;
+
+	/**
+	 * The evictUser(Integer) method will remove an assembled user from the cache.
+	 * It must be called whenever the user or any of it's contacts change.
+	 *
+	 * @param id	- the user's primary key.
+	 */
+	public void evictUser(Integer id) {
+		this.evict(CacheConfiguration.USERS, id);
+	}
+
+	/**
+	 * The evictContact(Integer) method will remove an assembled contact from the cache.
+	 *
+	 * @param id	- the contact's primary key.
+	 */
+	public void evictContact(Integer id) {
+		this.evict(CacheConfiguration.CONTACTS, id);
+	}
+
+	/**
+	 * The statistics() method will gather the hit, miss and eviction counters of every cache,
+	 * the assembled users and contacts first and then the entity cache's regions.
+	 *
+	 * @return List<CacheStatisticsDTO>	- the statistics of each cache.
+	 */
+	public List<CacheStatisticsDTO> statistics() {
+		return Stream
+			.concat(this.assembledStatistics(), this.entityStatistics())
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * The assembledStatistics() method will read the counters of the assembled users and contacts caches.
+	 *
+	 * @return Stream<CacheStatisticsDTO>	- the statistics of each Caffeine cache.
+	 */
+	private Stream<CacheStatisticsDTO> assembledStatistics() {
+		return this.cacheManager
+			.getCacheNames()
+			.stream()
+			.map(this.cacheManager::getCache)
+			.filter(cache -> cache instanceof CaffeineCache)
+			.map(cache -> {
+				com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+				CacheStats stats = nativeCache.stats();
+				return CacheStatisticsDTO
+					.builder()
+					.name(cache.getName())
+					.size(nativeCache.estimatedSize())
+					.hitCount(stats.hitCount())
+					.missCount(stats.missCount())
+					.hitRate(stats.hitRate())
+					.evictionCount(stats.evictionCount())
+					.build();
+			});
+	}
+
+	/**
+	 * The entityStatistics() method will read the counters the entity cache publishes for each of it's regions.
+	 * The regions' sizes are not tracked by JCache, so they are left null.
+	 *
+	 * @return Stream<CacheStatisticsDTO>	- the statistics of each region, none when the entity cache is disabled.
+	 */
+	private Stream<CacheStatisticsDTO> entityStatistics() {
+		if (this.entityCacheManager == null) {
+			return Stream.empty();
+		}
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		return StreamSupport
+			.stream(this.entityCacheManager.getCacheNames().spliterator(), false)
+			.flatMap(name -> {
+				Set<ObjectName> beans;
+				try {
+					beans = server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,Cache=" + name + ",*"), null);
+				} catch (MalformedObjectNameException e) {
+					throw new IllegalStateException(e);
+				}
+				return beans.stream().map(bean -> {
+					CacheStatisticsMXBean stats = JMX.newMXBeanProxy(server, bean, CacheStatisticsMXBean.class);
+					return CacheStatisticsDTO
+						.builder()
+						.name(name)
+						.hitCount(stats.getCacheHits())
+						.missCount(stats.getCacheMisses())
+						.hitRate(stats.getCacheGets() == 0 ? 1.0 : (double) stats.getCacheHits() / stats.getCacheGets())
+						.evictionCount(stats.getCacheEvictions())
+						.build();
+				});
+			});
+	}
+
+	/**
+	 * The evict(String, Integer) method will remove an entry from the given cache.
+	 * Inside a transaction the entry is removed once the transaction completes.
+	 *
+	 * @param cacheName	- the cache's name.
+	 * @param id		- the entry's key, ignored if null.
+	 */
+	private void evict(String cacheName, Integer id) {
+		Cache cache = this.cacheManager.getCache(cacheName);
+		if (cache == null || id == null) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			cache.evict(id);
+			return;
+		}
+		// Evicting after commit, so a concurrent read can not cache the entry's uncommitted past state
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				cache.evict(id);
+			}
+		});
+	}
+}
@@ -0,0 +1,269 @@
+package com.comexport.Services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.comexport.DTOs.ChangeDTO;
+import com.comexport.DTOs.ChangePageDTO;
+import com.comexport.DTOs.ChangePositionDTO;
+import com.comexport.DataSources.ReadFromPrimary;
+import com.comexport.Models.Contact;
+import com.comexport.Models.Tombstone;
+import com.comexport.Models.User;
+import com.comexport.Repositories.ContactRepository;
+import com.comexport.Repositories.TombstoneRepository;
+import com.comexport.Repositories.UserRepository;
+import com.comexport.Utils.ChangeTokenUtils;
+import com.comexport.Utils.ContactUtils;
+import com.comexport.Utils.UserUtils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class ChangeService {
+
+	/**Logger from ChangeService.*/
+	private Logger logger = LogManager.getLogger(ChangeService.class);
+
+	/** The stream of created and updated users.*/
+	private static final int USERS = 0;
+
+	/** The stream of created and updated contacts.*/
+	private static final int CONTACTS = 1;
+
+	/** The stream of deleted users and contacts.*/
+	private static final int DELETIONS = 2;
+
+	/** Orders the changes by date, then by stream and then by id, which is the order the feed is read in.*/
+	private static final Comparator<ChangePositionDTO> ORDER = Comparator
+		.comparing(ChangePositionDTO::getAt)
+		.thenComparing(ChangePositionDTO::getStream)
+		.thenComparing(ChangePositionDTO::getId);
+
+	/** Meant to read the changed users.*/
+	@Autowired
+	private UserRepository userRepository;
+
+	/** Meant to read the changed contacts.*/
+	@Autowired
+	private ContactRepository contactRepository;
+
+	/** Meant to record and read the deletions.*/
+	@Autowired
+	private TombstoneRepository tombstoneRepository;
+
+	/** Meant to write the continuation tokens.*/
+	@Autowired
+	private ChangeTokenUtils changeTokenUtils;
+
+	/** Meant to transform the changed users.*/
+	@Autowired
+	private UserUtils userUtils;
+
+	/** Meant to transform the changed contacts.*/
+	@Autowired
+	private ContactUtils contactUtils;
+
+	/** How long, in milliseconds, a change waits before being served, so a later commit of an earlier change is not skipped.*/
+	@Value("${comexport.changes.settle-time:5000}")
+	private long settleTime;
+
+	/** How many days the deletions are kept for.*/
+	@Value("${comexport.changes.retention-days:30}")
+	private int retentionDays;
+
+	/** How often, in milliseconds, the expired deletions are removed. Zero disables the removal.*/
+	@Value("${comexport.changes.prune-interval:3600000}")
+	private long pruneInterval;
+
+	/** Meant to remove the expired deletions in the background.*/
+	private ScheduledExecutorService pruner;
+
+	/**
+	 * The start() method will remove the expired deletions periodically.
+	 */
+	@PostConstruct
+	public void start() {
+		if (this.pruneInterval > 0) {
+			this.pruner = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("comexport-changes-"));
+			this.pruner.scheduleWithFixedDelay(this::prune, this.pruneInterval, this.pruneInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (this.pruner != null) {
+			this.pruner.shutdownNow();
+		}
+	}
+
+	/**
+	 * The recordDeletions(String, Collection<Integer>) method will keep a tombstone for each deleted resource,
+	 * on the deleting transaction, so the change feed can report the deletions.
+	 *
+	 * @param type	- the deleted resources' type, Tombstone.USER or Tombstone.CONTACT.
+	 * @param ids	- the deleted resources' primary keys.
+	 */
+	public void recordDeletions(String type, Collection<Integer> ids) {
+		Date now = new Date();
+		this.tombstoneRepository.saveAll(ids
+			.stream()
+			.map(id -> Tombstone.builder().type(type).entityId(id).deletedAt(now).build())
+			.collect(Collectors.toList()));
+	}
+
+	/**
+	 * The isExpired(ChangePositionDTO) method will check whether deletions after the given position may have been removed
+	 * already, in which case the client must read everything again. Reading from the very beginning never expires.
+	 *
+	 * @param position	- the position the client asked to resume from.
+	 * @return boolean	- true if the position is older than the deletions' retention.
+	 */
+	public boolean isExpired(ChangePositionDTO position) {
+		return position.getAt() > 0 && position.getAt() < this.retentionStart().getTime();
+	}
+
+	/**
+	 * The feed(ChangePositionDTO, int) method will read the users and contacts created, updated or deleted after
+	 * the given position, oldest first. Each stream is read through it's (date, id) index, at most limit + 1 rows each,
+	 * and the streams are merged, so a page costs three bounded queries no matter how big the tables are.
+	 * Changes younger than the settle time are left for the next page. The feed is read from the primary: a change
+	 * a lagging replica has not received yet would be skipped for good once the client's position moves past it.
+	 *
+	 * @param since				- the position the client asked to resume from.
+	 * @param limit				- the most changes served.
+	 * @return ChangePageDTO	- the changes, along with the token to resume from.
+	 */
+	@Transactional(readOnly = true)
+	@ReadFromPrimary
+	public ChangePageDTO feed(ChangePositionDTO since, int limit) {
+		Date from = new Date(since.getAt());
+		Date until = new Date(System.currentTimeMillis() - this.settleTime);
+		PageRequest page = PageRequest.of(0, limit + 1);
+		List<Change> changes = new ArrayList<>();
+
+		for (User user : this.userRepository.findChangedSince(from, this.after(since, USERS), until, page)) {
+			changes.add(new Change(this.position(user.getLastUpdate(), USERS, user.getId()), ChangeDTO
+				.builder()
+				.type(Tombstone.USER)
+				.id(user.getId())
+				.kind(this.kind(user.getCreationDate(), since))
+				.at(user.getLastUpdate())
+				.user(this.userUtils.toUserOutputDTO(user))
+				.build()));
+		}
+		for (Contact contact : this.contactRepository.findChangedSince(from, this.after(since, CONTACTS), until, page)) {
+			changes.add(new Change(this.position(contact.getLastUpdate(), CONTACTS, contact.getId()), ChangeDTO
+				.builder()
+				.type(Tombstone.CONTACT)
+				.id(contact.getId())
+				.kind(this.kind(contact.getCreationDate(), since))
+				.at(contact.getLastUpdate())
+				.owner(contact.getOwner())
+				.contact(this.contactUtils.toContactOutputDTO(contact))
+				.build()));
+		}
+		for (Tombstone tombstone : this.tombstoneRepository.findDeletedSince(from, this.after(since, DELETIONS), until, page)) {
+			changes.add(new Change(this.position(tombstone.getDeletedAt(), DELETIONS, tombstone.getId()), ChangeDTO
+				.builder()
+				.type(tombstone.getType())
+				.id(tombstone.getEntityId())
+				.kind(ChangeDTO.Kind.DELETED)
+				.at(tombstone.getDeletedAt())
+				.build()));
+		}
+
+		changes.sort(Comparator.comparing(change -> change.position, ORDER));
+		boolean more = changes.size() > limit;
+		List<Change> served = more ? changes.subList(0, limit) : changes;
+		ChangePositionDTO next = served.isEmpty() ? since : served.get(served.size() - 1).position;
+
+		return ChangePageDTO
+			.builder()
+			.changes(served.stream().map(change -> change.change).collect(Collectors.toList()))
+			.next(this.changeTokenUtils.encode(next))
+			.more(more)
+			.build();
+	}
+
+	/**
+	 * The prune() method will remove the deletions older than the retention. A failure is logged and the next run tries again.
+	 */
+	public void prune() {
+		try {
+			int pruned = this.tombstoneRepository.deleteByDeletedAtBefore(this.retentionStart());
+			logger.info("Removed {} expired tombstones.", pruned);
+		} catch (RuntimeException e) {
+			logger.warn("Could not remove the expired tombstones, trying again in {} ms.", this.pruneInterval, e);
+		}
+	}
+
+	/**
+	 * The after(ChangePositionDTO, int) method will compute the id a stream is read after, among the rows sharing
+	 * the position's date: the streams ordered before the position's one were read whole at that date,
+	 * the ones ordered after it were not read at all.
+	 *
+	 * @param since		- the position the client asked to resume from.
+	 * @param stream	- the stream to be read.
+	 * @return Integer	- the last id already read at the position's date.
+	 */
+	private Integer after(ChangePositionDTO since, int stream) {
+		if (stream < since.getStream()) {
+			return Integer.MAX_VALUE;
+		}
+		if (stream > since.getStream()) {
+			return Integer.MIN_VALUE;
+		}
+		return since.getId();
+	}
+
+	/**
+	 * The kind(Date, ChangePositionDTO) method will tell a creation from an update: a resource created after
+	 * the client's position is new to the client.
+	 *
+	 * @param creationDate		- the resource's creation date.
+	 * @param since				- the position the client asked to resume from.
+	 * @return ChangeDTO.Kind	- CREATED or UPDATED.
+	 */
+	private ChangeDTO.Kind kind(Date creationDate, ChangePositionDTO since) {
+		return creationDate != null && creationDate.getTime() >= since.getAt() ? ChangeDTO.Kind.CREATED : ChangeDTO.Kind.UPDATED;
+	}
+
+	private ChangePositionDTO position(Date at, int stream, Integer id) {
+		return new ChangePositionDTO(at.getTime(), stream, id);
+	}
+
+	private Date retentionStart() {
+		return new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(this.retentionDays));
+	}
+
+	/** A change along with the position it was read at.*/
+	private static class Change {
+
+		private final ChangePositionDTO position;
+
+		private final ChangeDTO change;
+
+		private Change(ChangePositionDTO position, ChangeDTO change) {
+			this.position = position;
+			this.change = change;
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.comexport.Services;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.comexport.Configurations.CacheConfiguration;
+import com.comexport.DTOs.ContactOutputDTO;
+import com.comexport.DTOs.ResourceVersionDTO;
+import com.comexport.Models.Contact;
+import com.comexport.Transformations.ContactTransformation;
+import com.comexport.Utils.ConditionalRequestUtils;
+import com.comexport.Utils.ContactUtils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ContactOutputService {
+
+	/** Meant to fetch the contact.*/
+	@Autowired
+	private ContactService contactService;
+
+	/** Used as an utility regarding the contact's version.*/
+	@Autowired
+	private ConditionalRequestUtils conditionalRequestUtils;
+
+	/** Used as an utility regarding the contact's transformation.*/
+	@Autowired
+	private ContactTransformation contactTransformation;
+
+	/**
+	 * The findById(Integer) method will assemble a contact by it's id.
+	 * Assembled contacts are cached until they are saved or deleted.
+	 * The returned ContactOutputDTO is shared by every caller and must not be changed.
+	 *
+	 * @param id							- the contact's primary key.
+	 * @return Optional<ContactOutputDTO>	- the assembled contact if it exists.
+	 */
+	@Cacheable(cacheNames = CacheConfiguration.CONTACTS, unless = "#result == null")
+	public Optional<ContactOutputDTO> findById(Integer id) {
+		return this.contactService
+			.findById(id)
+			.map(this.contactTransformation::convert);
+	}
+
+	/**
+	 * The findPage(Specification<Contact>, Integer, int) method will assemble a single page of contacts
+	 * straight from the selected columns, ordered by id and starting right after the given cursor.
+	 * No contact is loaded: every row is read on a read-only transaction and mapped to it's ContactOutputDTO.
+	 *
+	 * @param specification				- the filters to be applied.
+	 * @param after						- the last id of the previous page, null for the first page.
+	 * @param limit						- the maximum number of contacts to be fetched.
+	 * @return List<ContactOutputDTO>	- the page's contacts.
+	 */
+	public List<ContactOutputDTO> findPage(Specification<Contact> specification, Integer after, int limit) {
+		return this.contactService.findPage(specification, after, limit, ContactUtils.OUTPUT_ATTRIBUTES,
+			this.contactTransformation::convert);
+	}
+
+	/**
+	 * The findVersion(Integer) method will compute the version of a contact's representation
+	 * from a timestamp-only query, so unchanged contacts can be answered without being assembled.
+	 *
+	 * @param id							- the contact's primary key.
+	 * @return Optional<ResourceVersionDTO>	- the contact's ETag and Last-Modified date if it exists.
+	 */
+	public Optional<ResourceVersionDTO> findVersion(Integer id) {
+		return this.contactService
+			.findTimestamps(id)
+			.map(this.conditionalRequestUtils::version);
+	}
+}
@@ -1,27 +1,59 @@
 package com.comexport.Services;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 
+import javax.persistence.Tuple;
+
+import com.comexport.DTOs.ContactTimestampsDTO;
+import com.comexport.DTOs.OwnedContactDTO;
+import com.comexport.DataSources.ReadFromPrimary;
 import com.comexport.Models.Contact;
+import com.comexport.Models.Tombstone;
 import com.comexport.Repositories.ContactRepository;
+import com.comexport.Repositories.UserRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ContactService {
     
+    /** The maximum number of owners sent on a single IN (...) clause.*/
+	private static final int OWNERS_CHUNK_SIZE = 1000;
+    
     /** Meant to run all CRUD like verbs.*/
 	@Autowired
 	private ContactRepository contactRepository;
 	
+	/** Meant to mark the owners losing a contact as updated.*/
+	@Autowired
+	private UserRepository userRepository;
+	
+	/** Meant to invalidate the cached contact and it's owner.*/
+	@Autowired
+	private CacheService cacheService;
+	
+	/** Meant to record the deleted contacts for the change feed.*/
+	@Autowired
+	private ChangeService changeService;
+	
 	/**
 	* The findAll() method will retrieve all contacts from the database.
 	*
 	* @return List<Contact> - all contacts. 
 	*/
+	@Transactional(readOnly = true)
 	public List<Contact> findAll(){
 		// Collection containing all contacts
 		List<Contact> contacts = new ArrayList<>();
@@ -33,15 +65,143 @@ public class ContactService {
 	}
 	
 	/**
-	 * The findById(Integer) method will find a contact by it's id.
+	* The findOutputsByOwners(Collection<Integer>) method will read only the contacts owned by the given users,
+	* selecting the columns they are served with straight into DTOs, without loading any contact.
+	* Large owner collections are split into chunks, each one fetched by a single WHERE owner IN (...) query.
+	*
+	* @param owners					- the owners' primary keys.
+	* @return List<OwnedContactDTO>	- the owners' contacts ordered by owner and id.
+	*/
+	@Transactional(readOnly = true)
+	public List<OwnedContactDTO> findOutputsByOwners(Collection<Integer> owners){
+		List<Integer> ownerIds = new ArrayList<>(owners);
+		List<OwnedContactDTO> contacts = new ArrayList<>();
+		
+		// Fetching one chunk of owners per query
+		for (int from = 0; from < ownerIds.size(); from += OWNERS_CHUNK_SIZE) {
+			int to = Math.min(from + OWNERS_CHUNK_SIZE, ownerIds.size());
+			contacts.addAll(this.contactRepository.findOutputsByOwnerIn(ownerIds.subList(from, to)));
+		}
+		
+		return contacts;
+	}
+	
+	/**
+	* The findPage(Specification<Contact>, Integer, int, Collection<String>, Function<Tuple, R>) method will read
+	* a single page of contacts matching the given specification, ordered by id and starting right after the given cursor,
+	* selecting only the given attributes and mapping each row without loading any contact.
+	*
+	* @param specification	- the filters to be applied.
+	* @param after			- the last id of the previous page, null for the first page.
+	* @param limit			- the maximum number of contacts to be fetched.
+	* @param attributes		- the attributes to be selected, which must include the id.
+	* @param mapper			- maps each row, holding the selected attributes aliased by their names.
+	* @return List<R>		- the page's mapped rows.
+	*/
+	@Transactional(readOnly = true)
+	public <R> List<R> findPage(Specification<Contact> specification, Integer after, int limit, Collection<String> attributes,
+			Function<Tuple, R> mapper){
+		return this.contactRepository.findPage(specification, after, limit, attributes, mapper);
+	}
+	
+	/**
+	* The findByOwner(Integer) method will retrieve the contacts owned by the given user,
+	* seeking them through the index on the contact's owner. They are read from the primary,
+	* as the loaded contacts fill the entity cache and the assembled user.
+	*
+	* @param owner			- the owner's primary key.
+	* @return List<Contact> - the owner's contacts ordered by id.
+	*/
+	@Transactional(readOnly = true)
+	@ReadFromPrimary
+	public List<Contact> findByOwner(Integer owner){
+		return this.contactRepository.findByOwnerOrderByIdAsc(owner);
+	}
+	
+	/**
+	* The countByOwner(Integer) method will count the contacts owned by the given user.
+	*
+	* @param owner			- the owner's primary key.
+	* @return long			- the number of contacts.
+	*/
+	@Transactional(readOnly = true)
+	public long countByOwner(Integer owner){
+		return this.contactRepository.countByOwner(owner);
+	}
+	
+	/**
+	* The existsByOwner(Integer) method will check whether the given user owns any contact.
+	*
+	* @param owner			- the owner's primary key.
+	* @return boolean		- true if the user owns at least one contact.
+	*/
+	@Transactional(readOnly = true)
+	public boolean existsByOwner(Integer owner){
+		return this.contactRepository.existsByOwner(owner);
+	}
+	
+	/**
+	* The deleteByOwner(Integer) method will delete every contact owned by the given user
+	* on a single statement, invalidating the deleted contacts and their owner and recording their deletion.
+	*
+	* @param owner			- the owner's primary key.
+	* @return int			- the number of deleted contacts.
+	*/
+	@Transactional
+	public int deleteByOwner(Integer owner){
+		List<Integer> ids = this.contactRepository.findIdsByOwner(owner);
+		int deleted = this.contactRepository.deleteByOwner(owner);
+		this.changeService.recordDeletions(Tombstone.CONTACT, ids);
+		
+		ids.forEach(this.cacheService :: evictContact);
+		this.cacheService.evictUser(owner);
+		return deleted;
+	}
+	
+	/**
+	* The deleteByOwners(Collection<Integer>) method will delete every contact owned by one of the given users
+	* on a single statement, invalidating the deleted contacts and their owners and recording their deletion.
+	*
+	* @param owners			- the owners' primary keys.
+	* @return int			- the number of deleted contacts.
+	*/
+	@Transactional
+	public int deleteByOwners(Collection<Integer> owners){
+		List<Integer> ids = this.contactRepository.findIdsByOwnerIn(owners);
+		int deleted = this.contactRepository.deleteByOwnerIn(owners);
+		this.changeService.recordDeletions(Tombstone.CONTACT, ids);
+		
+		ids.forEach(this.cacheService :: evictContact);
+		owners.forEach(this.cacheService :: evictUser);
+		return deleted;
+	}
+	
+	/**
+	 * The findById(Integer) method will find a contact by it's id, reading it from the primary
+	 * as the loaded contact fills the entity cache.
 	 * 
 	 * @param id				- the contact's primary key. 
 	 * @return Optional<Contact>  - the contact if it exists.
 	 */
+	@Transactional(readOnly = true)
+	@ReadFromPrimary
 	public Optional<Contact> findById(Integer id){
 		return this.contactRepository.findById(id);
 	}
 	
+	/**
+	 * The findTimestamps(Integer) method will read the timestamps of a contact, without loading it.
+	 * They are read from the primary, as they decide whether the cached contact is still current.
+	 * 
+	 * @param id								- the contact's primary key. 
+	 * @return Optional<ContactTimestampsDTO>	- the contact's timestamps if it exists.
+	 */
+	@Transactional(readOnly = true)
+	@ReadFromPrimary
+	public Optional<ContactTimestampsDTO> findTimestamps(Integer id){
+		return this.contactRepository.findTimestampsById(id);
+	}
+	
 	/**
 	 * The save(Contact) method will create or update a contact into the database.
 	 * 
@@ -49,16 +209,150 @@ public class ContactService {
 	 * @return Contact			- the saved contact.
 	 */
 	public Contact save(Contact contact) {
-		return this.contactRepository.save(contact);
+		Contact saved = this.contactRepository.save(contact);
+		this.cacheService.evictContact(saved.getId());
+		this.cacheService.evictUser(saved.getOwner());
+		return saved;
+	}
+	
+	/**
+	 * The createForOwner(Integer, List<Contact>) method will create the given contacts for a new owner.
+	 * The inserts are sent as JDBC batches when the transaction commits.
+	 * 
+	 * @param owner				- the owner's primary key.
+	 * @param contacts			- the contacts to be created.
+	 * @return List<Contact>	- the created contacts.
+	 */
+	@Transactional
+	public List<Contact> createForOwner(Integer owner, List<Contact> contacts) {
+		Date now = new Date();
+		for (Contact contact : contacts) {
+			contact.setId(null);
+			contact.setOwner(owner);
+			contact.setCreationDate(now);
+			contact.setLastUpdate(now);
+		}
+		List<Contact> created = new ArrayList<>(contacts.size());
+		this.contactRepository.saveAll(contacts).forEach(created :: add);
+		this.cacheService.evictUser(owner);
+		return created;
+	}
+	
+	/**
+	 * The replaceByOwner(Integer, List<Contact>) method will make the given contacts the owner's whole contact set,
+	 * diffing them against the owner's current contacts: a contact carrying the id of one of them updates it,
+	 * a contact without an id is created and the owner's contacts left out are deleted.
+	 * Unchanged contacts are not written, and the inserts, updates and deletes are sent as JDBC batches.
+	 * 
+	 * @param owner				- the owner's primary key.
+	 * @param contacts			- the owner's new contacts.
+	 * @return List<Contact>	- the owner's contacts after the replacement.
+	 * @throws IllegalArgumentException if a contact carries an id that is not one of the owner's contacts, or is repeated.
+	 */
+	@Transactional
+	public List<Contact> replaceByOwner(Integer owner, List<Contact> contacts) {
+		Map<Integer, Contact> current = new LinkedHashMap<>();
+		for (Contact contact : this.contactRepository.findByOwnerOrderByIdAsc(owner)) {
+			current.put(contact.getId(), contact);
+		}
+		
+		Date now = new Date();
+		List<Contact> kept = new ArrayList<>(contacts.size());
+		List<Contact> created = new ArrayList<>();
+		for (Contact contact : contacts) {
+			if (contact.getId() == null) {
+				created.add(contact);
+				continue;
+			}
+			Contact fetched = current.remove(contact.getId());
+			if (fetched == null) {
+				throw new IllegalArgumentException("The contact " + contact.getId() + " is not one of the user " + owner + "'s contacts, or is repeated.");
+			}
+			if (!Objects.equals(fetched.getType(), contact.getType()) || !Objects.equals(fetched.getDetail(), contact.getDetail())) {
+				// Updated by dirty checking when the transaction commits
+				fetched.setType(contact.getType());
+				fetched.setDetail(contact.getDetail());
+				fetched.setLastUpdate(now);
+				this.cacheService.evictContact(fetched.getId());
+			}
+			kept.add(fetched);
+		}
+		
+		// The contacts left are the ones the owner no longer has
+		this.contactRepository.deleteAll(current.values());
+		this.changeService.recordDeletions(Tombstone.CONTACT, current.keySet());
+		current.keySet().forEach(this.cacheService :: evictContact);
+		
+		kept.addAll(this.createForOwner(owner, created));
+		this.cacheService.evictUser(owner);
+		return kept;
 	}
 	
 	/**
-	 * The delete(Integer) method will delete a contact by it's id.
+	 * The update(Integer, Contact) method will replace the type, detail and owner of an existing contact.
+	 * Both the previous and the new owner are invalidated, as the contact moves from one to the other.
+	 * The contact is read and written on a single transaction, so it is not read again before the update.
+	 * The contact's last update date is set to the current date, and a previous owner losing the contact is marked as updated.
+	 * 
+	 * @param id					- the contact's primary key.
+	 * @param contact				- the contact's new values.
+	 * @return Optional<Contact>	- the updated contact, or empty if there is no contact with the given id.
+	 */
+	@Transactional
+	public Optional<Contact> update(Integer id, Contact contact) {
+		Optional<Contact> fetchedContact = this.contactRepository.findById(id);
+		fetchedContact.ifPresent(fetched -> {
+			Integer previousOwner = fetched.getOwner();
+			Date now = new Date();
+
+			// Updating the fetched contact's values...
+			fetched.setType(contact.getType());
+			fetched.setDetail(contact.getDetail());
+			fetched.setOwner(contact.getOwner());
+			fetched.setLastUpdate(now);
+
+			this.save(fetched);
+			if (previousOwner != null && !previousOwner.equals(contact.getOwner())) {
+				// The previous owner lost a contact without any of it's rows being updated
+				this.touch(previousOwner, now);
+			}
+			this.cacheService.evictUser(previousOwner);
+		});
+		return fetchedContact;
+	}
+	
+	/**
+	 * The delete(Integer) method will delete a contact by it's id, marking it's owner as updated and recording the deletion.
 	 * 
 	 * @param id			- the contact's primary key.
+	 * @return boolean		- false if there is no contact with the given id.
 	 */
-	public void delete(Integer id) {
-		this.contactRepository.deleteById(id);
+	@Transactional
+	public boolean delete(Integer id) {
+		Optional<Contact> contact = this.contactRepository.findById(id);
+		if (!contact.isPresent()) {
+			return false;
+		}
+		this.contactRepository.delete(contact.get());
+		this.changeService.recordDeletions(Tombstone.CONTACT, Collections.singletonList(id));
+		if (contact.get().getOwner() != null) {
+			// The owner lost a contact without any of it's rows being updated
+			this.touch(contact.get().getOwner(), new Date());
+		}
+		this.cacheService.evictContact(id);
+		this.cacheService.evictUser(contact.get().getOwner());
+		return true;
     }
+	
+	/**
+	 * The touch(Integer, Date) method will mark a user as updated through it's managed entity, so the entity cache
+	 * drops that user alone when the transaction commits, where a bulk update would drop every cached user.
+	 * 
+	 * @param owner			- the user's primary key.
+	 * @param now			- the user's new last update date.
+	 */
+	private void touch(Integer owner, Date now) {
+		this.userRepository.findById(owner).ifPresent(user -> user.setLastUpdate(now));
+	}
     
 }
\ No newline at end of file
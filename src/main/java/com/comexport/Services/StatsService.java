@@ -0,0 +1,171 @@
+package com.comexport.Services;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import com.comexport.Configurations.AsyncConfiguration;
+import com.comexport.DTOs.StatsDTO;
+import com.comexport.Repositories.ContactRepository;
+import com.comexport.Repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class StatsService {
+
+	/**Logger from StatsService.*/
+	private Logger logger = LogManager.getLogger(StatsService.class);
+
+	/** The band of the users without a date of birth, and of the contacts without a type.*/
+	public static final String UNKNOWN = "unknown";
+
+	/** The age bands, youngest first, as labeled by UserRepository.countGroupedByAgeBand(...).*/
+	private static final String[] AGE_BANDS = {"0-17", "18-24", "25-34", "35-44", "45-54", "55-64", "65+", UNKNOWN};
+
+	/** The aggregates, each one computed by it's own query and refreshed on it's own.*/
+	private enum Aggregate { AGE_BANDS, CONTACTS_PER_USER, CONTACTS_BY_TYPE }
+
+	/** Meant to aggregate the users.*/
+	@Autowired
+	private UserRepository userRepository;
+
+	/** Meant to aggregate the contacts.*/
+	@Autowired
+	private ContactRepository contactRepository;
+
+	/** Meant to refresh the aggregates out of the request threads.*/
+	@Autowired
+	@Qualifier(AsyncConfiguration.DATABASE_EXECUTOR)
+	private Executor databaseExecutor;
+
+	/** How long, in milliseconds, an aggregate is served before being refreshed in the background.*/
+	@Value("${comexport.stats.refresh-after:30000}")
+	private long refreshAfter;
+
+	/** How long, in milliseconds, an aggregate that was not refreshed may be served before it must be computed again.*/
+	@Value("${comexport.stats.expire-after:600000}")
+	private long expireAfter;
+
+	/** The computed aggregates.*/
+	private LoadingCache<Aggregate, Computed> aggregates;
+
+	@PostConstruct
+	public void start() {
+		// A stale aggregate is served while it's refresh runs, so only the first request waits for the database
+		this.aggregates = Caffeine
+			.newBuilder()
+			.refreshAfterWrite(this.refreshAfter, TimeUnit.MILLISECONDS)
+			.expireAfterWrite(Math.max(this.expireAfter, this.refreshAfter), TimeUnit.MILLISECONDS)
+			.executor(this.databaseExecutor)
+			.build(this::compute);
+	}
+
+	/**
+	 * The findStats() method will gather the users' age bands, the number of contacts per user and the
+	 * number of contacts per type. Each aggregate is computed by a single GROUP BY query, then served from
+	 * memory and refreshed in the background after "comexport.stats.refresh-after" milliseconds.
+	 *
+	 * @return StatsDTO	- the aggregates, as of their computation date.
+	 */
+	@SuppressWarnings("unchecked")
+	public StatsDTO findStats() {
+		Computed ageBands = this.aggregates.get(Aggregate.AGE_BANDS);
+		Computed contactsPerUser = this.aggregates.get(Aggregate.CONTACTS_PER_USER);
+		Computed contactsByType = this.aggregates.get(Aggregate.CONTACTS_BY_TYPE);
+
+		Date computedAt = ageBands.at;
+		for (Computed aggregate : new Computed[] {contactsPerUser, contactsByType}) {
+			if (aggregate.at.before(computedAt)) {
+				computedAt = aggregate.at;
+			}
+		}
+		return new StatsDTO(
+			(Map<String, Long>) ageBands.counts,
+			(Map<Integer, Long>) contactsPerUser.counts,
+			(Map<String, Long>) contactsByType.counts,
+			computedAt);
+	}
+
+	/**
+	 * The invalidate() method will drop every computed aggregate, so the next request computes them again.
+	 */
+	public void invalidate() {
+		this.aggregates.invalidateAll();
+	}
+
+	/**
+	 * The compute(Aggregate) method will run the aggregate's query.
+	 *
+	 * @param aggregate		- the aggregate to be computed.
+	 * @return Computed		- the aggregate's counts and the date they were computed at.
+	 */
+	private Computed compute(Aggregate aggregate) {
+		logger.info("Computing the {} statistics...", aggregate);
+		Date at = new Date();
+		switch (aggregate) {
+			case AGE_BANDS:
+				return new Computed(this.ageBands(LocalDate.now()), at);
+			case CONTACTS_PER_USER:
+				Map<Integer, Long> contactsPerUser = new TreeMap<>();
+				for (Object[] row : this.userRepository.countGroupedByContacts()) {
+					contactsPerUser.put(((Number) row[0]).intValue(), ((Number) row[1]).longValue());
+				}
+				return new Computed(contactsPerUser, at);
+			default:
+				Map<String, Long> contactsByType = new TreeMap<>();
+				for (Object[] row : this.contactRepository.countGroupedByType()) {
+					contactsByType.merge(row[0] == null ? UNKNOWN : (String) row[0], ((Number) row[1]).longValue(), Long::sum);
+				}
+				return new Computed(contactsByType, at);
+		}
+	}
+
+	/**
+	 * The ageBands(LocalDate) method will count the users of each age band at the given date,
+	 * the empty bands included.
+	 *
+	 * @param today					- the date the ages are computed at.
+	 * @return Map<String, Long>	- the number of users of each band, youngest first.
+	 */
+	private Map<String, Long> ageBands(LocalDate today) {
+		Map<String, Long> ageBands = new LinkedHashMap<>();
+		for (String band : AGE_BANDS) {
+			ageBands.put(band, 0L);
+		}
+		List<Object[]> rows = this.userRepository.countGroupedByAgeBand(
+			today.minusYears(18), today.minusYears(25), today.minusYears(35),
+			today.minusYears(45), today.minusYears(55), today.minusYears(65));
+		for (Object[] row : rows) {
+			ageBands.put((String) row[0], ((Number) row[1]).longValue());
+		}
+		return ageBands;
+	}
+
+	/** An aggregate's counts along with when they were computed.*/
+	private static class Computed {
+
+		private final Map<?, Long> counts;
+
+		private final Date at;
+
+		Computed(Map<?, Long> counts, Date at) {
+			this.counts = counts;
+			this.at = at;
+		}
+	}
+}
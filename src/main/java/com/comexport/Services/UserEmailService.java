@@ -0,0 +1,238 @@
+package com.comexport.Services;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.comexport.DTOs.UserSearchEntryDTO;
+import com.comexport.Repositories.UserRepository;
+import com.comexport.Search.EmailBloomFilter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class UserEmailService {
+
+	/**Logger from UserEmailService.*/
+	private Logger logger = LogManager.getLogger(UserEmailService.class);
+
+	/** Meant to read the users' emails and confirm the taken ones.*/
+	@Autowired
+	private UserRepository userRepository;
+
+	/** How often, in milliseconds, the emails saved by other instances are added. Zero disables the background refresh.*/
+	@Value("${comexport.emails.refresh-interval:10000}")
+	private long refreshInterval;
+
+	/** How far back, in milliseconds, each refresh looks before the last seen update, covering late commits.*/
+	@Value("${comexport.emails.refresh-overlap:60000}")
+	private long refreshOverlap;
+
+	/** How often, in milliseconds, the filter is built again, dropping the deleted and replaced emails.*/
+	@Value("${comexport.emails.rebuild-interval:3600000}")
+	private long rebuildInterval;
+
+	/** How many users are read on each query while building or refreshing.*/
+	@Value("${comexport.emails.batch-size:10000}")
+	private int batchSize;
+
+	/** How many emails the filter is sized for.*/
+	@Value("${comexport.emails.expected-users:1000000}")
+	private long expectedUsers;
+
+	/** The odds of a free email having to be confirmed on the database.*/
+	@Value("${comexport.emails.false-positive-rate:0.01}")
+	private double falsePositiveRate;
+
+	/** Meant to build and refresh the filter in the background.*/
+	private ScheduledExecutorService refresher;
+
+	/** The filter answering the checks, complete once ready.*/
+	private volatile EmailBloomFilter filter;
+
+	/** The filter being built, which the saved emails are added to as well, or null.*/
+	private volatile EmailBloomFilter building;
+
+	/** Whether every user's email has been added once.*/
+	private volatile boolean ready;
+
+	/** The last id added by an interrupted build, which the next attempt resumes from.*/
+	private int buildCursor;
+
+	/** When the filter in use started being built.*/
+	private long builtAt;
+
+	/** The latest update added, which the next refresh starts from.*/
+	private Date watermark;
+
+	/**
+	 * The start() method will build the filter in the background and refresh it periodically afterwards,
+	 * so the application starts even if the database is not reachable yet. Until the filter is built every
+	 * email is confirmed on the database.
+	 */
+	@PostConstruct
+	public void start() {
+		this.filter = new EmailBloomFilter(this.expectedUsers, this.falsePositiveRate);
+		if (this.refreshInterval > 0) {
+			this.refresher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("comexport-emails-"));
+			this.refresher.scheduleWithFixedDelay(this::refresh, 0, this.refreshInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (this.refresher != null) {
+			this.refresher.shutdownNow();
+		}
+	}
+
+	/**
+	 * The isTaken(String, Integer) method will check whether another user holds the given email, ignoring case and accents.
+	 * An email the filter has never seen is free without touching the database, any other one is looked up
+	 * through the email's unique index.
+	 *
+	 * @param email		- the email to be checked.
+	 * @param except	- the user allowed to hold the email, or null.
+	 * @return boolean	- true if another user holds the email.
+	 */
+	@Transactional(readOnly = true)
+	public boolean isTaken(String email, Integer except) {
+		if (email == null) {
+			return false;
+		}
+		if (this.ready && !this.filter.mightContain(email)) {
+			return false;
+		}
+		return except == null
+			? this.userRepository.existsByEmail(email)
+			: this.userRepository.existsByEmailAndIdNot(email, except);
+	}
+
+	/**
+	 * The requireAvailable(String, Integer) method will reject an email another user holds.
+	 *
+	 * @param email		- the email to be checked.
+	 * @param except	- the user allowed to hold the email, or null.
+	 * @throws DataIntegrityViolationException if another user holds the email, as the unique index would.
+	 */
+	public void requireAvailable(String email, Integer except) {
+		if (this.isTaken(email, except)) {
+			throw new DataIntegrityViolationException("The email " + email + " is already taken.");
+		}
+	}
+
+	/**
+	 * The add(String) method will add a saved email to the filter right away, before the saving transaction
+	 * commits, so the email is never reported as free while it is taken. A rolled back email is a false positive.
+	 *
+	 * @param email		- the saved email.
+	 */
+	public void add(String email) {
+		if (email == null) {
+			return;
+		}
+		this.filter.add(email);
+		EmailBloomFilter building = this.building;
+		if (building != null) {
+			building.add(email);
+		}
+	}
+
+	/**
+	 * The refresh() method will build the filter if it was not built yet or if it is older than the rebuild interval,
+	 * or add the emails updated since the last refresh otherwise. A failure is logged and the next refresh tries again,
+	 * resuming an interrupted build.
+	 */
+	public synchronized void refresh() {
+		try {
+			if (!this.ready || System.currentTimeMillis() - this.builtAt >= this.rebuildInterval) {
+				this.build();
+			} else {
+				this.update();
+			}
+		} catch (RuntimeException e) {
+			logger.warn("Could not refresh the email filter, trying again in {} ms.", this.refreshInterval, e);
+		}
+	}
+
+	/**
+	 * The rebuild() method will build a new filter holding only the current emails, right away.
+	 */
+	public synchronized void rebuild() {
+		this.building = null;
+		this.buildCursor = 0;
+		this.build();
+	}
+
+	/**
+	 * The build() method will add every user's email to a new filter, reading them in pages ordered by id,
+	 * and put it in use once complete. The emails saved meanwhile are added to both filters.
+	 */
+	private void build() {
+		if (this.building == null) {
+			this.building = new EmailBloomFilter(this.expectedUsers, this.falsePositiveRate);
+			this.buildCursor = 0;
+			this.builtAt = System.currentTimeMillis();
+		}
+		Date watermark = null;
+		List<UserSearchEntryDTO> page;
+		do {
+			page = this.userRepository.findSearchEntries(this.buildCursor, PageRequest.of(0, this.batchSize));
+			for (UserSearchEntryDTO entry : page) {
+				if (entry.getEmail() != null) {
+					this.building.add(entry.getEmail());
+				}
+				watermark = later(watermark, entry.getLastUpdate());
+				this.buildCursor = entry.getId();
+			}
+		} while (page.size() == this.batchSize);
+
+		this.filter = this.building;
+		this.building = null;
+		this.watermark = later(this.watermark, watermark == null ? new Date(0) : watermark);
+		boolean rebuilt = this.ready;
+		this.ready = true;
+		logger.info("Added {} emails to the email filter of {} bits.", this.filter.added(), this.filter.bits());
+		if (rebuilt) {
+			// Adding the emails committed while the new filter was read, which only the previous one may hold
+			this.update();
+		}
+	}
+
+	/**
+	 * The update() method will add the emails of the users updated since a little before the latest update added,
+	 * including the ones saved through other instances of the application.
+	 */
+	private void update() {
+		Date since = new Date(this.watermark.getTime() - this.refreshOverlap);
+		int after = 0;
+		List<UserSearchEntryDTO> page;
+		do {
+			page = this.userRepository.findSearchEntriesUpdatedSince(since, after, PageRequest.of(0, this.batchSize));
+			for (UserSearchEntryDTO entry : page) {
+				this.add(entry.getEmail());
+				this.watermark = later(this.watermark, entry.getLastUpdate());
+				since = entry.getLastUpdate();
+				after = entry.getId();
+			}
+		} while (page.size() == this.batchSize);
+	}
+
+	/** The later of two dates, either of which may be null.*/
+	private static Date later(Date date, Date other) {
+		return date == null || (other != null && other.after(date)) ? other : date;
+	}
+}
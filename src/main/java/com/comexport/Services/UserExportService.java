@@ -0,0 +1,137 @@
+package com.comexport.Services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import com.comexport.DTOs.ContactOutputDTO;
+import com.comexport.DTOs.UserOutputDTO;
+import com.comexport.Models.Contact;
+import com.comexport.Models.User;
+import com.comexport.Repositories.ContactRepository;
+import com.comexport.Repositories.UserRepository;
+import com.comexport.Transformations.ContactTransformation;
+import com.comexport.Transformations.UserTransformation;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class UserExportService {
+
+	/** How many users are written between two flushes of the output stream.*/
+	private static final int FLUSH_INTERVAL = 1000;
+
+	/** Meant to stream all users.*/
+	@Autowired
+	private UserRepository userRepository;
+
+	/** Meant to stream all contacts.*/
+	@Autowired
+	private ContactRepository contactRepository;
+
+	/** Meant to detach every streamed entity, keeping the persistence context empty.*/
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/** Used as an utility regarding the user's transformation.*/
+	@Autowired
+	private UserTransformation userTransformation;
+
+	/** Used as an utility regarding the contact's transformation.*/
+	@Autowired
+	private ContactTransformation contactTransformation;
+
+	/** Meant to serialize each exported user.*/
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	/**
+	 * The export(OutputStream) method will write every user, along with it's contacts, as newline-delimited JSON.
+	 * Users and contacts are read through two cursors ordered by the user's id and merge-joined while streaming,
+	 * so only the user being written is held in memory. The streamed entities are kept out of the second-level cache.
+	 *
+	 * @param output		- the stream the users will be written to, left open afterwards.
+	 * @return long			- the number of exported users.
+	 * @throws IOException	- if the output stream can not be written.
+	 */
+	@Transactional(readOnly = true)
+	public long export(OutputStream output) throws IOException {
+		ObjectWriter writer = this.objectMapper
+			.writerFor(UserOutputDTO.class)
+			.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		JsonGenerator generator = this.objectMapper.getFactory().createGenerator(output);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		generator.setRootValueSeparator(null);
+
+		// The queries' cache mode only lasts while their cursors are opened, the entities being loaded afterwards,
+		// so the whole session bypasses the second-level cache instead of evicting the cached users
+		this.entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+
+		LocalDate today = LocalDate.now();
+		long exported = 0;
+		try (Stream<User> users = this.userRepository.streamAllOrderedById();
+			Stream<Contact> contacts = this.contactRepository.streamAllOrderedByOwner()) {
+
+			Iterator<Contact> contactCursor = contacts.iterator();
+			Contact contact = this.next(contactCursor);
+
+			for (Iterator<User> userCursor = users.iterator(); userCursor.hasNext();) {
+				User user = userCursor.next();
+				this.entityManager.detach(user);
+
+				// Skipping contacts whose owner no longer exists
+				while (contact != null && contact.getOwner() < user.getId()) {
+					contact = this.next(contactCursor);
+				}
+
+				// Joining the user's contacts
+				List<ContactOutputDTO> userContacts = new ArrayList<>();
+				while (contact != null && contact.getOwner().equals(user.getId())) {
+					userContacts.add(this.contactTransformation.convert(contact));
+					contact = this.next(contactCursor);
+				}
+
+				UserOutputDTO userOutputDTO = this.userTransformation.convert(user, today);
+				userOutputDTO.setContacts(userContacts);
+				writer.writeValue(generator, userOutputDTO);
+				generator.writeRaw('\n');
+
+				if (++exported % FLUSH_INTERVAL == 0) {
+					generator.flush();
+				}
+			}
+		}
+		generator.flush();
+		return exported;
+	}
+
+	/**
+	 * The next(Iterator<Contact>) method will advance the contact cursor, detaching the returned contact.
+	 *
+	 * @param contactCursor	- the contact cursor.
+	 * @return Contact		- the next contact, or null when the cursor is exhausted.
+	 */
+	private Contact next(Iterator<Contact> contactCursor) {
+		if (!contactCursor.hasNext()) {
+			return null;
+		}
+		Contact contact = contactCursor.next();
+		this.entityManager.detach(contact);
+		return contact;
+	}
+}
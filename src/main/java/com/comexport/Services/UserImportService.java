@@ -0,0 +1,172 @@
+package com.comexport.Services;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import com.comexport.DTOs.ContactInputDTO;
+import com.comexport.DTOs.UserImportResultDTO;
+import com.comexport.DTOs.UserImportResultDTO.Status;
+import com.comexport.DTOs.UserInputDTO;
+import com.comexport.Models.User;
+import com.comexport.Repositories.ContactRepository;
+import com.comexport.Repositories.UserRepository;
+import com.comexport.Search.EmailBloomFilter;
+import com.comexport.Transformations.ContactTransformation;
+import com.comexport.Transformations.UserTransformation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class UserImportService {
+
+	/**Logger from UserImportService.*/
+	private Logger logger = LogManager.getLogger(UserImportService.class);
+
+	/** How many users are persisted on each transaction.*/
+	@Value("${comexport.import.chunk-size:500}")
+	private int chunkSize;
+
+	/** Meant to insert the users.*/
+	@Autowired
+	private UserRepository userRepository;
+
+	/** Meant to insert the users' contacts.*/
+	@Autowired
+	private ContactRepository contactRepository;
+
+	/** Meant to flush and clear the persistence context after each chunk.*/
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/** Used as an utility regarding the user's transformation.*/
+	@Autowired
+	private UserTransformation userTransformation;
+
+	/** Used as an utility regarding the contact's transformation.*/
+	@Autowired
+	private ContactTransformation contactTransformation;
+
+	/** Meant to make the imported users searchable.*/
+	@Autowired
+	private UserSearchService userSearchService;
+
+	/** Meant to reject the emails other users hold.*/
+	@Autowired
+	private UserEmailService userEmailService;
+
+	/** Meant to open one transaction per chunk.*/
+	private final TransactionTemplate transactionTemplate;
+
+	@Autowired
+	public UserImportService(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * The importUsers(List<UserInputDTO>) method will create every given user along with it's contacts.
+	 * Users are persisted in chunks, each one on it's own transaction, so the inserts of a chunk are sent
+	 * to the database as JDBC batches. A failing chunk is rolled back without affecting the other ones.
+	 *
+	 * @param users							- the users to be created.
+	 * @return List<UserImportResultDTO>	- the outcome of each user, in the same order they were given.
+	 */
+	public List<UserImportResultDTO> importUsers(List<UserInputDTO> users) {
+		List<UserImportResultDTO> results = new ArrayList<>(users.size());
+		Set<String> emails = new HashSet<>();
+
+		for (int from = 0; from < users.size(); from += this.chunkSize) {
+			int to = Math.min(from + this.chunkSize, users.size());
+			List<UserImportResultDTO> chunk = new ArrayList<>(to - from);
+
+			// Validating the chunk's users
+			for (int index = from; index < to; index++) {
+				chunk.add(this.validate(index, users.get(index), emails));
+			}
+
+			try {
+				this.transactionTemplate.executeWithoutResult(status -> this.persist(users, chunk));
+			} catch (RuntimeException e) {
+				logger.error("Could not import users {} to {}.", from, to - 1, e);
+				for (UserImportResultDTO result : chunk) {
+					if (result.getStatus() == Status.CREATED) {
+						result.setId(null);
+						result.setStatus(Status.FAILED);
+						result.setMessage(e.getMessage());
+					}
+				}
+			}
+			results.addAll(chunk);
+		}
+		return results;
+	}
+
+	/**
+	 * The validate(int, UserInputDTO, Set<String>) method will check the user's required fields, and that neither
+	 * a saved user nor a previous one of the import holds it's email yet.
+	 *
+	 * @param index					- the user's position on the imported list.
+	 * @param user					- the user to be checked.
+	 * @param emails				- the normalized emails of the previous users of the import, which the user's is added to.
+	 * @return UserImportResultDTO	- a CREATED result if the user is valid or a REJECTED one if it isn't.
+	 */
+	private UserImportResultDTO validate(int index, UserInputDTO user, Set<String> emails) {
+		if (user == null || user.getName() == null || user.getEmail() == null || user.getDateOfBirth() == null) {
+			return UserImportResultDTO.builder()
+				.index(index)
+				.status(Status.REJECTED)
+				.message("You need to inform the user Name, Email and Date of Birth.")
+				.build();
+		}
+		if (!emails.add(EmailBloomFilter.normalize(user.getEmail())) || this.userEmailService.isTaken(user.getEmail(), null)) {
+			return UserImportResultDTO.builder()
+				.index(index)
+				.status(Status.REJECTED)
+				.message("The email " + user.getEmail() + " is already taken.")
+				.build();
+		}
+		return UserImportResultDTO.builder()
+			.index(index)
+			.status(Status.CREATED)
+			.build();
+	}
+
+	/**
+	 * The persist(List<UserInputDTO>, List<UserImportResultDTO>) method will insert the chunk's valid users
+	 * and their contacts, flushing them as JDBC batches and clearing the persistence context afterwards.
+	 *
+	 * @param users		- all imported users.
+	 * @param chunk		- the chunk's results, filled with the created users' ids.
+	 */
+	private void persist(List<UserInputDTO> users, List<UserImportResultDTO> chunk) {
+		for (UserImportResultDTO result : chunk) {
+			if (result.getStatus() != Status.CREATED) {
+				continue;
+			}
+			UserInputDTO userInputDTO = users.get(result.getIndex());
+			this.userEmailService.add(userInputDTO.getEmail());
+			User user = this.userRepository.save(this.userTransformation.convert(userInputDTO));
+			result.setId(user.getId());
+			this.userSearchService.index(user);
+
+			if (userInputDTO.getContacts() != null) {
+				for (ContactInputDTO contact : userInputDTO.getContacts()) {
+					contact.setOwner(user);
+					this.contactRepository.save(this.contactTransformation.convert(contact));
+				}
+			}
+		}
+		this.entityManager.flush();
+		this.entityManager.clear();
+	}
+}
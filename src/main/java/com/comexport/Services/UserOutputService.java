@@ -0,0 +1,117 @@
+package com.comexport.Services;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.comexport.Configurations.CacheConfiguration;
+import com.comexport.DTOs.ContactOutputDTO;
+import com.comexport.DTOs.ResourceVersionDTO;
+import com.comexport.DTOs.UserOutputDTO;
+import com.comexport.DataSources.ReadFromPrimary;
+import com.comexport.Models.User;
+import com.comexport.Transformations.ContactTransformation;
+import com.comexport.Transformations.UserTransformation;
+import com.comexport.Utils.ConditionalRequestUtils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class UserOutputService {
+
+	/** Meant to fetch the user.*/
+	@Autowired
+	private UserService userService;
+
+	/** Meant to fetch the user's contacts.*/
+	@Autowired
+	private ContactService contactService;
+
+	/** Used as an utility regarding the user's transformation.*/
+	@Autowired
+	private UserTransformation userTransformation;
+
+	/** Used as an utility regarding the user's version.*/
+	@Autowired
+	private ConditionalRequestUtils conditionalRequestUtils;
+
+	/** Used as an utility regarding the contact's transformation.*/
+	@Autowired
+	private ContactTransformation contactTransformation;
+
+	/**
+	 * The findById(Integer) method will assemble a user, along with it's contacts, by the user's id.
+	 * Assembled users are cached until they, or any of their contacts, are saved or deleted.
+	 * The returned UserOutputDTO is shared by every caller and must not be changed.
+	 * The user and it's contacts are read on a single read-only transaction on the primary, as a user assembled
+	 * from a lagging replica would be served until it is saved again.
+	 *
+	 * @param id						- the user's primary key.
+	 * @return Optional<UserOutputDTO>	- the assembled user if it exists.
+	 */
+	@Cacheable(cacheNames = CacheConfiguration.USERS, unless = "#result == null")
+	@Transactional(readOnly = true)
+	@ReadFromPrimary
+	public Optional<UserOutputDTO> findById(Integer id) {
+		return this.userService
+			.findById(id)
+			.map(user -> {
+				//Fetching user's contacts from database
+				List<ContactOutputDTO> contacts =
+					this.contactTransformation.convert(this.contactService.findByOwner(user.getId()));
+
+				UserOutputDTO userOutputDTO = this.userTransformation.convert(user);
+				userOutputDTO.setContacts(contacts);
+				return userOutputDTO;
+			});
+	}
+
+	/**
+	 * The findPage(Specification<User>, Integer, int, Set<String>) method will assemble a single page of users
+	 * straight from the selected columns, ordered by id and starting right after the given cursor.
+	 * No user is loaded: every row is read on a read-only transaction and mapped to it's UserOutputDTO,
+	 * with every age computed at the same date.
+	 *
+	 * @param specification			- the filters to be applied.
+	 * @param after					- the last id of the previous page, null for the first page.
+	 * @param limit					- the maximum number of users to be fetched.
+	 * @param attributes			- the attributes to be selected, which must include the id.
+	 * @return List<UserOutputDTO>	- the page's users, without contacts.
+	 */
+	public List<UserOutputDTO> findPage(Specification<User> specification, Integer after, int limit, Set<String> attributes) {
+		LocalDate today = LocalDate.now();
+		return this.userService.findPage(specification, after, limit, attributes,
+			row -> this.userTransformation.convert(row, attributes, today));
+	}
+
+	/**
+	 * The findContactsByOwners(Collection<Integer>) method will assemble the contacts of the given users
+	 * straight from the selected columns, grouped by their owner. No contact is loaded.
+	 *
+	 * @param owners								- the owners' primary keys.
+	 * @return Map<Integer, List<ContactOutputDTO>>	- the owners' contacts, ordered by id, keyed by their owner.
+	 */
+	public Map<Integer, List<ContactOutputDTO>> findContactsByOwners(Collection<Integer> owners) {
+		return this.contactTransformation.groupByOwner(this.contactService.findOutputsByOwners(owners));
+	}
+
+	/**
+	 * The findVersion(Integer) method will compute the version of a user's representation
+	 * from a timestamp-only query, so unchanged users can be answered without being assembled.
+	 *
+	 * @param id							- the user's primary key.
+	 * @return Optional<ResourceVersionDTO>	- the user's ETag and Last-Modified date if it exists.
+	 */
+	public Optional<ResourceVersionDTO> findVersion(Integer id) {
+		return this.userService
+			.findTimestamps(id)
+			.map(timestamps -> this.conditionalRequestUtils.version(timestamps, LocalDate.now()));
+	}
+}
@@ -0,0 +1,251 @@
+package com.comexport.Services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.comexport.DTOs.UserSearchEntryDTO;
+import com.comexport.DTOs.UserSearchResultDTO;
+import com.comexport.Models.Tombstone;
+import com.comexport.Models.User;
+import com.comexport.Repositories.TombstoneRepository;
+import com.comexport.Repositories.UserRepository;
+import com.comexport.Search.UserSearchIndex;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class UserSearchService {
+
+	/**Logger from UserSearchService.*/
+	private Logger logger = LogManager.getLogger(UserSearchService.class);
+
+	/** Meant to read the users' searchable values.*/
+	@Autowired
+	private UserRepository userRepository;
+
+	/** Meant to read the users deleted by other instances of the application.*/
+	@Autowired
+	private TombstoneRepository tombstoneRepository;
+
+	/** How often, in milliseconds, the index is refreshed. Zero disables the background refresh.*/
+	@Value("${comexport.search.refresh-interval:10000}")
+	private long refreshInterval;
+
+	/** How far back, in milliseconds, each refresh looks before the last seen update, covering late commits.*/
+	@Value("${comexport.search.refresh-overlap:60000}")
+	private long refreshOverlap;
+
+	/** How many users are read on each query while refreshing.*/
+	@Value("${comexport.search.batch-size:10000}")
+	private int batchSize;
+
+	/** The in-memory index answering the searches.*/
+	private final UserSearchIndex index;
+
+	/** Meant to build and refresh the index in the background.*/
+	private ScheduledExecutorService refresher;
+
+	/** Whether every user has been indexed once.*/
+	private volatile boolean ready;
+
+	/** The last id indexed by an interrupted build, which the next attempt resumes from.*/
+	private int buildCursor;
+
+	/** The latest update indexed, which the next refresh starts from.*/
+	private Date watermark;
+
+	/** When the last refresh started, the next one reading the deletions recorded since.*/
+	private Date deletionWatermark;
+
+	/** The users deleted while the index was being built, which the build must not bring back.*/
+	private final Set<Integer> deletedWhileBuilding = ConcurrentHashMap.newKeySet();
+
+	@Autowired
+	public UserSearchService(
+			@Value("${comexport.search.max-candidates:10000}") int maxCandidates,
+			@Value("${comexport.search.min-similarity:0.5}") double minSimilarity) {
+		this.index = new UserSearchIndex(maxCandidates, minSimilarity);
+	}
+
+	/**
+	 * The start() method will build the index in the background and refresh it periodically afterwards,
+	 * so the application starts even if the database is not reachable yet.
+	 */
+	@PostConstruct
+	public void start() {
+		if (this.refreshInterval > 0) {
+			this.refresher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("comexport-search-"));
+			this.refresher.scheduleWithFixedDelay(this::refresh, 0, this.refreshInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (this.refresher != null) {
+			this.refresher.shutdownNow();
+		}
+	}
+
+	/**
+	 * The search(String, int, int) method will find the users whose name or email match the query.
+	 *
+	 * @param query								- the words typed so far.
+	 * @param offset							- how many of the best matches are skipped.
+	 * @param limit								- the most matches returned.
+	 * @return Optional<List<UserSearchResultDTO>>	- the best matches first, or empty while the index is being built.
+	 */
+	public Optional<List<UserSearchResultDTO>> search(String query, int offset, int limit) {
+		if (!this.ready) {
+			return Optional.empty();
+		}
+		return Optional.of(this.index.search(query, offset, limit));
+	}
+
+	/**
+	 * The refresh() method will build the index if it was not built yet, or index the users updated since
+	 * the last refresh otherwise. A failure is logged and the next refresh tries again, resuming an interrupted build.
+	 */
+	public synchronized void refresh() {
+		try {
+			if (this.ready) {
+				this.update();
+			} else {
+				this.build();
+			}
+		} catch (RuntimeException e) {
+			logger.warn("Could not refresh the user search index, trying again in {} ms.", this.refreshInterval, e);
+		}
+	}
+
+	/**
+	 * The index(User) method will index a saved user once it's transaction commits.
+	 *
+	 * @param user	- the saved user.
+	 */
+	public void index(User user) {
+		Integer id = user.getId();
+		String name = user.getName();
+		String email = user.getEmail();
+		this.afterCommit(() -> this.index.index(id, name, email));
+	}
+
+	/**
+	 * The remove(Collection<Integer>) method will remove deleted users from the index once their transaction commits.
+	 *
+	 * @param ids	- the deleted users' primary keys.
+	 */
+	public void remove(Collection<Integer> ids) {
+		List<Integer> deleted = new ArrayList<>(ids);
+		this.afterCommit(() -> {
+			if (!this.ready) {
+				this.deletedWhileBuilding.addAll(deleted);
+			}
+			deleted.forEach(this.index :: remove);
+		});
+	}
+
+	/**
+	 * The build() method will index every user, reading them in pages ordered by id.
+	 */
+	private void build() {
+		if (this.deletionWatermark == null) {
+			this.deletionWatermark = new Date();
+		}
+		List<UserSearchEntryDTO> page;
+		do {
+			page = this.userRepository.findSearchEntries(this.buildCursor, PageRequest.of(0, this.batchSize));
+			for (UserSearchEntryDTO entry : page) {
+				if (!this.deletedWhileBuilding.contains(entry.getId())) {
+					this.index(entry);
+				}
+				this.buildCursor = entry.getId();
+			}
+		} while (page.size() == this.batchSize);
+
+		this.deletedWhileBuilding.forEach(this.index :: remove);
+		this.deletedWhileBuilding.clear();
+		if (this.watermark == null) {
+			this.watermark = new Date(0);
+		}
+		this.ready = true;
+		logger.info("Indexed {} users for search.", this.index.size());
+	}
+
+	/**
+	 * The update() method will index the users updated since a little before the latest update indexed,
+	 * reading them in pages ordered by last update and id, and remove the users deleted since a little before
+	 * the last refresh, including the ones deleted through other instances of the application.
+	 */
+	private void update() {
+		Date started = new Date();
+		List<Integer> deleted = this.tombstoneRepository
+			.findEntityIdsDeletedSince(Tombstone.USER, new Date(this.deletionWatermark.getTime() - this.refreshOverlap));
+		deleted.forEach(this.index :: remove);
+		this.deletionWatermark = started;
+
+		Date since = new Date(this.watermark.getTime() - this.refreshOverlap);
+		int after = 0;
+		int updated = 0;
+		List<UserSearchEntryDTO> page;
+		do {
+			page = this.userRepository.findSearchEntriesUpdatedSince(since, after, PageRequest.of(0, this.batchSize));
+			for (UserSearchEntryDTO entry : page) {
+				this.index(entry);
+				since = entry.getLastUpdate();
+				after = entry.getId();
+			}
+			updated += page.size();
+		} while (page.size() == this.batchSize);
+		logger.debug("Refreshed {} users on the search index.", updated);
+	}
+
+	/**
+	 * The index(UserSearchEntryDTO) method will index a user read from the database, moving the watermark forward.
+	 *
+	 * @param entry	- the user's searchable values.
+	 */
+	private void index(UserSearchEntryDTO entry) {
+		this.index.index(entry.getId(), entry.getName(), entry.getEmail());
+		if (entry.getLastUpdate() != null && (this.watermark == null || entry.getLastUpdate().after(this.watermark))) {
+			this.watermark = entry.getLastUpdate();
+		}
+	}
+
+	/**
+	 * The afterCommit(Runnable) method will apply a change to the index once the current transaction commits,
+	 * or right away outside of a transaction, so rolled back changes are never searchable.
+	 *
+	 * @param change	- the change to the index.
+	 */
+	private void afterCommit(Runnable change) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			change.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				change.run();
+			}
+		});
+	}
+}
@@ -1,27 +1,74 @@
 package com.comexport.Services;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
+import javax.persistence.Tuple;
+
+import com.comexport.DTOs.UserTimestampsDTO;
+import com.comexport.DataSources.ReadFromPrimary;
+import com.comexport.Models.Contact;
+import com.comexport.Models.Tombstone;
 import com.comexport.Models.User;
 import com.comexport.Repositories.UserRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class UserService {
     
+    /** The maximum number of users deleted on a single transaction.*/
+	private static final int DELETE_CHUNK_SIZE = 1000;
+    
     /** Meant to run all CRUD like verbs.*/
 	@Autowired
 	private UserRepository userRepository;
 	
+	/** Meant to delete the users' contacts.*/
+	@Autowired
+	private ContactService contactService;
+	
+	/** Meant to invalidate the cached user.*/
+	@Autowired
+	private CacheService cacheService;
+	
+	/** Meant to keep the search index in sync with the saved and deleted users.*/
+	@Autowired
+	private UserSearchService userSearchService;
+	
+	/** Meant to reject the emails other users hold.*/
+	@Autowired
+	private UserEmailService userEmailService;
+	
+	/** Meant to record the deleted users for the change feed.*/
+	@Autowired
+	private ChangeService changeService;
+	
+	/** Meant to open one transaction per chunk of deleted users.*/
+	private final TransactionTemplate transactionTemplate;
+	
+	@Autowired
+	public UserService(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+	
 	/**
 	* The findAll() method will retrieve all users from database.
 	*
 	* @return List<User> - all users. 
 	*/
+	@Transactional(readOnly = true)
 	public List<User> findAll(){
 		// Collection containing all users
 		List<User> users = new ArrayList<>();
@@ -33,15 +80,61 @@ public class UserService {
 	}
 	
 	/**
-	 * The findById(Integer) method will find a user by it's id.
+	* The findAll(Specification<User>) method will retrieve from database only the users
+	* matching the given specification, filtering them on a single SQL statement.
+	*
+	* @param specification	- the filters to be applied.
+	* @return List<User>	- the matching users.
+	*/
+	@Transactional(readOnly = true)
+	public List<User> findAll(Specification<User> specification){
+		return this.userRepository.findAll(specification);
+	}
+	
+	/**
+	* The findPage(Specification<User>, Integer, int, Collection<String>, Function<Tuple, R>) method will read a single page
+	* of users matching the given specification, ordered by id and starting right after the given cursor, selecting only
+	* the given attributes from the database and mapping each row without loading any user.
+	*
+	* @param specification	- the filters to be applied.
+	* @param after			- the last id of the previous page, null for the first page.
+	* @param limit			- the maximum number of users to be fetched.
+	* @param attributes		- the attributes to be selected, which must include the id.
+	* @param mapper			- maps each row, holding the selected attributes aliased by their names.
+	* @return List<R>		- the page's mapped rows.
+	*/
+	@Transactional(readOnly = true)
+	public <R> List<R> findPage(Specification<User> specification, Integer after, int limit, Collection<String> attributes,
+			Function<Tuple, R> mapper){
+		return this.userRepository.findPage(specification, after, limit, attributes, mapper);
+	}
+	
+	/**
+	 * The findById(Integer) method will find a user by it's id, reading it from the primary
+	 * as the loaded user fills the entity cache.
 	 * 
 	 * @param id				- the user's primary key. 
 	 * @return Optional<User>  - the user if it exists.
 	 */
+	@Transactional(readOnly = true)
+	@ReadFromPrimary
 	public Optional<User> findById(Integer id){
 		return this.userRepository.findById(id);
 	}
 	
+	/**
+	 * The findTimestamps(Integer) method will read the timestamps of a user and it's contacts, without loading them.
+	 * They are read from the primary, as they decide whether the cached user is still current.
+	 * 
+	 * @param id							- the user's primary key. 
+	 * @return Optional<UserTimestampsDTO>	- the user's timestamps if it exists.
+	 */
+	@Transactional(readOnly = true)
+	@ReadFromPrimary
+	public Optional<UserTimestampsDTO> findTimestamps(Integer id){
+		return this.userRepository.findTimestampsById(id);
+	}
+	
 	/**
 	 * The save(User) method will create or update a user into the database.
 	 * 
@@ -49,15 +142,115 @@ public class UserService {
 	 * @return User			- the saved user.
 	 */
 	public User save(User user) {
-		return this.userRepository.save(user);
+		this.userEmailService.add(user.getEmail());
+		User saved = this.userRepository.save(user);
+		this.cacheService.evictUser(saved.getId());
+		this.userSearchService.index(saved);
+		return saved;
+	}
+	
+	/**
+	 * The create(User, List<Contact>) method will create a user along with it's contacts on a single transaction,
+	 * so a failure leaves neither behind. The contacts' inserts are sent as JDBC batches.
+	 * 
+	 * @param user			- the user to be created.
+	 * @param contacts		- the user's contacts.
+	 * @return User			- the created user.
+	 * @throws DataIntegrityViolationException if another user holds the email.
+	 */
+	@Transactional
+	public User create(User user, List<Contact> contacts) {
+		this.userEmailService.requireAvailable(user.getEmail(), null);
+		User saved = this.save(user);
+		this.contactService.createForOwner(saved.getId(), contacts);
+		return saved;
+	}
+	
+	/**
+	 * The update(Integer, User, List<Contact>) method will replace the email, date of birth and address of an existing user
+	 * and, if given, it's whole contact set, diffed against the current one by ContactService.replaceByOwner.
+	 * The user and it's contacts are read and written on a single transaction, so they are not read again before the update.
+	 * The user's last update date is set to the current date.
+	 * 
+	 * @param id				- the user's primary key.
+	 * @param user				- the user's new values.
+	 * @param contacts			- the user's new contacts, or null to keep the current ones.
+	 * @return Optional<User>	- the updated user, or empty if there is no user with the given id.
+	 * @throws IllegalArgumentException if a contact carries an id that is not one of the user's contacts.
+	 * @throws DataIntegrityViolationException if the email changes to one another user holds.
+	 */
+	@Transactional
+	public Optional<User> update(Integer id, User user, List<Contact> contacts) {
+		Optional<User> fetchedUser = this.userRepository.findById(id);
+		fetchedUser.ifPresent(fetched -> {
+			if (user.getEmail() != null && !user.getEmail().equalsIgnoreCase(fetched.getEmail())) {
+				// An unchanged email is the user's own, only a new one may be taken
+				this.userEmailService.requireAvailable(user.getEmail(), id);
+			}
+			// Updating the fetched user's values...
+			fetched.setEmail(user.getEmail());
+			fetched.setDateOfBirth(user.getDateOfBirth());
+			fetched.setAddress(user.getAddress());
+			fetched.setLastUpdate(new Date());
+
+			this.save(fetched);
+			if (contacts != null) {
+				this.contactService.replaceByOwner(id, contacts);
+			}
+		});
+		return fetchedUser;
 	}
 	
 	/**
-	 * The delete(Integer) method will delete a user by it's id.
+	 * The delete(Integer) method will delete a user by it's id, along with all of it's contacts.
+	 * The contacts and the user are deleted by two set-based statements on a single transaction.
 	 * 
 	 * @param id			- the user's primary key.
+	 * @return int			- the number of deleted users.
+	 */
+	@Transactional
+	public int delete(Integer id) {
+		return this.deleteChunk(Collections.singletonList(id));
+	}
+	
+	/**
+	 * The delete(Collection<Integer>) method will delete many users by their ids, along with all of their contacts.
+	 * The users are deleted in chunks, each chunk on it's own transaction with two set-based statements.
+	 * 
+	 * @param ids			- the users' primary keys.
+	 * @return int			- the number of deleted users.
+	 */
+	public int delete(Collection<Integer> ids) {
+		List<Integer> userIds = new ArrayList<>(ids);
+		int deleted = 0;
+		
+		// Deleting one chunk of users per transaction
+		for (int from = 0; from < userIds.size(); from += DELETE_CHUNK_SIZE) {
+			List<Integer> chunk = userIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, userIds.size()));
+			deleted += this.transactionTemplate.execute(status -> this.deleteChunk(chunk));
+		}
+		return deleted;
+	}
+	
+	/**
+	 * The deleteChunk(Collection<Integer>) method will delete the given users' contacts and then the users,
+	 * recording their deletion for the change feed. Only the users that exist are deleted and recorded,
+	 * so deleting a missing user again publishes no change.
+	 * It must run inside a transaction.
+	 * 
+	 * @param requested		- the users' primary keys.
+	 * @return int			- the number of deleted users.
 	 */
-	public void delete(Integer id) {
-		this.userRepository.deleteById(id);
+	private int deleteChunk(Collection<Integer> requested) {
+		List<Integer> ids = this.userRepository.findIdsByIdIn(requested);
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		this.contactService.deleteByOwners(ids);
+		int deleted = this.userRepository.deleteByIdIn(ids);
+		this.changeService.recordDeletions(Tombstone.USER, ids);
+		ids.forEach(this.cacheService :: evictUser);
+		this.userSearchService.remove(ids);
+		return deleted;
 	}
 }
\ No newline at end of file
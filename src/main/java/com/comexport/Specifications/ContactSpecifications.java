@@ -0,0 +1,37 @@
+package com.comexport.Specifications;
+
+import java.util.Optional;
+
+import com.comexport.Models.Contact;
+
+import org.springframework.data.jpa.domain.Specification;
+
+public final class ContactSpecifications {
+
+	private ContactSpecifications() {
+	}
+
+	/**
+	 * The hasOwner(Integer) method will build a predicate matching contacts owned by the given user.
+	 *
+	 * @param owner						- the owner's primary key.
+	 * @return Specification<Contact>	- the owner predicate.
+	 */
+	public static Specification<Contact> hasOwner(Integer owner) {
+		return (root, query, builder) -> builder.equal(root.get("owner"), owner);
+	}
+
+	/**
+	 * The filter(Optional<Integer>) method will combine every informed filter into a single predicate.
+	 *
+	 * @param owner						- an optional filter regarding the owner.
+	 * @return Specification<Contact>	- the combined predicate, matching every contact when no filter is informed.
+	 */
+	public static Specification<Contact> filter(Optional<Integer> owner) {
+		Specification<Contact> specification = Specification.where(null);
+		if (owner.isPresent()) {
+			specification = specification.and(hasOwner(owner.get()));
+		}
+		return specification;
+	}
+}
@@ -0,0 +1,67 @@
+package com.comexport.Specifications;
+
+import java.util.Date;
+import java.util.Optional;
+
+import com.comexport.Models.User;
+
+import org.springframework.data.jpa.domain.Specification;
+
+public final class UserSpecifications {
+
+	private UserSpecifications() {
+	}
+
+	/**
+	 * The hasName(String) method will build a predicate matching users with the given name.
+	 *
+	 * @param name					- the user's name.
+	 * @return Specification<User>	- the name predicate.
+	 */
+	public static Specification<User> hasName(String name) {
+		return (root, query, builder) -> builder.equal(root.get("name"), name);
+	}
+
+	/**
+	 * The hasEmail(String) method will build a predicate matching users with the given email.
+	 *
+	 * @param email					- the user's email.
+	 * @return Specification<User>	- the email predicate.
+	 */
+	public static Specification<User> hasEmail(String email) {
+		return (root, query, builder) -> builder.equal(root.get("email"), email);
+	}
+
+	/**
+	 * The hasDateOfBirth(Long) method will build a predicate matching users born at the given date.
+	 *
+	 * @param dateOfBirth			- the user's date of birth in milliseconds.
+	 * @return Specification<User>	- the date of birth predicate.
+	 */
+	public static Specification<User> hasDateOfBirth(Long dateOfBirth) {
+		return (root, query, builder) -> builder.equal(root.get("dateOfBirth"), new Date(dateOfBirth));
+	}
+
+	/**
+	 * The filter(Optional<String>, Optional<String>, Optional<Long>) method will combine every informed
+	 * filter into a single predicate, so the whole lookup runs as one SQL statement.
+	 *
+	 * @param name					- an optional filter regarding the user's name.
+	 * @param email					- an optional filter regarding the user's email.
+	 * @param dateOfBirth			- an optional filter regarding the user's date of birth in milliseconds.
+	 * @return Specification<User>	- the combined predicate, matching every user when no filter is informed.
+	 */
+	public static Specification<User> filter(Optional<String> name, Optional<String> email, Optional<Long> dateOfBirth) {
+		Specification<User> specification = Specification.where(null);
+		if (name.isPresent()) {
+			specification = specification.and(hasName(name.get()));
+		}
+		if (email.isPresent()) {
+			specification = specification.and(hasEmail(email.get()));
+		}
+		if (dateOfBirth.isPresent()) {
+			specification = specification.and(hasDateOfBirth(dateOfBirth.get()));
+		}
+		return specification;
+	}
+}
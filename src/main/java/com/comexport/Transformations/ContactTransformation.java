@@ -1,15 +1,23 @@
 package com.comexport.Transformations;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import javax.persistence.Tuple;
 
 import com.comexport.DTOs.ContactInputDTO;
 import com.comexport.DTOs.ContactOutputDTO;
+import com.comexport.DTOs.OwnedContactDTO;
 import com.comexport.Models.Contact;
 import com.comexport.Utils.ContactUtils;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -21,6 +29,12 @@ public class ContactTransformation {
 	@Autowired
 	private ContactUtils contactUtils;
 	
+	/**
+	 * The collection size from which contacts are transformed in parallel.
+	 */
+	@Value("${comexport.transformation.parallel-threshold:10000}")
+	private int parallelThreshold = 10000;
+	
 	/**
 	 * This convert(Contact) method will transform a Contact into a ContactOutputDTO.
 	 * 
@@ -31,6 +45,16 @@ public class ContactTransformation {
 		return this.contactUtils.toContactOutputDTO(contact);
 	}
 
+	/**
+	 * This convert(Tuple) method will transform a row holding the contact's output attributes into a ContactOutputDTO.
+	 * 
+	 * @param row				- the row that will be transformed into a ContactOutputDTO.
+	 * @return ContactOutputDTO - the transformed ContactOutputDTO.
+	 */
+	public ContactOutputDTO convert(Tuple row) {
+		return this.contactUtils.toContactOutputDTO(row);
+	}
+
 	/**
 	 * This convert(ContactInputDTO) method will transform a ContactInputDTO into a Contact.
 	 * 
@@ -41,16 +65,64 @@ public class ContactTransformation {
 		return this.contactUtils.toContact(contact);
 	}
 	
+	/**
+	 * It will transform Collection<ContactInputDTO> into List<Contact>, keeping each contact's id
+	 * so a user's update can tell it's existing contacts from the new ones.
+	 * 
+	 * @param contacts			- the collection that will be transformed into List<Contact>.
+	 * @return List<Contact>	- the transformed List<Contact>, without owner.
+	 */
+	public List<Contact> convertWithIds(Collection<ContactInputDTO> contacts){
+		List<Contact> converted = new ArrayList<>(contacts.size());
+		for (ContactInputDTO contactInputDTO : contacts) {
+			Contact contact = this.convert(contactInputDTO);
+			contact.setId(contactInputDTO.getId());
+			converted.add(contact);
+		}
+		return converted;
+	}
+	
 	/**
 	 * It will transform Collection<Contact> into List<ContactOutputDTO>.
+	 * Collections bigger than the parallel threshold are transformed on the common fork-join pool.
 	 * 
 	 * @param contacts					- the collection that will be transformed into List<ContactOutputDTO>.
 	 * @return List<ContactOutputDTO>	- the transformed List<ContactOutputDTO>.
 	 */
 	public List<ContactOutputDTO> convert(Collection<Contact> contacts){
-		return contacts
-				.stream()
-				.map(this :: convert)
-				.collect(Collectors.toList());
-	}    
+		int size = contacts.size();
+		
+		if (size < this.parallelThreshold) {
+			List<ContactOutputDTO> contactOutputDTOs = new ArrayList<>(size);
+			for (Contact contact : contacts) {
+				contactOutputDTOs.add(this.convert(contact));
+			}
+			return contactOutputDTOs;
+		}
+		
+		Contact[] source = contacts.toArray(new Contact[size]);
+		ContactOutputDTO[] target = new ContactOutputDTO[size];
+		IntStream
+			.range(0, size)
+			.parallel()
+			.forEach(i -> target[i] = this.convert(source[i]));
+		return new ArrayList<>(Arrays.asList(target));
+	}
+	
+	/**
+	 * It will group the contacts read along with their owner into ContactOutputDTO lists keyed by the owner,
+	 * walking the collection only once and without copying any contact.
+	 * 
+	 * @param contacts								- the owned contacts that will be grouped.
+	 * @return Map<Integer, List<ContactOutputDTO>>	- the contacts keyed by their owner.
+	 */
+	public Map<Integer, List<ContactOutputDTO>> groupByOwner(Collection<OwnedContactDTO> contacts){
+		Map<Integer, List<ContactOutputDTO>> contactsByOwner = new HashMap<>();
+		for (OwnedContactDTO contact : contacts) {
+			contactsByOwner
+				.computeIfAbsent(contact.getOwner(), owner -> new ArrayList<>())
+				.add(contact.getContact());
+		}
+		return contactsByOwner;
+	}
 }
\ No newline at end of file
@@ -1,8 +1,14 @@
 package com.comexport.Transformations;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import javax.persistence.Tuple;
 
 import com.comexport.DTOs.UserInputDTO;
 import com.comexport.DTOs.UserOutputDTO;
@@ -10,6 +16,7 @@ import com.comexport.Models.User;
 import com.comexport.Utils.UserUtils;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -21,6 +28,12 @@ public class UserTransformation {
 	@Autowired
 	private UserUtils userUtils;
 	
+	/**
+	 * The collection size from which users are transformed in parallel.
+	 */
+	@Value("${comexport.transformation.parallel-threshold:10000}")
+	private int parallelThreshold = 10000;
+	
 	/**
 	 * This convert(User) method will transform a User into a UserOutputDTO.
 	 * 
@@ -31,6 +44,31 @@ public class UserTransformation {
 		return this.userUtils.toUserOutputDTO(user);
 	}
 	
+	/**
+	 * This convert(User, LocalDate) method will transform a User into a UserOutputDTO,
+	 * computing the user's age at the given date.
+	 * 
+	 * @param user			- the User that will be transformed into a UserOutputDTO.
+	 * @param today			- the date the user's age is computed at.
+	 * @return UserOutputDTO - the transformed UserOutputDTO.
+	 */
+	public UserOutputDTO convert(User user, LocalDate today) {
+		return this.userUtils.toUserOutputDTO(user, today);
+	}
+	
+	/**
+	 * This convert(Tuple, Set<String>, LocalDate) method will transform a row holding the given User's attributes
+	 * into a UserOutputDTO, computing the user's age at the given date.
+	 * 
+	 * @param row			- the row that will be transformed into a UserOutputDTO.
+	 * @param attributes	- the attributes the row holds.
+	 * @param today			- the date the user's age is computed at.
+	 * @return UserOutputDTO - the transformed UserOutputDTO.
+	 */
+	public UserOutputDTO convert(Tuple row, Set<String> attributes, LocalDate today) {
+		return this.userUtils.toUserOutputDTO(row, attributes, today);
+	}
+	
 	/**
 	 * This convert(UserInputDTO) method will transform a UserInputDTO into a User.
 	 * 
@@ -43,14 +81,30 @@ public class UserTransformation {
 	
 	/**
 	 * It will transform Collection<User> into List<UserOutputDTO>.
+	 * Every age is computed at the same date, and collections bigger than the parallel threshold
+	 * are transformed on the common fork-join pool.
 	 * 
 	 * @param users					- the collection that will be transformed into List<UserOutputDTO>.
-	 * @return List<UserOutputDTO>	- the transformed List<UserOutputDTO>.
+	 * @return List<UserOutputDTO>	- the transformed List<UserOutputDTO>, in the collection's order.
 	 */
 	public List<UserOutputDTO> convert(Collection<User> users){
-		return users
-				.stream()
-				.map(this :: convert)
-				.collect(Collectors.toList());
+		LocalDate today = LocalDate.now();
+		int size = users.size();
+		
+		if (size < this.parallelThreshold) {
+			List<UserOutputDTO> userOutputDTOs = new ArrayList<>(size);
+			for (User user : users) {
+				userOutputDTOs.add(this.convert(user, today));
+			}
+			return userOutputDTOs;
+		}
+		
+		User[] source = users.toArray(new User[size]);
+		UserOutputDTO[] target = new UserOutputDTO[size];
+		IntStream
+			.range(0, size)
+			.parallel()
+			.forEach(i -> target[i] = this.convert(source[i], today));
+		return new ArrayList<>(Arrays.asList(target));
 	}
 }
\ No newline at end of file
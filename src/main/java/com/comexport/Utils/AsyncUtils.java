@@ -0,0 +1,35 @@
+package com.comexport.Utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import com.comexport.Configurations.AsyncConfiguration;
+import com.comexport.DataSources.RoutingContext;
+import com.comexport.Metrics.EndpointContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AsyncUtils {
+
+	/** Meant to run the controllers' database work.*/
+	@Autowired
+	@Qualifier(AsyncConfiguration.DATABASE_EXECUTOR)
+	private Executor databaseExecutor;
+
+	/**
+	 * The supply(Supplier<T>) method will run some database work on the database executor.
+	 * The work must not touch the current request, which is not reachable from the executor's threads.
+	 * The work's writes are forgotten once it is done, so the next work on the same thread reads from the replicas.
+	 *
+	 * @param supplier					- the work to be run.
+	 * @return CompletableFuture<T>		- completed with the work's result.
+	 * @throws java.util.concurrent.RejectedExecutionException - if the executor is saturated.
+	 */
+	public <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+		return CompletableFuture.supplyAsync(EndpointContext.propagate(RoutingContext.scoped(supplier)), this.databaseExecutor);
+	}
+}
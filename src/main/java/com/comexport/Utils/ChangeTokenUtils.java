@@ -0,0 +1,48 @@
+package com.comexport.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+import com.comexport.DTOs.ChangePositionDTO;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public class ChangeTokenUtils {
+
+	/**
+	 * The decode(String) method will read the position a change feed client asked to resume from.
+	 * A number is taken as a date in milliseconds, every change at or after it being read.
+	 * Anything else must be a token returned by the feed.
+	 *
+	 * @param since						- the client's "since" parameter.
+	 * @return Optional<ChangePositionDTO>	- the position, or empty if the parameter is neither a date nor a valid token.
+	 */
+	public Optional<ChangePositionDTO> decode(String since) {
+		try {
+			if (since.chars().allMatch(Character::isDigit)) {
+				return Optional.of(new ChangePositionDTO(Long.parseLong(since), -1, 0));
+			}
+			String[] parts = new String(Base64.getUrlDecoder().decode(since), StandardCharsets.UTF_8).split(":");
+			if (parts.length != 3) {
+				return Optional.empty();
+			}
+			return Optional.of(new ChangePositionDTO(Long.parseLong(parts[0]), Integer.parseInt(parts[1]), Integer.parseInt(parts[2])));
+		} catch (IllegalArgumentException e) {
+			// Neither base 64 nor numbers
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * The encode(ChangePositionDTO) method will write a position as an opaque token, safe on a query string.
+	 *
+	 * @param position	- the position of the last change read.
+	 * @return String	- the token to resume from.
+	 */
+	public String encode(ChangePositionDTO position) {
+		String token = position.getAt() + ":" + position.getStream() + ":" + position.getId();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+	}
+}
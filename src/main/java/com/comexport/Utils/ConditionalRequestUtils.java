@@ -0,0 +1,135 @@
+package com.comexport.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+import com.comexport.DTOs.ContactTimestampsDTO;
+import com.comexport.DTOs.ResourceVersionDTO;
+import com.comexport.DTOs.UserTimestampsDTO;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+@Service
+public class ConditionalRequestUtils {
+
+	/** Used as an utility regarding the user's age.*/
+	@Autowired
+	private UserUtils userUtils;
+
+	/**
+	 * The version(UserTimestampsDTO, LocalDate) method will compute the version of a user's representation.
+	 * Besides the user's and it's contacts' timestamps, the contacts' count and id sum catch deleted contacts,
+	 * and the user's age catches the representation changing on the user's birthday.
+	 *
+	 * @param timestamps			- the user's timestamps.
+	 * @param today				- the date the user's age is computed at.
+	 * @return ResourceVersionDTO	- the user's ETag and Last-Modified date.
+	 */
+	public ResourceVersionDTO version(UserTimestampsDTO timestamps, LocalDate today) {
+		String eTag = this.eTag("user",
+			timestamps.getId(),
+			this.millis(timestamps.getCreationDate()),
+			this.millis(timestamps.getLastUpdate()),
+			timestamps.getContactCount(),
+			this.millis(timestamps.getContactCreationDate()),
+			this.millis(timestamps.getContactLastUpdate()),
+			timestamps.getContactIdSum(),
+			this.userUtils.age(timestamps.getDateOfBirth(), today));
+
+		LocalDate lastBirthday = this.userUtils.lastBirthday(timestamps.getDateOfBirth(), today);
+		Long lastModified = this.latest(
+			this.millis(timestamps.getCreationDate()),
+			this.millis(timestamps.getLastUpdate()),
+			this.millis(timestamps.getContactCreationDate()),
+			this.millis(timestamps.getContactLastUpdate()),
+			lastBirthday == null ? null : lastBirthday.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli());
+		return new ResourceVersionDTO(eTag, lastModified);
+	}
+
+	/**
+	 * The version(ContactTimestampsDTO) method will compute the version of a contact's representation.
+	 *
+	 * @param timestamps			- the contact's timestamps.
+	 * @return ResourceVersionDTO	- the contact's ETag and Last-Modified date.
+	 */
+	public ResourceVersionDTO version(ContactTimestampsDTO timestamps) {
+		String eTag = this.eTag("contact",
+			timestamps.getId(),
+			this.millis(timestamps.getCreationDate()),
+			this.millis(timestamps.getLastUpdate()));
+
+		Long lastModified = this.latest(
+			this.millis(timestamps.getCreationDate()),
+			this.millis(timestamps.getLastUpdate()));
+		return new ResourceVersionDTO(eTag, lastModified);
+	}
+
+	/**
+	 * The notModified(ResourceVersionDTO, HttpHeaders) method will evaluate a request's If-None-Match
+	 * and If-Modified-Since headers against the resource's current version. If-None-Match takes precedence,
+	 * If-Modified-Since is only evaluated when there is no If-None-Match header.
+	 *
+	 * @param version			- the resource's current version.
+	 * @param requestHeaders	- the request's headers.
+	 * @return boolean			- true if the client's copy is still current.
+	 */
+	public boolean notModified(ResourceVersionDTO version, HttpHeaders requestHeaders) {
+		if (!requestHeaders.getIfNoneMatch().isEmpty()) {
+			for (String eTag : requestHeaders.getIfNoneMatch()) {
+				String opaqueTag = eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+				if ("*".equals(opaqueTag) || opaqueTag.equals(version.getETag())) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		long ifModifiedSince = requestHeaders.getIfModifiedSince();
+		// HTTP dates have a one second precision
+		return ifModifiedSince != -1
+			&& version.getLastModified() != null
+			&& version.getLastModified() / 1000 * 1000 <= ifModifiedSince;
+	}
+
+	/**
+	 * The headers(ResourceVersionDTO) method will build the ETag and Last-Modified response headers.
+	 *
+	 * @param version		- the resource's current version.
+	 * @return HttpHeaders	- the version's headers.
+	 */
+	public HttpHeaders headers(ResourceVersionDTO version) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag(version.getETag());
+		if (version.getLastModified() != null) {
+			headers.setLastModified(version.getLastModified());
+		}
+		return headers;
+	}
+
+	private String eTag(String resource, Object... parts) {
+		StringBuilder version = new StringBuilder(resource);
+		for (Object part : parts) {
+			version.append(':').append(part);
+		}
+		return "\"" + DigestUtils.md5DigestAsHex(version.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+	}
+
+	private Long millis(Date date) {
+		return date == null ? null : date.getTime();
+	}
+
+	private Long latest(Long... instants) {
+		Long latest = null;
+		for (Long instant : instants) {
+			if (instant != null && (latest == null || instant > latest)) {
+				latest = instant;
+			}
+		}
+		return latest;
+	}
+}
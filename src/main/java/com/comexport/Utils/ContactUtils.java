@@ -1,5 +1,12 @@
 package com.comexport.Utils;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.persistence.Tuple;
 
 import com.comexport.DTOs.ContactInputDTO;
 import com.comexport.DTOs.ContactOutputDTO;
@@ -11,6 +18,10 @@ import org.springframework.stereotype.Service;
 @Service
 public class ContactUtils {
 
+	/** The Contact's attributes a ContactOutputDTO is built from.*/
+	public static final Set<String> OUTPUT_ATTRIBUTES = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+			"id", "type", "detail", "creationDate", "lastUpdate")));
+
     /**
 	 * The toContactOutputDTO(Contact) method will transform a Contact into a ContactOutputDTO.
 	 * 
@@ -19,30 +30,47 @@ public class ContactUtils {
 	 */
 	public ContactOutputDTO toContactOutputDTO(Contact contact) {
 	
-		return ContactOutputDTO
-				.builder()
-				.id(contact.getId())
-				.type(contact.getType())
-				.detail(contact.getDetail())							
-				.creationDate(contact.getCreationDate())
-				.lastUpdate(contact.getLastUpdate())
-				.build();
+		return new ContactOutputDTO(
+				contact.getId(),
+				contact.getType(),
+				contact.getDetail(),
+				contact.getCreationDate(),
+				contact.getLastUpdate());
+	}
+	
+	/**
+	 * The toContactOutputDTO(Tuple) method will transform a row holding the OUTPUT_ATTRIBUTES
+	 * into a ContactOutputDTO.
+	 * 
+	 * @param row				- The row to be transformed, holding the attributes aliased by their names.
+	 * @return ContactOutputDTO - The transformed ContactOutputDTO.
+	 */
+	public ContactOutputDTO toContactOutputDTO(Tuple row) {
+		return new ContactOutputDTO(
+				row.get("id", Integer.class),
+				row.get("type", String.class),
+				row.get("detail", String.class),
+				row.get("creationDate", Date.class),
+				row.get("lastUpdate", Date.class));
 	}
 	
 	/**
 	 * The toContact(ContactInputDTO) method will transform a ContactInputDTO into a Contact.
+	 * The contact's id is never copied, so a new contact is never mistaken for an existing one.
+	 * The creation and last update dates are always set to the current date, whatever the client sent.
 	 * 
 	 * @param contact			- The ContactInputDTO to be transformed.
 	 * @return Contact			- The transformed Contact.
 	 */
 	public Contact toContact(ContactInputDTO contact) {
+		Date now = new Date();
 		return Contact
                 .builder()
-                .owner(contact.getOwner().getId())
+                .owner(contact.getOwner() == null ? null : contact.getOwner().getId())
 				.type(contact.getType())
 				.detail(contact.getDetail())							
-				.creationDate(contact.getCreationDate())
-				.lastUpdate(contact.getLastUpdate())
+				.creationDate(now)
+				.lastUpdate(now)
 				.build();
     }
 
@@ -0,0 +1,90 @@
+package com.comexport.Utils;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriComponentsBuilder;
+
+@Service
+public class PaginationUtils {
+
+	/** The page size used when the client does not inform one.*/
+	@Value("${comexport.pagination.default-limit:100}")
+	private int defaultLimit;
+
+	/** The biggest page size a client may ask for.*/
+	@Value("${comexport.pagination.max-limit:1000}")
+	private int maxLimit;
+
+	/**
+	 * The resolveLimit(Optional<Integer>) method will compute the page size to be served,
+	 * capping the requested one to the server's maximum.
+	 *
+	 * @param limit				- the page size requested by the client.
+	 * @return Optional<Integer>	- the page size, or empty if the requested one is not positive.
+	 */
+	public Optional<Integer> resolveLimit(Optional<Integer> limit) {
+		if (!limit.isPresent()) {
+			return Optional.of(this.defaultLimit);
+		}
+		if (limit.get() < 1) {
+			return Optional.empty();
+		}
+		return Optional.of(Math.min(limit.get(), this.maxLimit));
+	}
+
+	/**
+	 * The nextPageHeaders(UriComponentsBuilder, Integer, int) method will build the headers pointing to the next page.
+	 * The next page is advertised as a Link header with rel="next" carrying the "after" cursor,
+	 * keeping every other query parameter of the current request.
+	 *
+	 * @param currentRequest	- the current request's uri, taken on the request's thread.
+	 * @param next			- the next page's cursor, null if the current page is the last one.
+	 * @param limit			- the page size.
+	 * @return HttpHeaders	- the headers to be sent with the current page.
+	 */
+	public HttpHeaders nextPageHeaders(UriComponentsBuilder currentRequest, Integer next, int limit) {
+		return this.nextPageHeaders(currentRequest, "after", next, limit);
+	}
+
+	/**
+	 * The nextOffsetHeaders(UriComponentsBuilder, Integer, int) method will build the headers pointing to the next page
+	 * of a ranked list, which can not be paged by a cursor. The Link header with rel="next" carries the "offset" instead.
+	 *
+	 * @param currentRequest	- the current request's uri, taken on the request's thread.
+	 * @param next			- the next page's offset, null if the current page is the last one.
+	 * @param limit			- the page size.
+	 * @return HttpHeaders	- the headers to be sent with the current page.
+	 */
+	public HttpHeaders nextOffsetHeaders(UriComponentsBuilder currentRequest, Integer next, int limit) {
+		return this.nextPageHeaders(currentRequest, "offset", next, limit);
+	}
+
+	/**
+	 * The nextTokenHeaders(UriComponentsBuilder, String, int) method will build the headers pointing to the next page
+	 * of the change feed. The Link header with rel="next" carries the "since" continuation token.
+	 *
+	 * @param currentRequest	- the current request's uri, taken on the request's thread.
+	 * @param next			- the next page's token, null if there is no change left to be read.
+	 * @param limit			- the page size.
+	 * @return HttpHeaders	- the headers to be sent with the current page.
+	 */
+	public HttpHeaders nextTokenHeaders(UriComponentsBuilder currentRequest, String next, int limit) {
+		return this.nextPageHeaders(currentRequest, "since", next, limit);
+	}
+
+	private HttpHeaders nextPageHeaders(UriComponentsBuilder currentRequest, String parameter, Object next, int limit) {
+		HttpHeaders headers = new HttpHeaders();
+		if (next != null) {
+			String link = currentRequest
+				.cloneBuilder()
+				.replaceQueryParam(parameter, next)
+				.replaceQueryParam("limit", limit)
+				.toUriString();
+			headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+		}
+		return headers;
+	}
+}
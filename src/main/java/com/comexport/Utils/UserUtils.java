@@ -1,16 +1,36 @@
 package com.comexport.Utils;
 
-import java.util.Calendar;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.persistence.Tuple;
 
 import com.comexport.DTOs.UserInputDTO;
 import com.comexport.DTOs.UserOutputDTO;
 import com.comexport.Models.User;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.stereotype.Service;
 
 @Service
 public class UserUtils {
+	
+	/** The fields of a UserOutputDTO a client may ask for, besides the contacts.*/
+	public static final Set<String> FIELDS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+			"id", "name", "email", "age", "address", "creationDate", "lastUpdate")));
+	
+	/** The relations of a UserOutputDTO a client may ask to be expanded.*/
+	public static final Set<String> EXPANSIONS = Collections.singleton("contacts");
     
 	/**
 	 * The toUserOutputDTO(User) method will transform a User into a userOutputDTO.
@@ -19,39 +39,183 @@ public class UserUtils {
 	 * @return UserOutputDTO - The transformed UserOutputDTO.
 	 */
 	public UserOutputDTO toUserOutputDTO(User user) {
-		Calendar birthCalendar = Calendar.getInstance();
-		if(user.getDateOfBirth() != null){
-			birthCalendar.setTime(user.getDateOfBirth());
+		return this.toUserOutputDTO(user, LocalDate.now());
+	}
+	
+	/**
+	 * The toUserOutputDTO(User, LocalDate) method will transform a User into a userOutputDTO,
+	 * computing the user's age at the given date. Transforming many users with the same date
+	 * avoids looking the current date up once per user.
+	 * 
+	 * @param user			- The User to be transformed.
+	 * @param today			- The date the user's age is computed at.
+	 * @return UserOutputDTO - The transformed UserOutputDTO.
+	 */
+	public UserOutputDTO toUserOutputDTO(User user, LocalDate today) {
+		return new UserOutputDTO(
+				user.getId(),
+				user.getName(),
+				user.getEmail(),
+				this.age(user.getDateOfBirth(), today),
+				user.getAddress(),
+				null,
+				user.getCreationDate(),
+				user.getLastUpdate());
+	}
+	
+	/**
+	 * The toUserOutputDTO(Tuple, Set<String>, LocalDate) method will transform a row holding the given
+	 * User's attributes into a userOutputDTO, computing the user's age at the given date.
+	 * The fields whose attributes were not selected are left null.
+	 * 
+	 * @param row			- The row to be transformed, holding the attributes aliased by their names.
+	 * @param attributes	- The selected attributes, as computed by toAttributes(Set<String>).
+	 * @param today			- The date the user's age is computed at.
+	 * @return UserOutputDTO - The transformed UserOutputDTO.
+	 */
+	public UserOutputDTO toUserOutputDTO(Tuple row, Set<String> attributes, LocalDate today) {
+		return new UserOutputDTO(
+				row.get("id", Integer.class),
+				attributes.contains("name") ? row.get("name", String.class) : null,
+				attributes.contains("email") ? row.get("email", String.class) : null,
+				attributes.contains("dateOfBirth") ? this.age(row.get("dateOfBirth", Date.class), today) : null,
+				attributes.contains("address") ? row.get("address", String.class) : null,
+				null,
+				attributes.contains("creationDate") ? row.get("creationDate", Date.class) : null,
+				attributes.contains("lastUpdate") ? row.get("lastUpdate", Date.class) : null);
+	}
+	
+	/**
+	 * The age(Date, LocalDate) method will compute how many full years have passed
+	 * from the date of birth to the given date, counting the current year only after the birthday.
+	 * 
+	 * @param dateOfBirth	- The user's date of birth.
+	 * @param today			- The date the age is computed at.
+	 * @return Integer		- The user's age, or null if the date of birth is unknown.
+	 */
+	public Integer age(Date dateOfBirth, LocalDate today) {
+		if (dateOfBirth == null) {
+			return null;
 		}
-		int age = Calendar.getInstance().get(Calendar.YEAR) - birthCalendar.get(Calendar.YEAR);
+		LocalDate birth = this.toLocalDate(dateOfBirth);
 
-		return UserOutputDTO
-				.builder()
-				.id(user.getId())
-				.name(user.getName())
-				.email(user.getEmail())
-				.age(age)
-				.address(user.getAddress())
-				.creationDate(user.getCreationDate())
-				.lastUpdate(user.getLastUpdate())
-				.build();
+		int age = today.getYear() - birth.getYear();
+		if (today.getMonthValue() < birth.getMonthValue()
+				|| (today.getMonthValue() == birth.getMonthValue() && today.getDayOfMonth() < birth.getDayOfMonth())) {
+			age--;
+		}
+		return age;
+	}
+	
+	/**
+	 * The lastBirthday(Date, LocalDate) method will find the user's latest birthday up to the given date,
+	 * the day the user's age last changed. Users born on February 29 age on March 1 of common years.
+	 * 
+	 * @param dateOfBirth	- The user's date of birth.
+	 * @param today			- The date the birthday is looked up from.
+	 * @return LocalDate	- The user's latest birthday, or null if the date of birth is unknown.
+	 */
+	public LocalDate lastBirthday(Date dateOfBirth, LocalDate today) {
+		if (dateOfBirth == null) {
+			return null;
+		}
+		MonthDay birthday = MonthDay.from(this.toLocalDate(dateOfBirth));
+		LocalDate thisYear = this.birthdayAt(birthday, today.getYear());
+		return thisYear.isAfter(today) ? this.birthdayAt(birthday, today.getYear() - 1) : thisYear;
+	}
+	
+	private LocalDate birthdayAt(MonthDay birthday, int year) {
+		return birthday.isValidYear(year) ? birthday.atYear(year) : LocalDate.of(year, 3, 1);
+	}
+	
+	private LocalDate toLocalDate(Date date) {
+		return date instanceof java.sql.Date
+				? ((java.sql.Date) date).toLocalDate()
+				: date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+	}
+	
+	/**
+	 * The resolveFields(Optional<List<String>>) method will compute the user's fields to be served.
+	 * 
+	 * @param fields					- the fields requested by the client.
+	 * @return Optional<Set<String>>	- the fields to be served, every field if none was requested,
+	 * or empty if an unknown field was requested.
+	 */
+	public Optional<Set<String>> resolveFields(Optional<List<String>> fields) {
+		if (!fields.isPresent()) {
+			return Optional.of(FIELDS);
+		}
+		Set<String> resolved = new LinkedHashSet<>(fields.get());
+		return FIELDS.containsAll(resolved) ? Optional.of(resolved) : Optional.empty();
+	}
+	
+	/**
+	 * The resolveExpand(Optional<List<String>>) method will check whether the user's contacts must be served.
+	 * 
+	 * @param expand				- the relations requested by the client.
+	 * @return Optional<Boolean>	- whether the contacts were requested, or empty if an unknown relation was requested.
+	 */
+	public Optional<Boolean> resolveExpand(Optional<List<String>> expand) {
+		if (!expand.isPresent()) {
+			return Optional.of(false);
+		}
+		return EXPANSIONS.containsAll(expand.get()) ? Optional.of(!expand.get().isEmpty()) : Optional.empty();
+	}
+	
+	/**
+	 * The toAttributes(Set<String>) method will compute the User's attributes backing the given fields.
+	 * The id is always selected, as it is the page's cursor and the contacts' owner.
+	 * 
+	 * @param fields			- the fields to be served.
+	 * @return Set<String>		- the attributes to be selected from the database.
+	 */
+	public Set<String> toAttributes(Set<String> fields) {
+		Set<String> attributes = new LinkedHashSet<>();
+		attributes.add("id");
+		for (String field : fields) {
+			attributes.add("age".equals(field) ? "dateOfBirth" : field);
+		}
+		return attributes;
+	}
+	
+	/**
+	 * The filter(Object, Set<String>, boolean) method will wrap a response's users so only the given fields,
+	 * and the contacts when expanded, are serialized. The given fields are serialized even when null.
+	 * 
+	 * @param users					- The UserOutputDTO, or list of them, to be served.
+	 * @param fields				- The fields to be serialized.
+	 * @param contacts				- Whether the contacts must be serialized.
+	 * @return MappingJacksonValue	- The users along with their filter.
+	 */
+	public MappingJacksonValue filter(Object users, Set<String> fields, boolean contacts) {
+		Set<String> properties = new LinkedHashSet<>(fields);
+		if (contacts) {
+			properties.add("contacts");
+		}
+		MappingJacksonValue value = new MappingJacksonValue(users);
+		value.setFilters(new SimpleFilterProvider()
+				.addFilter(UserOutputDTO.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(properties)));
+		return value;
 	}
 	
 	/**
 	 * The toUser(UserInputDTO) method will transform a UserInputDTO into a User.
+	 * The creation and last update dates are always set to the current date, whatever the client sent,
+	 * so the change feed, the search index and the user's version see every new user as just created.
 	 * 
 	 * @param user			- The UserInputDTO to be transformed.
 	 * @return User			- The transformed User.
 	 */
 	public User toUser(UserInputDTO user) {
+		Date now = new Date();
 		return User
 				.builder()
 				.name(user.getName())
 				.email(user.getEmail())
 				.dateOfBirth(user.getDateOfBirth())
 				.address(user.getAddress())
-				.creationDate(user.getCreationDate())
-				.lastUpdate(user.getLastUpdate())
+				.creationDate(now)
+				.lastUpdate(now)
 				.build();
     }
     
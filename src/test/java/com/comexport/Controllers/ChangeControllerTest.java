@@ -0,0 +1,90 @@
+package com.comexport.Controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.comexport.Models.Contact;
+import com.comexport.Models.User;
+import com.jayway.jsonpath.JsonPath;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+class ChangeControllerTest extends StatementCountSupport {
+
+    @Test
+    void readsEveryChangeInPages() throws Exception {
+        Set<String> read = new HashSet<>();
+        String since = "0";
+        boolean more = true;
+        while (more) {
+            // One bounded query for the users, one for the contacts and one for the deletions
+            String page = perform(get("/comexport/changes").param("since", since).param("limit", "25"), 3, 2 * 26, 3 * 26)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            List<String> kinds = JsonPath.read(page, "$.changes[*].kind");
+            List<String> types = JsonPath.read(page, "$.changes[*].type");
+            List<Integer> ids = JsonPath.read(page, "$.changes[*].id");
+            assertThat(kinds).containsOnly("CREATED");
+            for (int i = 0; i < ids.size(); i++) {
+                assertThat(read.add(types.get(i) + ids.get(i))).as("read once").isTrue();
+            }
+            since = JsonPath.read(page, "$.next");
+            more = JsonPath.read(page, "$.more");
+        }
+        assertThat(read).hasSize(USERS + USERS * CONTACTS_PER_USER);
+    }
+
+    @Test
+    void readsTheChangesSinceAToken() throws Exception {
+        String since = JsonPath.read(perform(get("/comexport/changes").param("since", "0").param("limit", "1000"), 3, 2 * 1001)
+            .andReturn().getResponse().getContentAsString(), "$.next");
+        User owner = this.users.get(0);
+        Contact updated = this.contacts.get(0);
+        User deleted = this.users.get(4);
+
+        perform(put("/comexport/contacts/{id}", updated.getId()).contentType(MediaType.APPLICATION_JSON)
+            .content("{\"owner\":{\"id\":" + owner.getId() + "},\"type\":\"mail\",\"detail\":\"changed@comexport.com\"}"), 3, 1)
+            .andExpect(status().isNoContent());
+        perform(delete("/comexport/users/{id}", deleted.getId()), 5 + ID_BLOCK, 0)
+            .andExpect(status().isNoContent());
+        // Only finding the users already gone or never created, so no deletion is recorded again
+        perform(delete("/comexport/users").contentType(MediaType.APPLICATION_JSON)
+            .content("[" + deleted.getId() + "," + Integer.MAX_VALUE + "]"), 1, 0)
+            .andExpect(status().isNoContent());
+
+        // The updated contact, then the tombstones of the deleted user and it's contacts
+        perform(get("/comexport/changes").param("since", since), 3, 1 + 1 + CONTACTS_PER_USER)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes.length()").value(1 + 1 + CONTACTS_PER_USER))
+            .andExpect(jsonPath("$.changes[0].type").value("contact"))
+            .andExpect(jsonPath("$.changes[0].kind").value("UPDATED"))
+            .andExpect(jsonPath("$.changes[0].owner").value(owner.getId()))
+            .andExpect(jsonPath("$.changes[0].contact.detail").value("changed@comexport.com"))
+            .andExpect(jsonPath("$.changes[?(@.type == 'user')].kind").value("DELETED"))
+            .andExpect(jsonPath("$.changes[?(@.type == 'user')].id").value(deleted.getId()))
+            .andExpect(jsonPath("$.more").value(false));
+    }
+
+    @Test
+    void rejectsAnInvalidPositionWithoutTouchingTheDatabase() throws Exception {
+        perform(get("/comexport/changes").param("since", "not a token"), 0, 0)
+            .andExpect(status().isBadRequest());
+        perform(get("/comexport/changes").param("since", "0").param("limit", "0"), 0, 0)
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void answersGoneWhenTheDeletionsMayHaveBeenRemoved() throws Exception {
+        perform(get("/comexport/changes").param("since", "1000"), 0, 0)
+            .andExpect(status().isGone());
+    }
+}
@@ -0,0 +1,91 @@
+package com.comexport.Controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.comexport.Models.Contact;
+import com.comexport.Models.User;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+class ContactControllerTest extends StatementCountSupport {
+
+    private String contact(User owner) {
+        return "{\"owner\":{\"id\":" + owner.getId() + "},\"type\":\"mail\",\"detail\":\"contact@comexport.com\"}";
+    }
+
+    @Test
+    void listsAPageOfContacts() throws Exception {
+        // The contacts are read straight into DTOs, none is loaded
+        perform(get("/comexport/contacts").param("limit", "10"), 1, 0, 10 + 1)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(10));
+    }
+
+    @Test
+    void listsTheContactsOfAnOwner() throws Exception {
+        User owner = this.users.get(4);
+        perform(get("/comexport/contacts").param("owner", owner.getId().toString()), 1, 0, CONTACTS_PER_USER)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(CONTACTS_PER_USER));
+    }
+
+    @Test
+    void getsAContactAndServesItFromTheCacheAfterwards() throws Exception {
+        Contact contact = this.contacts.get(7);
+        // The version and the contact
+        perform(get("/comexport/contacts/{id}", contact.getId()), 2, 1)
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG));
+        performCached(get("/comexport/contacts/{id}", contact.getId()), 1, 0)
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void answersAnUnchangedContactWithNotModified() throws Exception {
+        Contact contact = this.contacts.get(7);
+        String eTag = perform(get("/comexport/contacts/{id}", contact.getId()), 2, 1)
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        perform(get("/comexport/contacts/{id}", contact.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag), 1, 0)
+            .andExpect(status().isNotModified());
+        perform(get("/comexport/contacts/{id}", contact.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""), 2, 1)
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void createsAContact() throws Exception {
+        perform(post("/comexport/contacts").contentType(MediaType.APPLICATION_JSON).content(contact(this.users.get(2))), 1, 0)
+            .andExpect(status().isCreated());
+    }
+
+    @Test
+    void updatesAContact() throws Exception {
+        Contact contact = this.contacts.get(9);
+        // The contact and it's previous owner are read, then both are updated
+        perform(put("/comexport/contacts/{id}", contact.getId()).contentType(MediaType.APPLICATION_JSON).content(contact(this.users.get(6))), 4, 2)
+            .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void deletesAContact() throws Exception {
+        Contact contact = this.contacts.get(11);
+        // The contact and it's owner are read, the contact deleted, it's tombstone inserted and the owner updated
+        perform(delete("/comexport/contacts/{id}", contact.getId()), 5 + ID_BLOCK, 2)
+            .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void deletesNoMissingContact() throws Exception {
+        // Only the lookup, nothing deleted or recorded
+        perform(delete("/comexport/contacts/{id}", -1), 1, 0)
+            .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,52 @@
+package com.comexport.Controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import com.comexport.Configurations.AsyncConfiguration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {"comexport.async.threads = 1", "comexport.async.queue-capacity = 1"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RejectedExecutionAdviceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier(AsyncConfiguration.DATABASE_EXECUTOR)
+    private ExecutorService databaseExecutor;
+
+    @Test
+    void rejectsRequestsWhileTheDatabaseExecutorIsSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // One task holding the only thread and another one filling the queue
+            for (int i = 0; i < 2; i++) {
+                this.databaseExecutor.submit(() -> {
+                    release.await();
+                    return null;
+                });
+            }
+
+            this.mockMvc.perform(get("/comexport/users/{id}", 1))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.comexport.Controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import com.comexport.Models.Contact;
+import com.comexport.Models.User;
+import com.comexport.Repositories.ContactRepository;
+import com.comexport.Repositories.UserRepository;
+import com.comexport.Services.UserEmailService;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Seeds an embedded database and drives requests through MockMvc, failing whenever a request
+ * prepares more SQL statements, loads more entities or reads more query rows than its endpoint is allowed to.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+abstract class StatementCountSupport {
+
+    /** How many users are seeded before each test. */
+    protected static final int USERS = 20;
+
+    /** How many contacts each seeded user has. */
+    protected static final int CONTACTS_PER_USER = 3;
+
+    /** The statement a request may prepare when it reserves the next block of tombstone ids. */
+    protected static final int ID_BLOCK = 1;
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected ContactRepository contactRepository;
+
+    @Autowired
+    protected UserEmailService userEmailService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** The seeded users, ordered by id. */
+    protected List<User> users;
+
+    /** The seeded contacts, ordered by owner and id. */
+    protected List<Contact> contacts;
+
+    @BeforeEach
+    void seed() {
+        this.users = new ArrayList<>();
+        this.contacts = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            this.users.add(this.userRepository.save(User
+                .builder()
+                .name("User " + i)
+                .email("user" + i + "@comexport.com")
+                .dateOfBirth(new Date(0))
+                .address("Street " + i)
+                .creationDate(new Date())
+                .lastUpdate(new Date())
+                .build()));
+        }
+        for (User user : this.users) {
+            for (int i = 0; i < CONTACTS_PER_USER; i++) {
+                this.contacts.add(this.contactRepository.save(Contact
+                    .builder()
+                    .owner(user.getId())
+                    .type("phone")
+                    .detail("555-" + user.getId() + "-" + i)
+                    .creationDate(new Date())
+                    .lastUpdate(new Date())
+                    .build()));
+            }
+        }
+        // Only the seeded emails may be taken, so any other one is answered without a query
+        this.userEmailService.rebuild();
+    }
+
+    @AfterEach
+    void clean() {
+        this.jdbcTemplate.update("delete from tombstone");
+        this.jdbcTemplate.update("delete from contact");
+        this.jdbcTemplate.update("delete from user");
+        this.clearCaches();
+    }
+
+    /**
+     * The perform(RequestBuilder, long, long) method will drive a request with empty caches, the entity cache
+     * included, asserting how many statements were prepared and how many entities were loaded while serving it.
+     *
+     * @param request         - The request to be performed.
+     * @param maxStatements   - The most SQL statements the request may prepare.
+     * @param maxEntities     - The most entities the request may load.
+     * @return ResultActions  - The performed request, for further expectations.
+     */
+    protected ResultActions perform(RequestBuilder request, long maxStatements, long maxEntities) throws Exception {
+        return this.perform(request, maxStatements, maxEntities, Long.MAX_VALUE);
+    }
+
+    /**
+     * The perform(RequestBuilder, long, long, long) method will drive a request with empty caches, the entity cache
+     * included, asserting how many statements were prepared, how many entities were loaded and how many rows
+     * the queries returned while serving it. Rows read into DTOs load no entity, so only the row bound catches
+     * an endpoint reading more of them than it serves.
+     *
+     * @param request         - The request to be performed.
+     * @param maxStatements   - The most SQL statements the request may prepare.
+     * @param maxEntities     - The most entities the request may load.
+     * @param maxRows         - The most rows the request's queries may return.
+     * @return ResultActions  - The performed request, for further expectations.
+     */
+    protected ResultActions perform(RequestBuilder request, long maxStatements, long maxEntities, long maxRows) throws Exception {
+        this.clearCaches();
+        return this.performCached(request, maxStatements, maxEntities, maxRows);
+    }
+
+    /**
+     * The performCached(RequestBuilder, long, long) method will drive a request keeping whatever is cached,
+     * asserting how many statements were prepared and how many entities were loaded while serving it.
+     *
+     * @param request         - The request to be performed.
+     * @param maxStatements   - The most SQL statements the request may prepare.
+     * @param maxEntities     - The most entities the request may load.
+     * @return ResultActions  - The performed request, for further expectations.
+     */
+    protected ResultActions performCached(RequestBuilder request, long maxStatements, long maxEntities) throws Exception {
+        return this.performCached(request, maxStatements, maxEntities, Long.MAX_VALUE);
+    }
+
+    /**
+     * The performCached(RequestBuilder, long, long, long) method will drive a request keeping whatever is cached,
+     * asserting how many statements were prepared, how many entities were loaded and how many rows the queries
+     * returned while serving it.
+     *
+     * @param request         - The request to be performed.
+     * @param maxStatements   - The most SQL statements the request may prepare.
+     * @param maxEntities     - The most entities the request may load.
+     * @param maxRows         - The most rows the request's queries may return.
+     * @return ResultActions  - The performed request, for further expectations.
+     */
+    protected ResultActions performCached(RequestBuilder request, long maxStatements, long maxEntities, long maxRows)
+            throws Exception {
+        Statistics statistics = this.entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ResultActions result = this.mockMvc.perform(request);
+        MvcResult started = result.andReturn();
+        if (started.getRequest().isAsyncStarted()) {
+            // Waiting for the database executor before dispatching the result
+            started.getAsyncResult();
+            result = this.mockMvc.perform(asyncDispatch(started));
+        }
+
+        assertThat(statistics.getPrepareStatementCount())
+            .as("SQL statements prepared")
+            .isLessThanOrEqualTo(maxStatements);
+        assertThat(statistics.getEntityLoadCount())
+            .as("entities loaded")
+            .isLessThanOrEqualTo(maxEntities);
+        assertThat(rowsRead(statistics))
+            .as("query rows read")
+            .isLessThanOrEqualTo(maxRows);
+        return result;
+    }
+
+    /**
+     * The secondLevelCachePuts(Class<?>) method will count the entities put into an entity's second-level cache region
+     * by the last request performed.
+     *
+     * @param entity          - The cached entity.
+     * @return long           - How many entities were put into it's region.
+     */
+    protected long secondLevelCachePuts(Class<?> entity) {
+        return this.entityManagerFactory
+            .unwrap(SessionFactory.class)
+            .getStatistics()
+            .getDomainDataRegionStatistics(entity.getName())
+            .getPutCount();
+    }
+
+    /** The rows returned by every query run since the statistics were cleared, projections and native queries included. */
+    private static long rowsRead(Statistics statistics) {
+        long rows = 0;
+        for (String query : statistics.getQueries()) {
+            rows += statistics.getQueryStatistics(query).getExecutionRowCount();
+        }
+        return rows;
+    }
+
+    private void clearCaches() {
+        this.entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        for (String name : this.cacheManager.getCacheNames()) {
+            this.cacheManager.getCache(name).clear();
+        }
+    }
+}
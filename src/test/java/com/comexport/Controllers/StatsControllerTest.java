@@ -0,0 +1,66 @@
+package com.comexport.Controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+import com.comexport.Models.User;
+import com.comexport.Services.StatsService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class StatsControllerTest extends StatementCountSupport {
+
+    @Autowired
+    private StatsService statsService;
+
+    @BeforeEach
+    void invalidate() {
+        this.statsService.invalidate();
+    }
+
+    @Test
+    void aggregatesTheUsersAndContacts() throws Exception {
+        this.userRepository.save(User
+            .builder()
+            .name("Teenager")
+            .dateOfBirth(java.sql.Date.valueOf(LocalDate.now().minusYears(15)))
+            .creationDate(new Date())
+            .lastUpdate(new Date())
+            .build());
+        this.userRepository.save(User.builder().name("Ageless").creationDate(new Date()).lastUpdate(new Date()).build());
+
+        // One GROUP BY query for each aggregate, no entity being loaded
+        perform(get("/comexport/stats"), 3, 0)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.ageBands.0-17").value(1))
+            .andExpect(jsonPath("$.ageBands.18-24").value(0))
+            .andExpect(jsonPath("$.ageBands.unknown").value(1))
+            .andExpect(jsonPath("$.ageBands.length()").value(8))
+            .andExpect(jsonPath("$.contactsPerUser.0").value(2))
+            .andExpect(jsonPath("$.contactsPerUser." + CONTACTS_PER_USER).value(USERS))
+            .andExpect(jsonPath("$.contactsByType.phone").value(USERS * CONTACTS_PER_USER))
+            .andExpect(jsonPath("$.computedAt").exists());
+    }
+
+    @Test
+    void servesTheComputedAggregatesUntilTheyAreRefreshed() throws Exception {
+        perform(get("/comexport/stats"), 3, 0)
+            .andExpect(jsonPath("$.contactsByType.phone").value(USERS * CONTACTS_PER_USER));
+
+        this.contactRepository.deleteAll(this.contacts.subList(0, CONTACTS_PER_USER));
+        performCached(get("/comexport/stats"), 0, 0)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contactsByType.phone").value(USERS * CONTACTS_PER_USER));
+
+        this.statsService.invalidate();
+        performCached(get("/comexport/stats"), 3, 0)
+            .andExpect(jsonPath("$.contactsByType.phone").value((USERS - 1) * CONTACTS_PER_USER))
+            .andExpect(jsonPath("$.contactsPerUser.0").value(1));
+    }
+}
@@ -0,0 +1,480 @@
+package com.comexport.Controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Collections;
+import java.util.Date;
+
+import com.comexport.Models.Contact;
+import com.comexport.Models.User;
+import com.comexport.Services.CacheService;
+import com.comexport.Services.UserSearchService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+class UserControllerTest extends StatementCountSupport {
+
+    @Autowired
+    private UserSearchService userSearchService;
+
+    @Autowired
+    private CacheService cacheService;
+
+    private static final String USER = "{\"name\":\"New User\",\"email\":\"new@comexport.com\","
+        + "\"dateOfBirth\":\"1990-05-01\",\"address\":\"New Street\",\"contacts\":["
+        + "{\"type\":\"phone\",\"detail\":\"555-0001\"},"
+        + "{\"type\":\"phone\",\"detail\":\"555-0002\"},"
+        + "{\"type\":\"mail\",\"detail\":\"new@comexport.com\"}]}";
+
+    @Test
+    void listsAPageOfUsersWithTheirContacts() throws Exception {
+        // The users and their contacts are read straight into DTOs, no entity is loaded:
+        // one user past the page tells whether there is a next one, and only the page's contacts are read
+        perform(get("/comexport/users").param("limit", "5").param("expand", "contacts"), 2, 0, 5 + 1 + 5 * CONTACTS_PER_USER)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(5))
+            .andExpect(jsonPath("$[0].contacts.length()").value(CONTACTS_PER_USER));
+    }
+
+    @Test
+    void listsUsersWithoutContactsUnlessExpanded() throws Exception {
+        perform(get("/comexport/users").param("limit", "5"), 1, 0, 5 + 1)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(5))
+            .andExpect(jsonPath("$[0].name").exists())
+            .andExpect(jsonPath("$[0].contacts").doesNotExist());
+    }
+
+    @Test
+    void listsOnlyTheRequestedFields() throws Exception {
+        perform(get("/comexport/users").param("limit", "5").param("fields", "name,age"), 1, 0, 5 + 1)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").value("User 0"))
+            .andExpect(jsonPath("$[0].age").exists())
+            .andExpect(jsonPath("$[0].id").doesNotExist())
+            .andExpect(jsonPath("$[0].email").doesNotExist())
+            .andExpect(jsonPath("$[0].creationDate").doesNotExist())
+            .andExpect(header().exists(HttpHeaders.LINK));
+    }
+
+    @Test
+    void servesTheNullFieldsUnlessLeftOut() throws Exception {
+        User user = this.userRepository.save(User
+            .builder()
+            .name("Homeless")
+            .email("homeless@comexport.com")
+            .dateOfBirth(new Date(0))
+            .creationDate(new Date())
+            .lastUpdate(new Date())
+            .build());
+
+        // The version, the user and it's lack of contacts
+        perform(get("/comexport/users/{id}", user.getId()), 3, 1)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.address").value(nullValue()))
+            .andExpect(jsonPath("$.contacts").doesNotExist());
+        perform(get("/comexport/users").param("email", user.getEmail()), 1, 0, 1)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].address").value(nullValue()));
+        perform(get("/comexport/users/{id}", user.getId()).param("fields", "name,address"), 3, 1)
+            .andExpect(jsonPath("$.address").value(nullValue()))
+            .andExpect(jsonPath("$.email").doesNotExist());
+        perform(get("/comexport/users/{id}", user.getId()).param("fields", "name"), 3, 1)
+            .andExpect(jsonPath("$.name").value("Homeless"))
+            .andExpect(jsonPath("$.address").doesNotExist());
+    }
+
+    @Test
+    void rejectsUnknownFieldsWithoutTouchingTheDatabase() throws Exception {
+        perform(get("/comexport/users").param("fields", "name,password"), 0, 0)
+            .andExpect(status().isBadRequest());
+        perform(get("/comexport/users").param("expand", "friends"), 0, 0)
+            .andExpect(status().isBadRequest());
+        perform(get("/comexport/users/{id}", this.users.get(3).getId()).param("fields", "password"), 0, 0)
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listsUsersFilteredByEmail() throws Exception {
+        perform(get("/comexport/users").param("email", "user7@comexport.com"), 1, 0, 1)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void listsNothingAfterTheLastUser() throws Exception {
+        User last = this.users.get(USERS - 1);
+        perform(get("/comexport/users").param("after", last.getId().toString()), 1, 0, 0)
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportsEveryUserInTwoStatements() throws Exception {
+        perform(get("/comexport/users/export"), 2, USERS * (1 + CONTACTS_PER_USER))
+            .andExpect(status().isOk());
+        // Streamed past the entity cache, so the users it holds are not evicted by the exported ones
+        assertThat(secondLevelCachePuts(User.class)).isZero();
+        assertThat(secondLevelCachePuts(Contact.class)).isZero();
+    }
+
+    @Test
+    void searchesUsersWithoutTouchingTheDatabase() throws Exception {
+        this.userRepository.save(User
+            .builder()
+            .name("Zéfiro Quintanilha")
+            .email("zefiro@comexport.com")
+            .lastUpdate(new Date())
+            .build());
+        this.userSearchService.refresh();
+
+        perform(get("/comexport/users/search").param("q", "zefiro quint"), 0, 0)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].name").value("Zéfiro Quintanilha"));
+        perform(get("/comexport/users/search").param("q", "quintanila"), 0, 0)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].email").value("zefiro@comexport.com"));
+    }
+
+    @Test
+    void searchesCreatedUsersRightAway() throws Exception {
+        this.userSearchService.refresh();
+        perform(post("/comexport/users").contentType(MediaType.APPLICATION_JSON).content(USER), 1 + 3, 0)
+            .andExpect(status().isCreated());
+
+        perform(get("/comexport/users/search").param("q", "new@").param("limit", "1"), 0, 0)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").value("New User"));
+    }
+
+    @Test
+    void rejectsABlankSearch() throws Exception {
+        perform(get("/comexport/users/search").param("q", " "), 0, 0)
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getsAUserAndServesItFromTheCacheAfterwards() throws Exception {
+        User user = this.users.get(3);
+        // The version, the user and it's contacts
+        perform(get("/comexport/users/{id}", user.getId()).param("expand", "contacts"), 3, 1 + CONTACTS_PER_USER,
+                1 + CONTACTS_PER_USER)
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andExpect(jsonPath("$.contacts.length()").value(CONTACTS_PER_USER));
+        performCached(get("/comexport/users/{id}", user.getId()).param("fields", "id,email"), 1, 0)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value(user.getEmail()))
+            .andExpect(jsonPath("$.name").doesNotExist())
+            .andExpect(jsonPath("$.contacts").doesNotExist());
+        // The cached user is left whole by the previous selection
+        performCached(get("/comexport/users/{id}", user.getId()).param("expand", "contacts"), 1, 0)
+            .andExpect(jsonPath("$.name").value(user.getName()))
+            .andExpect(jsonPath("$.contacts.length()").value(CONTACTS_PER_USER));
+    }
+
+    @Test
+    void readsAUserFromTheEntityCacheOnceItsRepresentationIsEvicted() throws Exception {
+        User user = this.users.get(3);
+        perform(get("/comexport/users/{id}", user.getId()).param("expand", "contacts"), 3, 1 + CONTACTS_PER_USER);
+        this.cacheService.evictUser(user.getId());
+        long userHits = this.hitCount("com.comexport.Models.User");
+        long contactHits = this.hitCount("com.comexport.Models.Contact");
+
+        // Only the version is read, the user and it's contacts coming from the entity and query caches
+        performCached(get("/comexport/users/{id}", user.getId()).param("expand", "contacts"), 1, 0)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(user.getName()))
+            .andExpect(jsonPath("$.contacts.length()").value(CONTACTS_PER_USER));
+        assertThat(this.hitCount("com.comexport.Models.User") - userHits).isEqualTo(1);
+        assertThat(this.hitCount("com.comexport.Models.Contact") - contactHits).isEqualTo(CONTACTS_PER_USER);
+    }
+
+    @Test
+    void keepsTheOtherUsersInTheEntityCacheWhenAContactIsDeleted() throws Exception {
+        User owner = this.users.get(3);
+        User other = this.users.get(4);
+        perform(get("/comexport/users/{id}", owner.getId()), 3, 1 + CONTACTS_PER_USER);
+        performCached(get("/comexport/users/{id}", other.getId()), 3, 1 + CONTACTS_PER_USER);
+
+        // The owner is marked as updated through it's cached entity, which drops that user alone
+        performCached(delete("/comexport/contacts/{id}", this.contacts.get(3 * CONTACTS_PER_USER).getId()), 4 + ID_BLOCK, 0)
+            .andExpect(status().isNoContent());
+        this.cacheService.evictUser(other.getId());
+        long userHits = this.hitCount("com.comexport.Models.User");
+
+        performCached(get("/comexport/users/{id}", other.getId()), 3, CONTACTS_PER_USER)
+            .andExpect(jsonPath("$.name").value(other.getName()));
+        assertThat(this.hitCount("com.comexport.Models.User") - userHits).isEqualTo(1);
+    }
+
+    @Test
+    void dropsUpdatedAndDeletedUsersFromTheEntityCache() throws Exception {
+        User updated = this.users.get(3);
+        User deleted = this.users.get(4);
+        perform(get("/comexport/users/{id}", updated.getId()), 3, 1 + CONTACTS_PER_USER);
+        performCached(get("/comexport/users/{id}", deleted.getId()), 3, 1 + CONTACTS_PER_USER);
+
+        // Read from the entity and query caches, the user is updated and it's contacts replaced by two batches, then one of tombstones
+        performCached(put("/comexport/users/{id}", updated.getId()).contentType(MediaType.APPLICATION_JSON).content(USER), 4 + ID_BLOCK, 0)
+            .andExpect(status().isNoContent());
+        performCached(get("/comexport/users/{id}", updated.getId()), 3, 1 + CONTACTS_PER_USER)
+            .andExpect(jsonPath("$.email").value("new@comexport.com"));
+
+        performCached(delete("/comexport/users/{id}", deleted.getId()), 5 + ID_BLOCK, 0)
+            .andExpect(status().isNoContent());
+        performCached(get("/comexport/users/{id}", deleted.getId()), 1, 0)
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void answersAnUnchangedUserWithNotModified() throws Exception {
+        User user = this.users.get(3);
+        MvcResult first = perform(get("/comexport/users/{id}", user.getId()), 3, 1 + CONTACTS_PER_USER).andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        perform(get("/comexport/users/{id}", user.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag), 1, 0)
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+        perform(get("/comexport/users/{id}", user.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified), 1, 0)
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void changesTheUserVersionWhenAContactIsDeleted() throws Exception {
+        User user = this.users.get(3);
+        String eTag = perform(get("/comexport/users/{id}", user.getId()), 3, 1 + CONTACTS_PER_USER)
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        perform(delete("/comexport/contacts/{id}", this.contacts.get(3 * CONTACTS_PER_USER).getId()), 5 + ID_BLOCK, 2)
+            .andExpect(status().isNoContent());
+
+        perform(get("/comexport/users/{id}", user.getId()).param("expand", "contacts").header(HttpHeaders.IF_NONE_MATCH, eTag),
+                3, CONTACTS_PER_USER)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.contacts.length()").value(CONTACTS_PER_USER - 1));
+    }
+
+    @Test
+    void getsNoMissingUser() throws Exception {
+        perform(get("/comexport/users/{id}", -1), 1, 0)
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void createsAUserWithItsContacts() throws Exception {
+        // The user's insert, then a single batch inserting it's three contacts
+        perform(post("/comexport/users").contentType(MediaType.APPLICATION_JSON).content(USER), 2, 0)
+            .andExpect(status().isCreated());
+    }
+
+    @Test
+    void stampsTheCreationDateOfANewUserAndItsContacts() throws Exception {
+        Date start = new Date();
+        String backdated = USER
+            .replace("\"address\"", "\"creationDate\":\"2000-01-01T00:00:00.000+00:00\",\"address\"")
+            .replace("{\"type\"", "{\"creationDate\":\"2000-01-01T00:00:00.000+00:00\",\"type\"");
+
+        String location = perform(post("/comexport/users").contentType(MediaType.APPLICATION_JSON).content(backdated), 2, 0)
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        Integer id = Integer.valueOf(location.substring(location.lastIndexOf('/') + 1));
+        assertThat(this.userRepository.findById(id).get().getCreationDate()).isAfterOrEqualTo(start);
+        assertThat(this.contactRepository.findAllById(this.contactRepository.findIdsByOwnerIn(Collections.singletonList(id))))
+            .hasSize(3)
+            .allSatisfy(contact -> assertThat(contact.getCreationDate()).isAfterOrEqualTo(start));
+
+        perform(post("/comexport/users/batch").contentType(MediaType.APPLICATION_JSON)
+            .content("[" + backdated.replace("new@", "imported@") + "]"), 2, 0)
+            .andExpect(status().isOk());
+        assertThat(this.userRepository.findAll())
+            .filteredOn(user -> user.getEmail().equals("imported@comexport.com"))
+            .hasSize(1)
+            .allSatisfy(user -> assertThat(user.getCreationDate()).isAfterOrEqualTo(start));
+    }
+
+    @Test
+    void createsAUserWithManyContactsInAFewStatements() throws Exception {
+        StringBuilder contacts = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            contacts.append(i == 0 ? "" : ",").append("{\"type\":\"phone\",\"detail\":\"555-").append(i).append("\"}");
+        }
+        String user = "{\"name\":\"Busy User\",\"email\":\"busy@comexport.com\",\"dateOfBirth\":\"1990-05-01\","
+            + "\"contacts\":[" + contacts + "]}";
+
+        String location = perform(post("/comexport/users").contentType(MediaType.APPLICATION_JSON).content(user), 2, 0)
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        perform(get(location).param("expand", "contacts"), 3, 51)
+            .andExpect(jsonPath("$.contacts.length()").value(50));
+    }
+
+    @Test
+    void rejectsAnIncompleteUserWithoutTouchingTheDatabase() throws Exception {
+        perform(post("/comexport/users").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Nameless\"}"), 0, 0)
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importsABatchOfUsers() throws Exception {
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < 10; i++) {
+            batch.append(i == 0 ? "" : ",").append(USER.replace("new@", "new" + i + "@"));
+        }
+        perform(post("/comexport/users/batch").contentType(MediaType.APPLICATION_JSON).content(batch.append("]").toString()), 2, 0)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(10));
+    }
+
+    @Test
+    void rejectsTheRepeatedAndTakenEmailsOfABatch() throws Exception {
+        String batch = "[" + USER + "," + USER.replace("new@", "NEW@") + "," + USER.replace("new@", "user3@") + "]";
+        perform(post("/comexport/users/batch").contentType(MediaType.APPLICATION_JSON).content(batch), 3, 0)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status").value("CREATED"))
+            .andExpect(jsonPath("$[1].status").value("REJECTED"))
+            .andExpect(jsonPath("$[2].status").value("REJECTED"));
+    }
+
+    @Test
+    void checksAnEmailOnTheDatabaseOnlyIfItMayBeTaken() throws Exception {
+        perform(head("/comexport/users").param("email", "USER3@comexport.com"), 1, 0)
+            .andExpect(status().isOk());
+        perform(head("/comexport/users").param("email", "new@comexport.com"), 0, 0)
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rejectsATakenEmailWithoutCreatingTheUser() throws Exception {
+        perform(post("/comexport/users").contentType(MediaType.APPLICATION_JSON).content(USER.replace("new@", "user3@")), 1, 0)
+            .andExpect(status().isConflict());
+        assertThat(this.userRepository.count()).isEqualTo(USERS);
+    }
+
+    @Test
+    void rejectsAnEmailTheFilterHasNotSeenThroughTheUniqueIndex() throws Exception {
+        // Saved behind the filter's back, as by another instance before the next refresh
+        this.userRepository.save(User.builder().name("Hidden").email("new@comexport.com").dateOfBirth(new Date(0))
+            .creationDate(new Date()).lastUpdate(new Date()).build());
+
+        perform(post("/comexport/users").contentType(MediaType.APPLICATION_JSON).content(USER), 2, 0)
+            .andExpect(status().isConflict());
+        assertThat(this.userRepository.count()).isEqualTo(USERS + 1);
+    }
+
+    @Test
+    void rejectsTheEmailOfAnotherUserLeavingTheUserUnchanged() throws Exception {
+        User user = this.users.get(5);
+        String taken = "{\"email\":\"" + this.users.get(6).getEmail() + "\",\"dateOfBirth\":\"1990-05-01\"}";
+        perform(put("/comexport/users/{id}", user.getId()).contentType(MediaType.APPLICATION_JSON).content(taken), 2, 1)
+            .andExpect(status().isConflict());
+
+        perform(get("/comexport/users/{id}", user.getId()).param("expand", "contacts"), 3, 1 + CONTACTS_PER_USER)
+            .andExpect(jsonPath("$.email").value(user.getEmail()));
+    }
+
+    @Test
+    void updatesAUserKeepingItsContacts() throws Exception {
+        User user = this.users.get(5);
+        String withoutContacts = "{\"email\":\"kept@comexport.com\",\"dateOfBirth\":\"1990-05-01\",\"address\":\"Kept Street\"}";
+        perform(put("/comexport/users/{id}", user.getId()).contentType(MediaType.APPLICATION_JSON).content(withoutContacts), 2, 1)
+            .andExpect(status().isNoContent());
+
+        perform(get("/comexport/users/{id}", user.getId()).param("expand", "contacts"), 3, 1 + CONTACTS_PER_USER)
+            .andExpect(jsonPath("$.email").value("kept@comexport.com"))
+            .andExpect(jsonPath("$.contacts.length()").value(CONTACTS_PER_USER));
+    }
+
+    @Test
+    void replacesTheContactsOfAnUpdatedUser() throws Exception {
+        User user = this.users.get(5);
+        Contact changed = this.contacts.get(5 * CONTACTS_PER_USER);
+        Contact unchanged = this.contacts.get(5 * CONTACTS_PER_USER + 1);
+        String replacement = "{\"email\":\"new@comexport.com\",\"dateOfBirth\":\"1990-05-01\",\"contacts\":["
+            + "{\"id\":" + changed.getId() + ",\"type\":\"mail\",\"detail\":\"changed@comexport.com\"},"
+            + "{\"id\":" + unchanged.getId() + ",\"type\":\"" + unchanged.getType() + "\",\"detail\":\"" + unchanged.getDetail() + "\"},"
+            + "{\"type\":\"phone\",\"detail\":\"555-0001\"},"
+            + "{\"type\":\"phone\",\"detail\":\"555-0002\"}]}";
+
+        // The user and it's contacts read, the user's update, then one batch for each kind of contact change and one of tombstones
+        perform(put("/comexport/users/{id}", user.getId()).contentType(MediaType.APPLICATION_JSON).content(replacement),
+                2 + 1 + 4 + ID_BLOCK, 1 + CONTACTS_PER_USER)
+            .andExpect(status().isNoContent());
+
+        perform(get("/comexport/users/{id}", user.getId()).param("expand", "contacts"), 3, 1 + 4)
+            .andExpect(jsonPath("$.contacts.length()").value(4))
+            .andExpect(jsonPath("$.contacts[0].id").value(changed.getId()))
+            .andExpect(jsonPath("$.contacts[0].detail").value("changed@comexport.com"))
+            .andExpect(jsonPath("$.contacts[1].id").value(unchanged.getId()))
+            .andExpect(jsonPath("$.contacts[2].detail").value("555-0001"));
+        assertThat(this.contactRepository.findById(unchanged.getId()).get().getLastUpdate().getTime())
+            .isEqualTo(unchanged.getLastUpdate().getTime());
+    }
+
+    @Test
+    void rejectsTheContactOfAnotherUserLeavingTheUserUnchanged() throws Exception {
+        User user = this.users.get(5);
+        Contact foreign = this.contacts.get(6 * CONTACTS_PER_USER);
+        String replacement = "{\"email\":\"new@comexport.com\",\"dateOfBirth\":\"1990-05-01\",\"contacts\":["
+            + "{\"id\":" + foreign.getId() + ",\"type\":\"phone\",\"detail\":\"555-0001\"}]}";
+
+        perform(put("/comexport/users/{id}", user.getId()).contentType(MediaType.APPLICATION_JSON).content(replacement),
+                2, 1 + CONTACTS_PER_USER)
+            .andExpect(status().isBadRequest());
+
+        perform(get("/comexport/users/{id}", user.getId()).param("expand", "contacts"), 3, 1 + CONTACTS_PER_USER)
+            .andExpect(jsonPath("$.email").value(user.getEmail()))
+            .andExpect(jsonPath("$.contacts.length()").value(CONTACTS_PER_USER));
+    }
+
+    @Test
+    void deletesAUserWithItsContacts() throws Exception {
+        User user = this.users.get(8);
+        perform(delete("/comexport/users/{id}", user.getId()), 5 + ID_BLOCK, 0)
+            .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void deletesNoMissingUser() throws Exception {
+        // Only the lookup, nothing deleted or recorded
+        perform(delete("/comexport/users/{id}", -1), 1, 0)
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deletesManyUsersWithTheirContacts() throws Exception {
+        StringBuilder ids = new StringBuilder("[");
+        for (int i = 0; i < 10; i++) {
+            ids.append(i == 0 ? "" : ",").append(this.users.get(i).getId());
+        }
+        perform(delete("/comexport/users").contentType(MediaType.APPLICATION_JSON).content(ids.append("]").toString()), 5 + ID_BLOCK, 0)
+            .andExpect(status().isNoContent());
+    }
+
+    private long hitCount(String cache) {
+        return this.cacheService
+            .statistics()
+            .stream()
+            .filter(statistics -> statistics.getName().equals(cache))
+            .findFirst()
+            .get()
+            .getHitCount();
+    }
+}
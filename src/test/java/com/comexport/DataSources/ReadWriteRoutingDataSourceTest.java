@@ -0,0 +1,141 @@
+package com.comexport.DataSources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routes transactions between two embedded databases, telling them apart by their names.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String PRIMARY = "ROUTING_PRIMARY";
+
+    private static final String REPLICA = "ROUTING_REPLICA";
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readOnly;
+
+    private TransactionTemplate readWrite;
+
+    @AfterEach
+    void close() throws Exception {
+        RoutingContext.clear();
+        RoutingContext.setReadingPrimary(false);
+        this.routingDataSource.destroy();
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToTheReplica() {
+        this.route(true, embedded(REPLICA));
+
+        assertThat(this.readOnlyDatabase()).isEqualTo(REPLICA);
+        assertThat(this.readWriteDatabase()).isEqualTo(PRIMARY);
+        // Outside of a transaction nothing tells a read apart from a write
+        assertThat(this.database()).isEqualTo(PRIMARY);
+    }
+
+    @Test
+    void keepsReadingFromThePrimaryAfterAWrite() {
+        this.route(true, embedded(REPLICA));
+
+        this.readWriteDatabase();
+        assertThat(this.readOnlyDatabase()).isEqualTo(PRIMARY);
+
+        RoutingContext.clear();
+        assertThat(this.readOnlyDatabase()).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void readsFromTheReplicaAfterAWriteWithoutReadYourWrites() {
+        this.route(false, embedded(REPLICA));
+
+        this.readWriteDatabase();
+        assertThat(this.readOnlyDatabase()).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void readsFromThePrimaryWhenTheReadMustBeCurrent() {
+        this.route(true, embedded(REPLICA));
+
+        RoutingContext.setReadingPrimary(true);
+        assertThat(this.readOnlyDatabase()).isEqualTo(PRIMARY);
+
+        RoutingContext.setReadingPrimary(false);
+        assertThat(this.readOnlyDatabase()).isEqualTo(REPLICA);
+    }
+
+    @Test
+    void failsOverToThePrimaryWhenTheReplicaIsUnreachable() {
+        JdbcDataSource missing = embedded("ROUTING_MISSING");
+        missing.setURL(missing.getURL() + ";IFEXISTS=TRUE");
+        this.route(true, missing);
+
+        assertThat(this.readOnlyDatabase()).isEqualTo(PRIMARY);
+        assertThat(this.routingDataSource.isAvailable("replica")).isFalse();
+    }
+
+    @Test
+    void skipsUnhealthyReplicasUntilTheyRecover() {
+        JdbcDataSource missing = embedded("ROUTING_LATE");
+        missing.setURL(missing.getURL() + ";IFEXISTS=TRUE");
+        this.route(true, missing);
+
+        this.routingDataSource.checkHealth();
+        assertThat(this.routingDataSource.isAvailable("replica")).isFalse();
+        assertThat(this.readOnlyDatabase()).isEqualTo(PRIMARY);
+
+        // Creating the replica's database, which makes it reachable
+        new JdbcTemplate(embedded("ROUTING_LATE")).execute("select 1");
+        this.routingDataSource.checkHealth();
+        assertThat(this.routingDataSource.isAvailable("replica")).isTrue();
+        assertThat(this.readOnlyDatabase()).isEqualTo("ROUTING_LATE");
+    }
+
+    private void route(boolean readYourWrites, DataSource replica) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica", replica);
+        this.routingDataSource = new ReadWriteRoutingDataSource(embedded(PRIMARY), replicas, readYourWrites, 0, 1);
+        this.routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(this.routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    private String readOnlyDatabase() {
+        return this.readOnly.execute(status -> this.database());
+    }
+
+    private String readWriteDatabase() {
+        return this.readWrite.execute(status -> this.database());
+    }
+
+    private String database() {
+        return this.jdbcTemplate.queryForObject("select database()", String.class);
+    }
+
+    private static JdbcDataSource embedded(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
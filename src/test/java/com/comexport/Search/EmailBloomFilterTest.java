@@ -0,0 +1,56 @@
+package com.comexport.Search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class EmailBloomFilterTest {
+
+    @Test
+    void neverReportsAnAddedEmailAsMissingIgnoringCase() {
+        EmailBloomFilter filter = new EmailBloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.add("User" + i + "@Comexport.com");
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            assertThat(filter.mightContain(" user" + i + "@comexport.COM")).isTrue();
+        }
+        assertThat(filter.added()).isEqualTo(10000);
+    }
+
+    @Test
+    void neverReportsAnAddedEmailAsMissingIgnoringAccents() {
+        EmailBloomFilter filter = new EmailBloomFilter(100, 0.01);
+        filter.add("Jos\u00e9@comexport.com");
+        filter.add("joao@comexport.com");
+
+        assertThat(filter.mightContain("JOSE@comexport.com")).isTrue();
+        assertThat(filter.mightContain("jose\u0301@comexport.com")).isTrue();
+        assertThat(filter.mightContain("jo\u00e3o@comexport.com")).isTrue();
+        assertThat(EmailBloomFilter.normalize(" Jos\u00e9@Comexport.com")).isEqualTo("jose@comexport.com");
+    }
+
+    @Test
+    void keepsTheFalsePositivesNearTheConfiguredRate() {
+        EmailBloomFilter filter = new EmailBloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.add("user" + i + "@comexport.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.mightContain("other" + i + "@comexport.com")) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(2000);
+        assertThat(filter.hashes()).isEqualTo(7);
+    }
+
+    @Test
+    void rejectsAnImpossibleRate() {
+        assertThatThrownBy(() -> new EmailBloomFilter(10000, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.comexport.Search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import com.comexport.DTOs.UserSearchResultDTO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UserSearchIndexTest {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void index() {
+        this.index = new UserSearchIndex(10000, 0.5);
+        this.index.index(1, "Maria da Silva", "maria.silva@comexport.com");
+        this.index.index(2, "Mariana Souza", "mariana@comexport.com");
+        this.index.index(3, "João Silveira", "joao@comexport.com");
+        this.index.index(4, "Marcos Silva", "msilva@gmail.com");
+    }
+
+    @Test
+    void ranksExactWordsAbovePrefixes() {
+        List<UserSearchResultDTO> results = this.index.search("maria", 0, 10);
+        assertThat(results).extracting(UserSearchResultDTO::getId).containsExactly(1, 2);
+        assertThat(results.get(0).getScore()).isEqualTo(1.0);
+        assertThat(results.get(1).getScore()).isLessThan(1.0);
+    }
+
+    @Test
+    void matchesEveryWordIgnoringCaseAndAccents() {
+        assertThat(this.index.search("SILV joão", 0, 10)).extracting(UserSearchResultDTO::getId).containsExactly(3);
+        assertThat(this.index.search("mar silva", 0, 10)).extracting(UserSearchResultDTO::getId).containsExactly(1, 4);
+    }
+
+    @Test
+    void matchesEmailPrefixes() {
+        assertThat(this.index.search("msilva@gm", 0, 10)).extracting(UserSearchResultDTO::getId).containsExactly(4);
+        assertThat(this.index.search("maria.s", 0, 10)).extracting(UserSearchResultDTO::getId).containsExactly(1);
+    }
+
+    @Test
+    void toleratesMisspelledWords() {
+        List<UserSearchResultDTO> results = this.index.search("silvera", 0, 10);
+        // Silveira is closer than Silva
+        assertThat(results).extracting(UserSearchResultDTO::getId).startsWith(3);
+        assertThat(results.get(0).getScore()).isLessThanOrEqualTo(0.4);
+    }
+
+    @Test
+    void pagesTheRankedResults() {
+        assertThat(this.index.search("silva", 0, 1)).extracting(UserSearchResultDTO::getId).containsExactly(1);
+        assertThat(this.index.search("silva", 1, 1)).extracting(UserSearchResultDTO::getId).containsExactly(4);
+        assertThat(this.index.search("silva", 2, 1)).isEmpty();
+    }
+
+    @Test
+    void followsUpdatesAndRemovals() {
+        this.index.index(2, "Renata Souza", "renata@comexport.com");
+        this.index.remove(4);
+
+        assertThat(this.index.search("mariana", 0, 10)).extracting(UserSearchResultDTO::getId).doesNotContain(2);
+        assertThat(this.index.search("renata", 0, 10)).extracting(UserSearchResultDTO::getId).containsExactly(2);
+        assertThat(this.index.search("marcos", 0, 10)).isEmpty();
+        assertThat(this.index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void postingListsStaySortedAndDistinct() {
+        PostingList list = new PostingList();
+        for (int id : new int[] {5, 1, 9, 3, 5, 7}) {
+            list.add(id);
+        }
+        list.remove(3);
+
+        StringBuilder ids = new StringBuilder();
+        list.forEach(id -> ids.append(id).append(' '));
+        assertThat(ids.toString()).isEqualTo("1 5 7 9 ");
+    }
+}
@@ -0,0 +1,223 @@
+package com.comexport.Tools;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.comexport.Models.Contact;
+import com.comexport.Models.User;
+
+/**
+ * Generates realistic users and contacts, the same ones for the same seed. Each user is generated from it's own
+ * random stream, derived from the seed and the user's id, so any user can be generated again on it's own,
+ * e.g. to filter by it's name, and generating more users does not change the first ones.
+ *
+ * The number of contacts of each user and their types follow the configured weights, e.g. "0:5,1:20,2:30,3:25,5:20"
+ * and "phone:45,email:30,whatsapp:20,address:5". The dates are spread over the years before a fixed instant.
+ */
+public final class DatasetGenerator {
+
+    /** The default weights of how many contacts a user has. */
+    public static final String DEFAULT_CONTACTS_PER_USER = "0:5,1:20,2:30,3:25,4:10,6:7,10:3";
+
+    /** The default weights of the contact types. */
+    public static final String DEFAULT_CONTACT_TYPES = "phone:45,email:30,whatsapp:20,address:5";
+
+    /** The default instant the dates are generated before, the day of the database dump. */
+    public static final long DEFAULT_NOW = 1595376000000L;
+
+    /** Spreads the users' random streams apart. */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /** How far back the users were created. */
+    private static final long HISTORY = TimeUnit.DAYS.toMillis(3 * 365);
+
+    private static final String[] FIRST_NAMES = {
+        "Ana", "Maria", "Julia", "Beatriz", "Mariana", "Fernanda", "Camila", "Larissa", "Gabriela", "Patrícia",
+        "Letícia", "Amanda", "Bruna", "Carolina", "Renata", "Aline", "Vanessa", "Luana", "Isabela", "Sofia",
+        "João", "José", "Pedro", "Lucas", "Gabriel", "Mateus", "Rafael", "Felipe", "Gustavo", "Bruno",
+        "Thiago", "Rodrigo", "André", "Carlos", "Eduardo", "Marcelo", "Paulo", "Ricardo", "Vinícius", "Yasser"};
+
+    private static final String[] LAST_NAMES = {
+        "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes",
+        "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes", "Vieira", "Barbosa",
+        "Rocha", "Dias", "Nascimento", "Andrade", "Moreira", "Nunes", "Marques", "Machado", "Mendes", "Freitas"};
+
+    private static final String[] STREETS = {
+        "Avenida Paulista", "Rua Augusta", "Rua da Consolação", "Avenida Brasil", "Rua Oscar Freire",
+        "Avenida Rebouças", "Rua XV de Novembro", "Avenida Atlântica", "Rua das Flores", "Avenida Sete de Setembro"};
+
+    private static final String[] CITIES = {
+        "São Paulo - SP", "Rio de Janeiro - RJ", "Belo Horizonte - MG", "Curitiba - PR", "Porto Alegre - RS",
+        "Salvador - BA", "Recife - PE", "Fortaleza - CE", "Campinas - SP", "Santos - SP"};
+
+    private static final String[] DOMAINS = {"gmail.com", "hotmail.com", "outlook.com", "yahoo.com.br", "comexport.com"};
+
+    /** The names without accents and in lower case, as they are written on emails. */
+    private static final String[] FIRST_NAMES_ASCII = ascii(FIRST_NAMES);
+
+    private static final String[] LAST_NAMES_ASCII = ascii(LAST_NAMES);
+
+    private static final int[] AREA_CODES = {11, 13, 19, 21, 31, 41, 47, 51, 61, 71, 81, 85};
+
+    private final long seed;
+
+    private final WeightedChoice<Integer> contactsPerUser;
+
+    private final WeightedChoice<String> contactTypes;
+
+    private final long now;
+
+    /** The day of the instant the dates are generated before. */
+    private final LocalDate today;
+
+    /**
+     * @param seed              - the seed every user's random stream is derived from.
+     * @param contactsPerUser   - the weights of how many contacts a user has, e.g. "0:5,1:20,3:75".
+     * @param contactTypes      - the weights of the contact types, e.g. "phone:45,email:30".
+     * @param now               - the instant the dates are generated before, in milliseconds.
+     */
+    public DatasetGenerator(long seed, String contactsPerUser, String contactTypes, long now) {
+        this.seed = seed;
+        this.contactsPerUser = WeightedChoice.parse(contactsPerUser, Integer::valueOf);
+        this.contactTypes = WeightedChoice.parse(contactTypes, type -> type);
+        this.now = now;
+        this.today = Instant.ofEpochMilli(now).atOffset(ZoneOffset.UTC).toLocalDate();
+    }
+
+    public DatasetGenerator(long seed) {
+        this(seed, DEFAULT_CONTACTS_PER_USER, DEFAULT_CONTACT_TYPES, DEFAULT_NOW);
+    }
+
+    /**
+     * The generate(int, int, int, DatasetSink) method will generate the given number of users with consecutive ids,
+     * each one followed by it's contacts, also with consecutive ids.
+     *
+     * @param firstUserId       - the first user's id.
+     * @param users             - how many users are generated.
+     * @param firstContactId    - the first contact's id.
+     * @param sink              - receives the users and contacts.
+     * @return int              - how many contacts were generated.
+     */
+    int generate(int firstUserId, int users, int firstContactId, DatasetSink sink) throws IOException, SQLException {
+        int contactId = firstContactId;
+        for (int id = firstUserId; id < firstUserId + users; id++) {
+            SplittableRandom random = this.random(id);
+            User user = this.user(id, random);
+            sink.user(user);
+
+            int contacts = this.contactsPerUser.pick(random);
+            for (int i = 0; i < contacts; i++) {
+                sink.contact(this.contact(contactId++, user, i, random));
+            }
+        }
+        return contactId - firstContactId;
+    }
+
+    /**
+     * The contacts(int, int) method will count the contacts generate(...) generates along with the given users,
+     * so their ids can be reserved beforehand.
+     *
+     * @param firstUserId       - the first user's id.
+     * @param users             - how many users are generated.
+     * @return int              - how many contacts the users have.
+     */
+    int contacts(int firstUserId, int users) {
+        long contacts = 0;
+        for (int id = firstUserId; id < firstUserId + users; id++) {
+            SplittableRandom random = this.random(id);
+            this.user(id, random);
+            contacts += this.contactsPerUser.pick(random);
+        }
+        return Math.toIntExact(contacts);
+    }
+
+    /**
+     * The user(int) method will generate the user of the given id again, as generate(...) did.
+     *
+     * @param id        - the user's id.
+     * @return User     - the generated user.
+     */
+    public User user(int id) {
+        return this.user(id, this.random(id));
+    }
+
+    private User user(int id, SplittableRandom random) {
+        int firstName = random.nextInt(FIRST_NAMES.length);
+        int lastName = random.nextInt(LAST_NAMES.length);
+        LocalDate dateOfBirth = this.today.minusDays(random.nextInt(18 * 365, 85 * 365));
+
+        long creationDate = this.now - random.nextLong(HISTORY);
+        // Most users were never updated, the others at any time after their creation
+        long lastUpdate = random.nextInt(10) < 7 ? creationDate : creationDate + random.nextLong(this.now - creationDate + 1);
+
+        return User
+            .builder()
+            .id(id)
+            .name(FIRST_NAMES[firstName] + " " + LAST_NAMES[lastName])
+            .email(FIRST_NAMES_ASCII[firstName] + "." + LAST_NAMES_ASCII[lastName] + id + "@" + DOMAINS[random.nextInt(DOMAINS.length)])
+            .dateOfBirth(java.sql.Date.valueOf(dateOfBirth))
+            .address(this.address(random))
+            .creationDate(tenths(creationDate))
+            .lastUpdate(tenths(lastUpdate))
+            .build();
+    }
+
+    private Contact contact(int id, User user, int index, SplittableRandom random) {
+        String type = this.contactTypes.pick(random);
+        String detail;
+        switch (type) {
+            case "phone":
+            case "whatsapp":
+                detail = String.format("+55 %d 9%04d-%04d",
+                    AREA_CODES[random.nextInt(AREA_CODES.length)], random.nextInt(10000), random.nextInt(10000));
+                break;
+            case "email":
+                detail = user.getEmail().replace("@", "+" + index + "@");
+                break;
+            case "address":
+                detail = this.address(random);
+                break;
+            default:
+                detail = type + " " + id;
+        }
+
+        long creationDate = user.getCreationDate().getTime() + random.nextLong(this.now - user.getCreationDate().getTime() + 1);
+        return Contact
+            .builder()
+            .id(id)
+            .owner(user.getId())
+            .type(type)
+            .detail(detail)
+            .creationDate(tenths(creationDate))
+            .lastUpdate(tenths(creationDate))
+            .build();
+    }
+
+    private String address(SplittableRandom random) {
+        return STREETS[random.nextInt(STREETS.length)] + ", " + (1 + random.nextInt(3000)) + " - " + CITIES[random.nextInt(CITIES.length)];
+    }
+
+    private SplittableRandom random(int id) {
+        return new SplittableRandom(this.seed + id * GOLDEN_GAMMA);
+    }
+
+    /** Truncates a date to tenths of a second, the precision of the timestamp columns. */
+    private static Date tenths(long millis) {
+        return new Date(millis - millis % 100);
+    }
+
+    private static String[] ascii(String[] names) {
+        String[] ascii = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            ascii[i] = Normalizer.normalize(names[i], Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase();
+        }
+        return ascii;
+    }
+}
@@ -0,0 +1,136 @@
+package com.comexport.Tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import com.comexport.Models.Contact;
+import com.comexport.Models.User;
+import com.comexport.Repositories.UserRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+// Sharing the controllers tests' context, and so their embedded database
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DatasetGeneratorTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void clean() {
+        this.jdbcTemplate.update("delete from contact");
+        this.jdbcTemplate.update("delete from user");
+    }
+
+    @Test
+    void generatesTheSameDataForTheSameSeed() throws Exception {
+        Collected first = new Collected();
+        Collected second = new Collected();
+        int contacts = new DatasetGenerator(42).generate(1, 200, 1, first);
+        new DatasetGenerator(42).generate(1, 200, 1, second);
+
+        assertThat(first.users).hasSize(200).isEqualTo(second.users);
+        assertThat(first.contacts).hasSize(contacts).isEqualTo(second.contacts);
+        assertThat(new DatasetGenerator(42).contacts(1, 200)).isEqualTo(contacts);
+        assertThat(new DatasetGenerator(42).user(150)).isEqualTo(first.users.get(149));
+        assertThat(new DatasetGenerator(43).user(150)).isNotEqualTo(first.users.get(149));
+    }
+
+    @Test
+    void followsTheConfiguredWeights() throws Exception {
+        Collected collected = new Collected();
+        new DatasetGenerator(42, "2:1", "phone:1,fax:0", DatasetGenerator.DEFAULT_NOW).generate(1, 100, 1, collected);
+
+        assertThat(collected.contacts).hasSize(200).extracting(Contact::getType).containsOnly("phone");
+        assertThat(collected.contacts).extracting(Contact::getOwner).isSubsetOf(
+            collected.users.stream().map(User::getId).collect(Collectors.toList()));
+        assertThat(collected.users).allSatisfy(user ->
+            assertThat(user.getLastUpdate()).isAfterOrEqualTo(user.getCreationDate()));
+    }
+
+    @Test
+    void writesLoadDataFiles(@TempDir Path directory) throws Exception {
+        int contacts;
+        try (TsvDatasetWriter writer = new TsvDatasetWriter(directory)) {
+            contacts = new DatasetGenerator(42).generate(1, 100, 1, writer);
+        }
+
+        List<String> users = Files.readAllLines(directory.resolve("user.tsv"), StandardCharsets.UTF_8);
+        assertThat(users).hasSize(100);
+        assertThat(users.get(0).split("\t")).hasSize(7).startsWith("1");
+        assertThat(Files.readAllLines(directory.resolve("contact.tsv"), StandardCharsets.UTF_8)).hasSize(contacts);
+        assertThat(new String(Files.readAllBytes(directory.resolve("load.sql")), StandardCharsets.UTF_8))
+            .contains("'user.tsv'", "'contact.tsv'", "GREATEST(`next_id`, " + (contacts + 50) + ")");
+    }
+
+    @Test
+    void loadsAfterTheIdsTheApplicationMayHaveHandedOut() throws Exception {
+        User saved = this.userRepository.save(unsaved(1));
+        DatasetGenerator generator = new DatasetGenerator(42);
+
+        int firstUserId = JdbcDatasetLoader.load(this.dataSource, generator, 2500, 1000);
+
+        assertThat(firstUserId).isGreaterThan(saved.getId());
+        assertThat(this.jdbcTemplate.queryForObject("select count(*) from user", Integer.class)).isEqualTo(2500 + 1);
+        assertThat(this.jdbcTemplate.queryForObject("select count(*) from contact", Integer.class))
+            .isEqualTo(generator.contacts(firstUserId, 2500));
+        assertThat(this.userRepository.findById(firstUserId + 1234))
+            .hasValueSatisfying(user -> assertThat(user.getEmail()).isEqualTo(generator.user(firstUserId + 1234).getEmail()));
+
+        // The application keeps creating users, past it's block of ids and then past the loaded ones
+        List<User> more = new ArrayList<>();
+        for (int i = 2; i <= 100; i++) {
+            more.add(unsaved(i));
+        }
+        this.userRepository.saveAll(more);
+        assertThat(this.jdbcTemplate.queryForObject("select count(*) from user", Integer.class)).isEqualTo(2500 + 100);
+        assertThat(this.jdbcTemplate.queryForObject("select max(id) from user", Integer.class)).isGreaterThan(firstUserId + 2500);
+    }
+
+    private static User unsaved(int id) {
+        User user = new DatasetGenerator(7).user(id);
+        user.setId(null);
+        return user;
+    }
+
+    /** Keeps everything generated. */
+    private static class Collected implements DatasetSink {
+
+        private final List<User> users = new ArrayList<>();
+
+        private final List<Contact> contacts = new ArrayList<>();
+
+        @Override
+        public void user(User user) {
+            this.users.add(user);
+        }
+
+        @Override
+        public void contact(Contact contact) {
+            this.contacts.add(contact);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.comexport.Tools;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import com.comexport.Models.Contact;
+import com.comexport.Models.User;
+
+/**
+ * Receives the generated users and contacts, each user before it's contacts.
+ */
+interface DatasetSink {
+
+    void user(User user) throws IOException, SQLException;
+
+    void contact(Contact contact) throws IOException, SQLException;
+}
@@ -0,0 +1,56 @@
+package com.comexport.Tools;
+
+import java.nio.file.Paths;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Generates a synthetic data set of users and contacts, run with: ./mvnw -P dataset verify -DskipTests
+ *
+ * The options are system properties:
+ * dataset.users is how many users are generated, from dataset.seed;
+ * dataset.contacts-per-user and dataset.contact-types weight how many contacts a user has and their types,
+ * e.g. "0:5,1:20,2:30,3:25,4:10,6:7,10:3" and "phone:45,email:30,whatsapp:20,address:5";
+ * dataset.now is the instant, in milliseconds, the dates are generated before.
+ *
+ * With dataset.jdbc-url set, along with dataset.username and dataset.password, the data is inserted into that database
+ * after it's existing users and contacts, dataset.rows-per-statement rows per insert. Otherwise user.tsv, contact.tsv and
+ * a load.sql script are written on dataset.output, for an empty database, the ids starting at 1.
+ */
+public final class DatasetTool {
+
+    private DatasetTool() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("dataset.users", 1000000);
+        DatasetGenerator generator = new DatasetGenerator(
+            Long.getLong("dataset.seed", 20200722L),
+            System.getProperty("dataset.contacts-per-user", DatasetGenerator.DEFAULT_CONTACTS_PER_USER),
+            System.getProperty("dataset.contact-types", DatasetGenerator.DEFAULT_CONTACT_TYPES),
+            Long.getLong("dataset.now", DatasetGenerator.DEFAULT_NOW));
+        String jdbcUrl = System.getProperty("dataset.jdbc-url", "");
+        long start = System.nanoTime();
+
+        if (!jdbcUrl.isEmpty()) {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(jdbcUrl,
+                System.getProperty("dataset.username", "root"), System.getProperty("dataset.password", "root"));
+            int firstUserId = JdbcDatasetLoader.load(dataSource, generator, users,
+                Integer.getInteger("dataset.rows-per-statement", JdbcDatasetLoader.DEFAULT_ROWS_PER_STATEMENT));
+            System.out.printf("Inserted %d users, ids %d to %d, with their contacts in %d s%n",
+                users, firstUserId, firstUserId + users - 1, elapsedSeconds(start));
+        } else {
+            String output = System.getProperty("dataset.output", "target/dataset");
+            int contacts;
+            try (TsvDatasetWriter writer = new TsvDatasetWriter(Paths.get(output))) {
+                contacts = generator.generate(1, users, 1, writer);
+            }
+            System.out.printf("Wrote %d users and %d contacts on %s in %d s%n",
+                users, contacts, Paths.get(output).toAbsolutePath(), elapsedSeconds(start));
+        }
+    }
+
+    private static long elapsedSeconds(long start) {
+        return (System.nanoTime() - start) / 1000000000L;
+    }
+}
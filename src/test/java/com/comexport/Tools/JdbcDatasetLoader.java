@@ -0,0 +1,235 @@
+package com.comexport.Tools;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import com.comexport.Models.Contact;
+import com.comexport.Models.User;
+
+/**
+ * Inserts the generated users and contacts through multi-row inserts, many rows per statement and one commit per
+ * statement, into MySQL or into the embedded test database. The ids are reserved on the id generator first, the same
+ * way Hibernate reserves a block, so the application may keep running and creating users while the data is loaded.
+ */
+public final class JdbcDatasetLoader implements DatasetSink, AutoCloseable {
+
+    /** The default number of rows inserted by each statement. */
+    public static final int DEFAULT_ROWS_PER_STATEMENT = 1000;
+
+    /** The allocation size of the users' and contacts' id generators. */
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String USER_INSERT = "insert into user (id, name, email, date_of_birth, address, creation_date, last_update) values ";
+
+    private static final String USER_ROW = "(?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CONTACT_INSERT = "insert into contact (id, owner, type, detail, creation_date, last_update) values ";
+
+    private static final String CONTACT_ROW = "(?, ?, ?, ?, ?, ?)";
+
+    private final Connection connection;
+
+    private final int rowsPerStatement;
+
+    private final List<User> users;
+
+    private final List<Contact> contacts;
+
+    /** The statements inserting a full batch of rows, reused by every full batch. */
+    private PreparedStatement userStatement;
+
+    private PreparedStatement contactStatement;
+
+    private JdbcDatasetLoader(Connection connection, int rowsPerStatement) {
+        this.connection = connection;
+        this.rowsPerStatement = rowsPerStatement;
+        this.users = new ArrayList<>(rowsPerStatement);
+        this.contacts = new ArrayList<>(rowsPerStatement);
+    }
+
+    /**
+     * The load(DataSource, DatasetGenerator, int, int) method will reserve the ids of the given number of users and
+     * of their contacts, then insert them.
+     *
+     * @param dataSource        - the database the data is loaded into.
+     * @param generator         - generates the users and contacts.
+     * @param users             - how many users are loaded.
+     * @param rowsPerStatement  - how many rows each insert carries.
+     * @return int              - the first loaded user's id, the others following it.
+     */
+    public static int load(DataSource dataSource, DatasetGenerator generator, int users, int rowsPerStatement)
+            throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                int firstUserId = reserve(connection, "user", users);
+                int firstContactId = reserve(connection, "contact", generator.contacts(firstUserId, users));
+                connection.commit();
+
+                try (JdbcDatasetLoader loader = new JdbcDatasetLoader(connection, rowsPerStatement)) {
+                    generator.generate(firstUserId, users, firstContactId, loader);
+                }
+                return firstUserId;
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    @Override
+    public void user(User user) throws SQLException {
+        this.users.add(user);
+        if (this.users.size() == this.rowsPerStatement) {
+            this.flushUsers();
+        }
+    }
+
+    @Override
+    public void contact(Contact contact) throws SQLException {
+        this.contacts.add(contact);
+        if (this.contacts.size() == this.rowsPerStatement) {
+            this.flushContacts();
+        }
+    }
+
+    /**
+     * Inserts the rows left, then releases the statements.
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            this.flushContacts();
+        } finally {
+            for (PreparedStatement statement : new PreparedStatement[] {this.userStatement, this.contactStatement}) {
+                if (statement != null) {
+                    statement.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * The reserve(Connection, String, int) method will move the entity's id generator past the given number of ids,
+     * locking it's row until the transaction ends, and return the first reserved id. Hibernate hands out the ids up to
+     * the generator's value, so the reserved ones start right after it, and the generator is left an allocation size
+     * above the last one.
+     */
+    private static int reserve(Connection connection, String entity, int count) throws SQLException {
+        Integer current = null;
+        try (PreparedStatement select = connection.prepareStatement("select next_id from id_generator where entity = ? for update")) {
+            select.setString(1, entity);
+            try (ResultSet row = select.executeQuery()) {
+                if (row.next()) {
+                    current = row.getInt(1);
+                }
+            }
+        }
+
+        int first = current == null ? 1 : current + 1;
+        String sql = current == null
+            ? "insert into id_generator (next_id, entity) values (?, ?)"
+            : "update id_generator set next_id = ? where entity = ?";
+        try (PreparedStatement write = connection.prepareStatement(sql)) {
+            write.setInt(1, first + count - 1 + ALLOCATION_SIZE);
+            write.setString(2, entity);
+            write.executeUpdate();
+        }
+        return first;
+    }
+
+    private void flushUsers() throws SQLException {
+        if (this.users.isEmpty()) {
+            return;
+        }
+        PreparedStatement statement = this.statement(USER_INSERT, USER_ROW, this.users.size(), true);
+        int index = 1;
+        for (User user : this.users) {
+            statement.setInt(index++, user.getId());
+            statement.setString(index++, user.getName());
+            statement.setString(index++, user.getEmail());
+            statement.setDate(index++, user.getDateOfBirth() == null ? null : new java.sql.Date(user.getDateOfBirth().getTime()));
+            statement.setString(index++, user.getAddress());
+            statement.setTimestamp(index++, timestamp(user.getCreationDate()));
+            statement.setTimestamp(index++, timestamp(user.getLastUpdate()));
+        }
+        this.execute(statement, this.users.size());
+        this.users.clear();
+    }
+
+    private void flushContacts() throws SQLException {
+        // The contacts' owners are inserted first
+        this.flushUsers();
+        if (this.contacts.isEmpty()) {
+            return;
+        }
+        PreparedStatement statement = this.statement(CONTACT_INSERT, CONTACT_ROW, this.contacts.size(), false);
+        int index = 1;
+        for (Contact contact : this.contacts) {
+            statement.setInt(index++, contact.getId());
+            statement.setInt(index++, contact.getOwner());
+            statement.setString(index++, contact.getType());
+            statement.setString(index++, contact.getDetail());
+            statement.setTimestamp(index++, timestamp(contact.getCreationDate()));
+            statement.setTimestamp(index++, timestamp(contact.getLastUpdate()));
+        }
+        this.execute(statement, this.contacts.size());
+        this.contacts.clear();
+    }
+
+    /**
+     * The statement(String, String, int, boolean) method will prepare an insert of the given number of rows, reusing the
+     * statement prepared for full batches. The last, shorter, batch gets it's own statement.
+     */
+    private PreparedStatement statement(String insert, String row, int rows, boolean user) throws SQLException {
+        if (rows == this.rowsPerStatement) {
+            PreparedStatement reused = user ? this.userStatement : this.contactStatement;
+            if (reused == null) {
+                reused = this.connection.prepareStatement(sql(insert, row, rows));
+                if (user) {
+                    this.userStatement = reused;
+                } else {
+                    this.contactStatement = reused;
+                }
+            }
+            return reused;
+        }
+        return this.connection.prepareStatement(sql(insert, row, rows));
+    }
+
+    private void execute(PreparedStatement statement, int rows) throws SQLException {
+        try {
+            statement.executeUpdate();
+            this.connection.commit();
+        } finally {
+            if (rows != this.rowsPerStatement) {
+                statement.close();
+            }
+        }
+    }
+
+    private static String sql(String insert, String row, int rows) {
+        StringBuilder sql = new StringBuilder(insert.length() + rows * (row.length() + 1));
+        sql.append(insert);
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ",").append(row);
+        }
+        return sql.toString();
+    }
+
+    private static Timestamp timestamp(Date date) {
+        return date == null ? null : new Timestamp(date.getTime());
+    }
+}
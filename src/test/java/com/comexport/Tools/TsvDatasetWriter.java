@@ -0,0 +1,163 @@
+package com.comexport.Tools;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import com.comexport.Models.Contact;
+import com.comexport.Models.User;
+
+/**
+ * Writes the generated users and contacts as tab separated files in the default format of MySQL's LOAD DATA,
+ * user.tsv and contact.tsv, along with a load.sql script loading them and moving the id generator past them.
+ * Each file is written through a FileChannel and a large buffer, so millions of rows are written in a few seconds.
+ *
+ * The timestamps are written in UTC, the script setting the session's time zone accordingly. On MySQL the insert
+ * triggers of the user and contact tables stamp the creation dates with the load's time.
+ */
+final class TsvDatasetWriter implements DatasetSink, Closeable {
+
+    /** How many bytes are buffered before being written. */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path directory;
+
+    private final FileChannel users;
+
+    private final FileChannel contacts;
+
+    private final ByteBuffer userBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private final ByteBuffer contactBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private final StringBuilder line = new StringBuilder(256);
+
+    private final SimpleDateFormat dateFormat = utc("yyyy-MM-dd");
+
+    private final SimpleDateFormat timestampFormat = utc("yyyy-MM-dd HH:mm:ss.S");
+
+    private int maxUserId;
+
+    private int maxContactId;
+
+    /**
+     * @param directory     - where the files are written, created if missing.
+     */
+    TsvDatasetWriter(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.users = open(directory.resolve("user.tsv"));
+        this.contacts = open(directory.resolve("contact.tsv"));
+        // The dates of birth are days, not instants, kept as they were generated
+        this.dateFormat.setTimeZone(TimeZone.getDefault());
+    }
+
+    @Override
+    public void user(User user) throws IOException {
+        this.line.setLength(0);
+        this.field(user.getId()).field(user.getName()).field(user.getEmail())
+            .field(user.getDateOfBirth() == null ? null : this.dateFormat.format(user.getDateOfBirth()))
+            .field(user.getAddress()).timestamp(user.getCreationDate()).timestamp(user.getLastUpdate());
+        this.write(this.users, this.userBuffer);
+        this.maxUserId = Math.max(this.maxUserId, user.getId());
+    }
+
+    @Override
+    public void contact(Contact contact) throws IOException {
+        this.line.setLength(0);
+        this.field(contact.getId()).field(contact.getOwner()).field(contact.getType()).field(contact.getDetail())
+            .timestamp(contact.getCreationDate()).timestamp(contact.getLastUpdate());
+        this.write(this.contacts, this.contactBuffer);
+        this.maxContactId = Math.max(this.maxContactId, contact.getId());
+    }
+
+    /**
+     * Flushes both files, then writes the load.sql script.
+     */
+    @Override
+    public void close() throws IOException {
+        try (FileChannel users = this.users; FileChannel contacts = this.contacts) {
+            flush(users, this.userBuffer);
+            flush(contacts, this.contactBuffer);
+        }
+
+        String script = "-- Loads user.tsv and contact.tsv from this directory: mysql --local-infile=1 comexport < load.sql\n"
+            + "SET time_zone = '+00:00';\n"
+            + "LOAD DATA LOCAL INFILE 'user.tsv' INTO TABLE `user` CHARACTER SET utf8mb4\n"
+            + "  (`id`, `name`, `email`, `date_of_birth`, `address`, `creation_date`, `last_update`);\n"
+            + "LOAD DATA LOCAL INFILE 'contact.tsv' INTO TABLE `contact` CHARACTER SET utf8mb4\n"
+            + "  (`id`, `owner`, `type`, `detail`, `creation_date`, `last_update`);\n"
+            + "-- Each row must stay at least 50 (the allocation size) above the table's highest id.\n"
+            + "UPDATE `id_generator` SET `next_id` = GREATEST(`next_id`, " + (this.maxUserId + 50) + ") WHERE `entity` = 'user';\n"
+            + "UPDATE `id_generator` SET `next_id` = GREATEST(`next_id`, " + (this.maxContactId + 50) + ") WHERE `entity` = 'contact';\n";
+        Files.write(this.directory.resolve("load.sql"), script.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private TsvDatasetWriter field(Object value) {
+        if (this.line.length() > 0) {
+            this.line.append('\t');
+        }
+        if (value == null) {
+            this.line.append("\\N");
+            return this;
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    this.line.append("\\\\");
+                    break;
+                case '\t':
+                    this.line.append("\\t");
+                    break;
+                case '\n':
+                    this.line.append("\\n");
+                    break;
+                case '\r':
+                    this.line.append("\\r");
+                    break;
+                default:
+                    this.line.append(c);
+            }
+        }
+        return this;
+    }
+
+    private TsvDatasetWriter timestamp(Date value) {
+        return this.field(value == null ? null : this.timestampFormat.format(value));
+    }
+
+    private void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        byte[] bytes = this.line.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+        if (buffer.remaining() < bytes.length) {
+            flush(channel, buffer);
+        }
+        buffer.put(bytes);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static SimpleDateFormat utc(String pattern) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+}
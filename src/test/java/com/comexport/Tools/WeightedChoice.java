@@ -0,0 +1,72 @@
+package com.comexport.Tools;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Picks values at random, each one with a probability proportional to it's weight.
+ *
+ * @param <T> the type of the values picked.
+ */
+final class WeightedChoice<T> {
+
+    private final List<T> values;
+
+    /** The cumulated weights of the values, in the same order. */
+    private final long[] weights;
+
+    private WeightedChoice(List<T> values, long[] weights) {
+        this.values = values;
+        this.weights = weights;
+    }
+
+    /**
+     * The parse(String, Function) method will read values along with their weights, e.g. "phone:45,email:30".
+     *
+     * @param spec                  - the comma separated value:weight pairs.
+     * @param parser                - reads each value.
+     * @return WeightedChoice<T>    - the choice among the values.
+     */
+    static <T> WeightedChoice<T> parse(String spec, Function<String, T> parser) {
+        List<T> values = new ArrayList<>();
+        List<Long> weights = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected value:weight, got " + entry);
+            }
+            long weight = Long.parseLong(entry.substring(separator + 1).trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight on " + entry);
+            }
+            values.add(parser.apply(entry.substring(0, separator).trim()));
+            weights.add(weight);
+        }
+
+        long[] cumulated = new long[weights.size()];
+        long total = 0;
+        for (int i = 0; i < cumulated.length; i++) {
+            total += weights.get(i);
+            cumulated[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one positive weight is expected: " + spec);
+        }
+        return new WeightedChoice<>(values, cumulated);
+    }
+
+    /**
+     * @param random    - the source of randomness.
+     * @return T        - a value picked according to the weights.
+     */
+    T pick(SplittableRandom random) {
+        long pick = random.nextLong(this.weights[this.weights.length - 1]);
+        int index = 0;
+        while (pick >= this.weights[index]) {
+            index++;
+        }
+        return this.values.get(index);
+    }
+}